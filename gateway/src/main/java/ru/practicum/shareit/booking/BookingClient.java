@@ -1,64 +1,75 @@
 package ru.practicum.shareit.booking;
 
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
-import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.core.io.buffer.DataBuffer;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
-import org.springframework.web.util.DefaultUriBuilderFactory;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.booking.dto.BookItemRequestDto;
+import ru.practicum.shareit.booking.dto.BookingDecisionDto;
+import ru.practicum.shareit.booking.dto.BookingExportFormat;
 import ru.practicum.shareit.booking.dto.BookingState;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.GatewayTransportFactory;
 
 @Service
 public class BookingClient extends BaseClient {
 
   private static final String API_PREFIX = "/bookings";
 
-  @Autowired
-  public BookingClient(@Value("${shareit-server.url}") String serverUrl,
-      RestTemplateBuilder builder) {
-    super(
-        builder
-            .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-            .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-            .build()
-    );
+  public BookingClient(GatewayTransportFactory transports) {
+    super(transports.create(API_PREFIX));
   }
 
-  public ResponseEntity<Object> getBookings(long userId, BookingState state, Integer from,
-      Integer size) {
-    Map<String, Object> parameters = Map.of(
+  public Mono<ResponseEntity<Object>> getBookings(long userId, BookingState state, Integer from,
+      Integer size, String cursor) {
+    Map<String, Object> parameters = new HashMap<>(Map.of(
         "state", state.name(),
         "from", from,
         "size", size
-    );
-    return get("?state={state}&from={from}&size={size}", userId, parameters);
+    ));
+    return get(withCursor("?state={state}&from={from}&size={size}", parameters, cursor), userId,
+        parameters);
   }
 
-  public ResponseEntity<Object> getBookingStatusByOwner(long userId, BookingState state,
+  public Mono<ResponseEntity<Object>> getBookingStatusByOwner(long userId, BookingState state,
       Integer from,
-      Integer size) {
-    Map<String, Object> parameters = Map.of(
+      Integer size,
+      String cursor) {
+    Map<String, Object> parameters = new HashMap<>(Map.of(
         "state", state.name(),
         "from", from,
         "size", size
-    );
-    return get("/owner?state={state}&from={from}&size={size}", userId, parameters);
+    ));
+    return get(withCursor("/owner?state={state}&from={from}&size={size}", parameters, cursor),
+        userId, parameters);
   }
 
-  public ResponseEntity<Object> bookItem(long userId, BookItemRequestDto requestDto) {
+  public Mono<ResponseEntity<Flux<DataBuffer>>> exportBookingsByOwner(long userId,
+      BookingExportFormat format) {
+    return getStream("/owner/export?format={format}", userId,
+        Map.of("format", format.name()));
+  }
+
+  public Mono<ResponseEntity<Object>> bookItem(long userId, BookItemRequestDto requestDto) {
     return post("", userId, requestDto);
   }
 
-  public ResponseEntity<Object> updateBooking(long ownerId, long bookingId, boolean approved) {
+  public Mono<ResponseEntity<Object>> updateBooking(long ownerId, long bookingId,
+      boolean approved) {
     Map<String, Object> parameters = Map.of("approved", approved);
     return patch("/" + bookingId + "?approved={approved}", ownerId, parameters, null);
   }
 
-  public ResponseEntity<Object> getBooking(long userId, Long bookingId) {
+  public Mono<ResponseEntity<Object>> updateBookings(long ownerId,
+      List<BookingDecisionDto> decisions) {
+    return patch("/batch", ownerId, decisions);
+  }
+
+  public Mono<ResponseEntity<Object>> getBooking(long userId, Long bookingId) {
     return get("/" + bookingId, userId);
   }
 }
\ No newline at end of file
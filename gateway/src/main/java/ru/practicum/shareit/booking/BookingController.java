@@ -1,5 +1,6 @@
 package ru.practicum.shareit.booking;
 
+import java.util.List;
 import javax.validation.Valid;
 import javax.validation.constraints.Positive;
 import javax.validation.constraints.PositiveOrZero;
@@ -16,7 +17,9 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.booking.dto.BookItemRequestDto;
+import ru.practicum.shareit.booking.dto.BookingDecisionDto;
 import ru.practicum.shareit.booking.dto.BookingState;
 
 @Controller
@@ -28,38 +31,41 @@ public class BookingController {
 
   private final BookingClient bookingClient;
   private static final String REQUEST_HEADER_USER_ID = "X-Sharer-User-Id";
+  private static final int MAX_BATCH_SIZE = 100;
 
   @GetMapping
-  public ResponseEntity<Object> getBookings(
+  public Mono<ResponseEntity<Object>> getBookings(
       @RequestHeader(REQUEST_HEADER_USER_ID) long userId,
       @RequestParam(name = "state", defaultValue = "all") String stateParam,
       @PositiveOrZero @RequestParam(name = "from", defaultValue = "0") Integer from,
-      @Positive @RequestParam(name = "size", defaultValue = "10") Integer size
+      @Positive @RequestParam(name = "size", defaultValue = "10") Integer size,
+      @RequestParam(name = "cursor", required = false) String cursor
   ) {
     BookingState state = BookingState.from(stateParam)
         .orElseThrow(() -> new IllegalArgumentException("Unknown state: " + stateParam));
     log.info("Get booking with state {}, userId={}, from={}, size={}", stateParam, userId, from,
         size);
-    return bookingClient.getBookings(userId, state, from, size);
+    return bookingClient.getBookings(userId, state, from, size, cursor);
   }
 
   @GetMapping("/owner")
-  public ResponseEntity<Object> getUserItemBookings(
+  public Mono<ResponseEntity<Object>> getUserItemBookings(
       @RequestHeader(REQUEST_HEADER_USER_ID) Long userId,
       @RequestParam(name = "state", defaultValue = "all") String stateParam,
       @PositiveOrZero @RequestParam(required = false, defaultValue = "0") final Integer from,
-      @Positive @RequestParam(required = false, defaultValue = "10") final Integer size
+      @Positive @RequestParam(required = false, defaultValue = "10") final Integer size,
+      @RequestParam(required = false) final String cursor
   ) {
     BookingState state = BookingState.from(stateParam)
         .orElseThrow(() -> new IllegalArgumentException("Unknown state: " + stateParam));
     log.info("Get owner booking with state {}, userId={}, from={}, size={}", stateParam, userId,
         from,
         size);
-    return bookingClient.getBookingStatusByOwner(userId, state, from, size);
+    return bookingClient.getBookingStatusByOwner(userId, state, from, size, cursor);
   }
 
   @PostMapping
-  public ResponseEntity<Object> bookItem(
+  public Mono<ResponseEntity<Object>> bookItem(
       @RequestHeader(REQUEST_HEADER_USER_ID) long userId,
       @RequestBody @Valid BookItemRequestDto requestDto) {
     log.info("Creating booking {}, userId={}", requestDto, userId);
@@ -67,7 +73,7 @@ public class BookingController {
   }
 
   @PatchMapping("/{bookingId}")
-  public ResponseEntity<Object> changeBooking(
+  public Mono<ResponseEntity<Object>> changeBooking(
       @RequestHeader(REQUEST_HEADER_USER_ID) Long ownerId,
       @PathVariable Long bookingId,
       @RequestParam Boolean approved
@@ -77,8 +83,26 @@ public class BookingController {
     return bookingClient.updateBooking(ownerId, bookingId, approved);
   }
 
+  @PatchMapping("/batch")
+  public Mono<ResponseEntity<Object>> changeBookings(
+      @RequestHeader(REQUEST_HEADER_USER_ID) Long ownerId,
+      @RequestBody List<BookingDecisionDto> decisions
+  ) {
+    if (decisions.isEmpty() || decisions.size() > MAX_BATCH_SIZE) {
+      throw new IllegalArgumentException("Batch must contain from 1 to " + MAX_BATCH_SIZE
+          + " decisions");
+    }
+    if (decisions.stream().anyMatch(decision -> decision == null
+        || decision.getBookingId() == null || decision.getApproved() == null)) {
+      throw new IllegalArgumentException("Each decision needs bookingId and approved");
+    }
+    log.info("PATCH /bookings/batch with params: userId={}, decisions={}", ownerId,
+        decisions.size());
+    return bookingClient.updateBookings(ownerId, decisions);
+  }
+
   @GetMapping("/{bookingId}")
-  public ResponseEntity<Object> getBooking(
+  public Mono<ResponseEntity<Object>> getBooking(
       @RequestHeader(REQUEST_HEADER_USER_ID) long userId,
       @PathVariable Long bookingId) {
     log.info("Get booking {}, userId={}", bookingId, userId);
@@ -0,0 +1,39 @@
+package ru.practicum.shareit.booking;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.booking.dto.BookingExportFormat;
+
+@RestController
+@RequestMapping(path = "/bookings")
+@RequiredArgsConstructor
+@Slf4j
+@ConditionalOnWebApplication(type = Type.REACTIVE)
+public class ReactiveBookingExportController {
+
+  private final BookingClient bookingClient;
+  private static final String REQUEST_HEADER_USER_ID = "X-Sharer-User-Id";
+
+  @GetMapping("/owner/export")
+  public Mono<ResponseEntity<Flux<DataBuffer>>> exportUserItemBookings(
+      @RequestHeader(REQUEST_HEADER_USER_ID) long userId,
+      @RequestParam(defaultValue = "ndjson") String format
+  ) {
+    BookingExportFormat exportFormat = BookingExportFormat.from(format)
+        .orElseThrow(() -> new IllegalArgumentException("Unknown format: " + format));
+    log.info("Export owner bookings as {}, userId={}", exportFormat, userId);
+    return bookingClient.exportBookingsByOwner(userId, exportFormat);
+  }
+
+}
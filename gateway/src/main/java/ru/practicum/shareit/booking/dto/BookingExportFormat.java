@@ -0,0 +1,17 @@
+package ru.practicum.shareit.booking.dto;
+
+import java.util.Optional;
+
+public enum BookingExportFormat {
+  NDJSON,
+  CSV;
+
+  public static Optional<BookingExportFormat> from(String stringFormat) {
+    for (BookingExportFormat format : values()) {
+      if (format.name().equalsIgnoreCase(stringFormat)) {
+        return Optional.of(format);
+      }
+    }
+    return Optional.empty();
+  }
+}
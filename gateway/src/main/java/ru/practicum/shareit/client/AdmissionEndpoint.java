@@ -0,0 +1,27 @@
+package ru.practicum.shareit.client;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+
+@Endpoint(id = "admission")
+public class AdmissionEndpoint {
+
+  private final RateLimiter rateLimiter;
+  private final ConcurrencyLimiter concurrencyLimiter;
+
+  AdmissionEndpoint(RateLimiter rateLimiter, ConcurrencyLimiter concurrencyLimiter) {
+    this.rateLimiter = rateLimiter;
+    this.concurrencyLimiter = concurrencyLimiter;
+  }
+
+  @ReadOperation
+  public Map<String, Object> admission() {
+    Map<String, Object> state = new LinkedHashMap<>();
+    state.put("rateLimit", rateLimiter.state());
+    state.put("concurrency", concurrencyLimiter.state());
+    return state;
+  }
+
+}
@@ -0,0 +1,17 @@
+package ru.practicum.shareit.client;
+
+import java.time.Duration;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "shareit-server.admission")
+public class AdmissionProperties {
+
+  private boolean enabled = true;
+  private int maxConcurrency = 64;
+  private Duration queueTarget = Duration.ofMillis(100);
+
+}
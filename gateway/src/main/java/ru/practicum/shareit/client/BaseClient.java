@@ -2,104 +2,115 @@ package ru.practicum.shareit.client;
 
 import java.util.List;
 import java.util.Map;
-import org.springframework.http.HttpEntity;
+import org.reactivestreams.Publisher;
+import org.springframework.core.io.buffer.DataBuffer;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.lang.Nullable;
-import org.springframework.web.client.HttpStatusCodeException;
-import org.springframework.web.client.RestTemplate;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
 public class BaseClient {
 
-  protected final RestTemplate rest;
+  protected final GatewayTransport transport;
 
-  public BaseClient(RestTemplate rest) {
-    this.rest = rest;
+  public BaseClient(GatewayTransport transport) {
+    this.transport = transport;
   }
 
-  protected ResponseEntity<Object> get(String path) {
+  protected Mono<ResponseEntity<Object>> get(String path) {
     return get(path, null, null);
   }
 
-  protected ResponseEntity<Object> get(String path, long userId) {
+  protected Mono<ResponseEntity<Object>> get(String path, long userId) {
     return get(path, userId, null);
   }
 
-  protected ResponseEntity<Object> get(String path, Long userId,
+  protected Mono<ResponseEntity<Object>> get(String path, Long userId,
       @Nullable Map<String, Object> parameters) {
     return makeAndSendRequest(HttpMethod.GET, path, userId, parameters, null);
   }
 
-  protected <T> ResponseEntity<Object> post(String path, T body) {
+  protected Mono<ResponseEntity<Flux<DataBuffer>>> getStream(String path, long userId,
+      Map<String, Object> parameters) {
+    HttpHeaders headers = defaultHeaders(userId);
+    headers.setAccept(List.of(MediaType.ALL));
+    return transport.stream(path, headers, parameters);
+  }
+
+  protected <T> Mono<ResponseEntity<Object>> post(String path, T body) {
     return post(path, null, null, body);
   }
 
-  protected <T> ResponseEntity<Object> post(String path, long userId, T body) {
+  protected <T> Mono<ResponseEntity<Object>> post(String path, long userId, T body) {
     return post(path, userId, null, body);
   }
 
-  protected <T> ResponseEntity<Object> post(String path, Long userId,
+  protected <T> Mono<ResponseEntity<Object>> post(String path, Long userId,
       @Nullable Map<String, Object> parameters, T body) {
     return makeAndSendRequest(HttpMethod.POST, path, userId, parameters, body);
   }
 
-  protected <T> ResponseEntity<Object> put(String path, long userId, T body) {
+  protected Mono<ResponseEntity<Object>> postStream(String path, long userId,
+      MediaType contentType, Publisher<DataBuffer> body) {
+    HttpHeaders headers = defaultHeaders(userId);
+    headers.setContentType(contentType);
+    return transport.exchange(HttpMethod.POST, path, headers, null, body);
+  }
+
+  protected <T> Mono<ResponseEntity<Object>> put(String path, long userId, T body) {
     return put(path, userId, null, body);
   }
 
-  protected <T> ResponseEntity<Object> put(String path, long userId,
+  protected <T> Mono<ResponseEntity<Object>> put(String path, long userId,
       @Nullable Map<String, Object> parameters, T body) {
     return makeAndSendRequest(HttpMethod.PUT, path, userId, parameters, body);
   }
 
-  protected <T> ResponseEntity<Object> patch(String path, T body) {
+  protected <T> Mono<ResponseEntity<Object>> patch(String path, T body) {
     return patch(path, null, null, body);
   }
 
-  protected <T> ResponseEntity<Object> patch(String path, long userId) {
+  protected <T> Mono<ResponseEntity<Object>> patch(String path, long userId) {
     return patch(path, userId, null, null);
   }
 
-  protected <T> ResponseEntity<Object> patch(String path, long userId, T body) {
+  protected <T> Mono<ResponseEntity<Object>> patch(String path, long userId, T body) {
     return patch(path, userId, null, body);
   }
 
-  protected <T> ResponseEntity<Object> patch(String path, Long userId,
+  protected <T> Mono<ResponseEntity<Object>> patch(String path, Long userId,
       @Nullable Map<String, Object> parameters, T body) {
     return makeAndSendRequest(HttpMethod.PATCH, path, userId, parameters, body);
   }
 
-  protected ResponseEntity<Object> delete(String path) {
+  protected Mono<ResponseEntity<Object>> delete(String path) {
     return delete(path, null, null);
   }
 
-  protected ResponseEntity<Object> delete(String path, long userId) {
+  protected Mono<ResponseEntity<Object>> delete(String path, long userId) {
     return delete(path, userId, null);
   }
 
-  protected ResponseEntity<Object> delete(String path, Long userId,
+  protected Mono<ResponseEntity<Object>> delete(String path, Long userId,
       @Nullable Map<String, Object> parameters) {
     return makeAndSendRequest(HttpMethod.DELETE, path, userId, parameters, null);
   }
 
-  private <T> ResponseEntity<Object> makeAndSendRequest(HttpMethod method, String path, Long userId,
-      @Nullable Map<String, Object> parameters, @Nullable T body) {
-    HttpEntity<T> requestEntity = new HttpEntity<>(body, defaultHeaders(userId));
-
-    ResponseEntity<Object> shareitServerResponse;
-    try {
-      if (parameters != null) {
-        shareitServerResponse = rest.exchange(path, method, requestEntity, Object.class,
-            parameters);
-      } else {
-        shareitServerResponse = rest.exchange(path, method, requestEntity, Object.class);
-      }
-    } catch (HttpStatusCodeException e) {
-      return ResponseEntity.status(e.getStatusCode()).body(e.getResponseBodyAsByteArray());
+  protected static String withCursor(String path, Map<String, Object> parameters,
+      @Nullable String cursor) {
+    if (cursor == null) {
+      return path;
     }
-    return prepareGatewayResponse(shareitServerResponse);
+    parameters.put("cursor", cursor);
+    return path + "&cursor={cursor}";
+  }
+
+  private <T> Mono<ResponseEntity<Object>> makeAndSendRequest(HttpMethod method, String path,
+      Long userId, @Nullable Map<String, Object> parameters, @Nullable T body) {
+    return transport.exchange(method, path, defaultHeaders(userId), parameters, body);
   }
 
   private HttpHeaders defaultHeaders(Long userId) {
@@ -112,17 +123,4 @@ public class BaseClient {
     return headers;
   }
 
-  private static ResponseEntity<Object> prepareGatewayResponse(ResponseEntity<Object> response) {
-    if (response.getStatusCode().is2xxSuccessful()) {
-      return response;
-    }
-
-    ResponseEntity.BodyBuilder responseBuilder = ResponseEntity.status(response.getStatusCode());
-
-    if (response.hasBody()) {
-      return responseBuilder.body(response.getBody());
-    }
-
-    return responseBuilder.build();
-  }
-}
\ No newline at end of file
+}
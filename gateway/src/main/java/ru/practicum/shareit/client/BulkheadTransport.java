@@ -0,0 +1,108 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+import ru.practicum.shareit.error.UpstreamUnavailableException;
+
+class BulkheadTransport implements GatewayTransport {
+
+  private static final Duration RETRY_AFTER = Duration.ofSeconds(1);
+
+  private final GatewayTransport delegate;
+  private final String apiPrefix;
+  private final int maxConcurrentCalls;
+  private final AtomicInteger inFlight = new AtomicInteger();
+  private final Counter rejected;
+
+  BulkheadTransport(GatewayTransport delegate, String apiPrefix, int maxConcurrentCalls,
+      MeterRegistry registry) {
+    this.delegate = delegate;
+    this.apiPrefix = apiPrefix;
+    this.maxConcurrentCalls = maxConcurrentCalls;
+    this.rejected = registry.counter("shareit.gateway.bulkhead.rejections", "client", apiPrefix);
+    Gauge.builder("shareit.gateway.bulkhead.in-flight", inFlight, AtomicInteger::get)
+        .tag("client", apiPrefix)
+        .register(registry);
+    Gauge.builder("shareit.gateway.bulkhead.max-concurrent-calls", () -> maxConcurrentCalls)
+        .tag("client", apiPrefix)
+        .register(registry);
+  }
+
+  @Override
+  public Mono<ResponseEntity<Object>> exchange(HttpMethod method, String path,
+      HttpHeaders headers, @Nullable Map<String, Object> parameters, @Nullable Object body) {
+    return Mono.defer(() -> {
+      if (!tryAcquire()) {
+        return Mono.error(rejection());
+      }
+      AtomicBoolean released = new AtomicBoolean();
+      return delegate.exchange(method, path, headers, parameters, body)
+          .doFinally(signal -> release(released));
+    });
+  }
+
+  @Override
+  public Mono<ResponseEntity<Flux<DataBuffer>>> stream(String path, HttpHeaders headers,
+      Map<String, Object> parameters) {
+    return Mono.defer(() -> {
+      if (!tryAcquire()) {
+        return Mono.error(rejection());
+      }
+      AtomicBoolean released = new AtomicBoolean();
+      AtomicBoolean handedOver = new AtomicBoolean();
+      return delegate.stream(path, headers, parameters)
+          .map(response -> {
+            if (response.getBody() == null) {
+              return response;
+            }
+            handedOver.set(true);
+            return new ResponseEntity<>(response.getBody()
+                .doFinally(signal -> release(released)), response.getHeaders(),
+                response.getStatusCodeValue());
+          })
+          .doFinally(signal -> {
+            if (signal != SignalType.ON_COMPLETE || !handedOver.get()) {
+              release(released);
+            }
+          });
+    });
+  }
+
+  private boolean tryAcquire() {
+    while (true) {
+      int current = inFlight.get();
+      if (current >= maxConcurrentCalls) {
+        rejected.increment();
+        return false;
+      }
+      if (inFlight.compareAndSet(current, current + 1)) {
+        return true;
+      }
+    }
+  }
+
+  private void release(AtomicBoolean released) {
+    if (released.compareAndSet(false, true)) {
+      inFlight.decrementAndGet();
+    }
+  }
+
+  private UpstreamUnavailableException rejection() {
+    return new UpstreamUnavailableException(
+        "Too many concurrent calls to " + apiPrefix + ", retry later", RETRY_AFTER);
+  }
+
+}
@@ -0,0 +1,147 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import lombok.Value;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.util.PathMatcher;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+class CachingTransport implements GatewayTransport {
+
+  private static final String USER_ID_HEADER = "X-Sharer-User-Id";
+  private static final String METRIC = "shareit.gateway.response-cache.revalidations";
+  private static final PathMatcher PATH_MATCHER = new AntPathMatcher();
+
+  private final GatewayTransport delegate;
+  private final String apiPrefix;
+  private final ResponseCache cache;
+  private final Map<String, Duration> routes;
+  private final List<String> invalidates;
+  private final Counter notModified;
+  private final Counter modified;
+
+  CachingTransport(GatewayTransport delegate, String apiPrefix, ResponseCache cache,
+      Map<String, Duration> routes, List<String> invalidates, MeterRegistry registry) {
+    this.delegate = delegate;
+    this.apiPrefix = apiPrefix;
+    this.cache = cache;
+    this.routes = routes;
+    this.invalidates = invalidates;
+    this.notModified = registry.counter(METRIC, "client", apiPrefix, "result", "not-modified");
+    this.modified = registry.counter(METRIC, "client", apiPrefix, "result", "modified");
+  }
+
+  @Override
+  public Mono<ResponseEntity<Object>> exchange(HttpMethod method, String path,
+      HttpHeaders headers, @Nullable Map<String, Object> parameters, @Nullable Object body) {
+    if (method != HttpMethod.GET || body != null) {
+      return delegate.exchange(method, path, headers, parameters, body)
+          .doOnNext(response -> evictOnWrite(response));
+    }
+    Optional<Duration> ttl = ttl(path);
+    if (ttl.isEmpty()) {
+      return delegate.exchange(method, path, headers, parameters, null);
+    }
+    Key key = new Key(apiPrefix, path, parameters != null ? Map.copyOf(parameters) : Map.of(),
+        headers.getFirst(USER_ID_HEADER));
+    return Mono.defer(() -> {
+      CachedResponse cached = cache.get(key);
+      if (cached != null && cached.isFresh()) {
+        return Mono.just(cached.getResponse());
+      }
+      HttpHeaders request = headers;
+      if (cached != null && cached.getETag() != null) {
+        request = new HttpHeaders();
+        request.addAll(headers);
+        request.setIfNoneMatch(cached.getETag());
+      }
+      return delegate.exchange(method, path, request, parameters, null)
+          .map(response -> store(key, cached, response, ttl.get()));
+    });
+  }
+
+  @Override
+  public Mono<ResponseEntity<Flux<DataBuffer>>> stream(String path, HttpHeaders headers,
+      Map<String, Object> parameters) {
+    return delegate.stream(path, headers, parameters);
+  }
+
+  private ResponseEntity<Object> store(Key key, @Nullable CachedResponse cached,
+      ResponseEntity<Object> response, Duration ttl) {
+    if (cached != null && response.getStatusCode() == HttpStatus.NOT_MODIFIED) {
+      notModified.increment();
+      cache.put(key, cached.refresh(ttl));
+      return cached.getResponse();
+    }
+    if (cached != null) {
+      modified.increment();
+    }
+    if (response.getStatusCode() == HttpStatus.OK && response.getBody() instanceof byte[]) {
+      cache.put(key, new CachedResponse(response, response.getHeaders().getETag(),
+          System.nanoTime() + ttl.toNanos()));
+    } else if (cached != null) {
+      cache.invalidate(key);
+    }
+    return response;
+  }
+
+  private void evictOnWrite(ResponseEntity<Object> response) {
+    if (response.getStatusCode().is2xxSuccessful()) {
+      cache.invalidateAll(apiPrefix);
+      invalidates.forEach(cache::invalidateAll);
+    }
+  }
+
+  private Optional<Duration> ttl(String path) {
+    int query = path.indexOf('?');
+    String route = apiPrefix + (query < 0 ? path : path.substring(0, query));
+    return routes.keySet().stream()
+        .filter(pattern -> PATH_MATCHER.match(pattern, route))
+        .min(PATH_MATCHER.getPatternComparator(route))
+        .map(routes::get);
+  }
+
+  @Value
+  static class Key {
+
+    String apiPrefix;
+    String path;
+    Map<String, Object> parameters;
+    String userId;
+
+  }
+
+  @Value
+  static class CachedResponse {
+
+    ResponseEntity<Object> response;
+    String eTag;
+    long expiresAt;
+
+    boolean isFresh() {
+      return System.nanoTime() - expiresAt < 0;
+    }
+
+    CachedResponse refresh(Duration ttl) {
+      return new CachedResponse(response, eTag, System.nanoTime() + ttl.toNanos());
+    }
+
+    int weight() {
+      return ((byte[]) response.getBody()).length + 256;
+    }
+
+  }
+
+}
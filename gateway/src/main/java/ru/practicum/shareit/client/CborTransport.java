@@ -0,0 +1,86 @@
+package ru.practicum.shareit.client;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.Map;
+import org.reactivestreams.Publisher;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+class CborTransport implements GatewayTransport {
+
+  private static final MediaType APPLICATION_CBOR = MediaType.valueOf("application/cbor");
+
+  private final GatewayTransport delegate;
+  private final ObjectMapper cborMapper;
+  private final JsonFactory jsonFactory = new JsonFactory();
+
+  CborTransport(GatewayTransport delegate, ObjectMapper cborMapper) {
+    this.delegate = delegate;
+    this.cborMapper = cborMapper;
+  }
+
+  @Override
+  public Mono<ResponseEntity<Object>> exchange(HttpMethod method, String path,
+      HttpHeaders headers, @Nullable Map<String, Object> parameters, @Nullable Object body) {
+    if (body instanceof Publisher) {
+      return delegate.exchange(method, path, headers, parameters, body);
+    }
+    HttpHeaders request = new HttpHeaders();
+    request.addAll(headers);
+    request.setAccept(List.of(APPLICATION_CBOR, MediaType.APPLICATION_JSON));
+    if (body == null) {
+      return delegate.exchange(method, path, request, parameters, null)
+          .map(this::decode);
+    }
+    request.setContentType(APPLICATION_CBOR);
+    return Mono.fromCallable(() -> cborMapper.writeValueAsBytes(body))
+        .flatMap(encoded -> delegate.exchange(method, path, request, parameters, encoded))
+        .map(this::decode);
+  }
+
+  @Override
+  public Mono<ResponseEntity<Flux<DataBuffer>>> stream(String path, HttpHeaders headers,
+      Map<String, Object> parameters) {
+    return delegate.stream(path, headers, parameters);
+  }
+
+  private ResponseEntity<Object> decode(ResponseEntity<Object> response) {
+    if (!APPLICATION_CBOR.isCompatibleWith(response.getHeaders().getContentType())
+        || !(response.getBody() instanceof byte[])) {
+      return response;
+    }
+    HttpHeaders headers = new HttpHeaders();
+    headers.addAll(response.getHeaders());
+    headers.setContentType(MediaType.APPLICATION_JSON);
+    return ResponseEntity.status(response.getStatusCodeValue())
+        .headers(headers)
+        .body(toJson((byte[]) response.getBody()));
+  }
+
+  private byte[] toJson(byte[] cbor) {
+    ByteArrayOutputStream out = new ByteArrayOutputStream(cbor.length * 2);
+    try (JsonParser parser = cborMapper.getFactory().createParser(cbor);
+        JsonGenerator generator = jsonFactory.createGenerator(out)) {
+      while (parser.nextToken() != null) {
+        generator.copyCurrentEvent(parser);
+      }
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    return out.toByteArray();
+  }
+
+}
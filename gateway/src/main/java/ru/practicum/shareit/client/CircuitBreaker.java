@@ -0,0 +1,178 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+class CircuitBreaker {
+
+  private static final String METRIC = "shareit.gateway.circuit-breaker.calls";
+
+  enum State {
+    CLOSED, OPEN, HALF_OPEN
+  }
+
+  private final String client;
+  private final ResilienceProperties properties;
+  private final MeterRegistry registry;
+  private final boolean[] window;
+  private final AtomicInteger halfOpenPermits = new AtomicInteger();
+  private final AtomicInteger halfOpenSuccesses = new AtomicInteger();
+  private final Counter successful;
+  private final Counter failed;
+  private final Counter rejected;
+  private volatile State state = State.CLOSED;
+  private volatile long openUntil;
+  private int windowPosition;
+  private int windowCalls;
+  private int windowFailures;
+
+  CircuitBreaker(String client, ResilienceProperties properties, MeterRegistry registry) {
+    this.client = client;
+    this.properties = properties;
+    this.registry = registry;
+    this.window = new boolean[properties.getSlidingWindowSize()];
+    this.successful = registry.counter(METRIC, "client", client, "result", "success");
+    this.failed = registry.counter(METRIC, "client", client, "result", "failure");
+    this.rejected = registry.counter(METRIC, "client", client, "result", "rejected");
+    Gauge.builder("shareit.gateway.circuit-breaker.state", this, b -> b.state.ordinal())
+        .tag("client", client)
+        .description("0 - closed, 1 - open, 2 - half-open")
+        .register(registry);
+  }
+
+  Duration retryAfter() {
+    return Duration.ofNanos(Math.max(openUntil - System.nanoTime(), 0));
+  }
+
+  Optional<Permit> tryAcquire() {
+    State current = state;
+    if (current == State.OPEN) {
+      if (System.nanoTime() - openUntil < 0) {
+        rejected.increment();
+        return Optional.empty();
+      }
+      synchronized (this) {
+        if (state == State.OPEN) {
+          halfOpenPermits.set(0);
+          halfOpenSuccesses.set(0);
+          transition(State.OPEN, State.HALF_OPEN);
+        }
+      }
+      current = state;
+    }
+    if (current == State.HALF_OPEN) {
+      if (halfOpenPermits.incrementAndGet() > properties.getHalfOpenCalls()) {
+        halfOpenPermits.decrementAndGet();
+        rejected.increment();
+        return Optional.empty();
+      }
+    }
+    return Optional.of(new Permit(current));
+  }
+
+  private void onResult(State acquiredIn, boolean success) {
+    if (success) {
+      successful.increment();
+    } else {
+      failed.increment();
+    }
+    synchronized (this) {
+      if (acquiredIn != state) {
+        return;
+      }
+      if (state == State.HALF_OPEN) {
+        if (!success) {
+          open(State.HALF_OPEN);
+        } else if (halfOpenSuccesses.incrementAndGet() >= properties.getHalfOpenCalls()) {
+          resetWindow();
+          transition(State.HALF_OPEN, State.CLOSED);
+        }
+        return;
+      }
+      record(success);
+      if (windowCalls >= properties.getMinimumCalls()
+          && windowFailures * 100 >= properties.getFailureRateThreshold() * windowCalls) {
+        open(State.CLOSED);
+      }
+    }
+  }
+
+  private void onCancel(State acquiredIn) {
+    if (acquiredIn == State.HALF_OPEN) {
+      halfOpenPermits.decrementAndGet();
+    }
+  }
+
+  private void record(boolean success) {
+    if (windowCalls == window.length) {
+      if (!window[windowPosition]) {
+        windowFailures--;
+      }
+    } else {
+      windowCalls++;
+    }
+    window[windowPosition] = success;
+    if (!success) {
+      windowFailures++;
+    }
+    windowPosition = (windowPosition + 1) % window.length;
+  }
+
+  private void resetWindow() {
+    windowPosition = 0;
+    windowCalls = 0;
+    windowFailures = 0;
+  }
+
+  private void open(State from) {
+    openUntil = System.nanoTime() + properties.getWaitInOpen().toNanos();
+    resetWindow();
+    transition(from, State.OPEN);
+  }
+
+  private void transition(State from, State to) {
+    state = to;
+    registry.counter("shareit.gateway.circuit-breaker.transitions", "client", client,
+        "from", from.name().toLowerCase(), "to", to.name().toLowerCase()).increment();
+    log.warn("Circuit breaker for {} moved from {} to {}", client, from, to);
+  }
+
+  class Permit {
+
+    private final State acquiredIn;
+    private final long startedAt = System.nanoTime();
+    private final AtomicBoolean finished = new AtomicBoolean();
+
+    private Permit(State acquiredIn) {
+      this.acquiredIn = acquiredIn;
+    }
+
+    void onSuccess() {
+      if (finished.compareAndSet(false, true)) {
+        long elapsed = System.nanoTime() - startedAt;
+        onResult(acquiredIn, elapsed <= properties.getSlowCallDuration().toNanos());
+      }
+    }
+
+    void onFailure() {
+      if (finished.compareAndSet(false, true)) {
+        onResult(acquiredIn, false);
+      }
+    }
+
+    void onCancel() {
+      if (finished.compareAndSet(false, true)) {
+        CircuitBreaker.this.onCancel(acquiredIn);
+      }
+    }
+
+  }
+
+}
@@ -0,0 +1,73 @@
+package ru.practicum.shareit.client;
+
+import java.util.Map;
+import java.util.Optional;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+import ru.practicum.shareit.error.TooManyRequestsException;
+import ru.practicum.shareit.error.UpstreamUnavailableException;
+
+class CircuitBreakerTransport implements GatewayTransport {
+
+  private final GatewayTransport delegate;
+  private final String apiPrefix;
+  private final CircuitBreaker breaker;
+
+  CircuitBreakerTransport(GatewayTransport delegate, String apiPrefix, CircuitBreaker breaker) {
+    this.delegate = delegate;
+    this.apiPrefix = apiPrefix;
+    this.breaker = breaker;
+  }
+
+  @Override
+  public Mono<ResponseEntity<Object>> exchange(HttpMethod method, String path,
+      HttpHeaders headers, @Nullable Map<String, Object> parameters, @Nullable Object body) {
+    return Mono.defer(() -> guard(delegate.exchange(method, path, headers, parameters, body)));
+  }
+
+  @Override
+  public Mono<ResponseEntity<Flux<DataBuffer>>> stream(String path, HttpHeaders headers,
+      Map<String, Object> parameters) {
+    return Mono.defer(() -> guard(delegate.stream(path, headers, parameters)));
+  }
+
+  private <T extends ResponseEntity<?>> Mono<T> guard(Mono<T> call) {
+    Optional<CircuitBreaker.Permit> acquired = breaker.tryAcquire();
+    if (acquired.isEmpty()) {
+      return Mono.error(new UpstreamUnavailableException(
+          "Service " + apiPrefix + " is unavailable, retry later", breaker.retryAfter()));
+    }
+    CircuitBreaker.Permit permit = acquired.get();
+    return call
+        .doOnNext(response -> {
+          if (response.getStatusCode().is5xxServerError()) {
+            permit.onFailure();
+          } else {
+            permit.onSuccess();
+          }
+        })
+        .doOnError(e -> {
+          if (isRejection(e)) {
+            permit.onCancel();
+          } else {
+            permit.onFailure();
+          }
+        })
+        .doFinally(signal -> {
+          if (signal == SignalType.CANCEL) {
+            permit.onCancel();
+          }
+        });
+  }
+
+  private static boolean isRejection(Throwable e) {
+    return e instanceof UpstreamUnavailableException || e instanceof TooManyRequestsException;
+  }
+
+}
@@ -0,0 +1,81 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import lombok.Value;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+class CoalescingTransport implements GatewayTransport {
+
+  private static final String USER_ID_HEADER = "X-Sharer-User-Id";
+  private static final String METRIC = "shareit.gateway.coalescing.requests";
+
+  private final GatewayTransport delegate;
+  private final ConcurrentMap<Key, Mono<ResponseEntity<Object>>> inFlight =
+      new ConcurrentHashMap<>();
+  private final Counter upstream;
+  private final Counter joined;
+
+  CoalescingTransport(GatewayTransport delegate, String apiPrefix, MeterRegistry registry) {
+    this.delegate = delegate;
+    this.upstream = registry.counter(METRIC, "client", apiPrefix, "result", "upstream");
+    this.joined = registry.counter(METRIC, "client", apiPrefix, "result", "joined");
+    registry.gaugeMapSize("shareit.gateway.coalescing.in-flight", Tags.of("client", apiPrefix),
+        inFlight);
+  }
+
+  @Override
+  public Mono<ResponseEntity<Object>> exchange(HttpMethod method, String path,
+      HttpHeaders headers, @Nullable Map<String, Object> parameters, @Nullable Object body) {
+    if (method != HttpMethod.GET || body != null) {
+      return delegate.exchange(method, path, headers, parameters, body);
+    }
+    Key key = new Key(path, parameters != null ? Map.copyOf(parameters) : Map.of(),
+        headers.getFirst(USER_ID_HEADER), headers.getFirst(HttpHeaders.IF_NONE_MATCH));
+    return Mono.defer(() -> {
+      Mono<ResponseEntity<Object>> call = inFlight.get(key);
+      if (call != null) {
+        joined.increment();
+        return call;
+      }
+      Mono<ResponseEntity<Object>> created = delegate
+          .exchange(method, path, headers, parameters, null)
+          .doFinally(signal -> inFlight.remove(key))
+          .cache();
+      call = inFlight.putIfAbsent(key, created);
+      if (call != null) {
+        joined.increment();
+        return call;
+      }
+      upstream.increment();
+      return created;
+    });
+  }
+
+  @Override
+  public Mono<ResponseEntity<Flux<DataBuffer>>> stream(String path, HttpHeaders headers,
+      Map<String, Object> parameters) {
+    return delegate.stream(path, headers, parameters);
+  }
+
+  @Value
+  private static class Key {
+
+    String path;
+    Map<String, Object> parameters;
+    String userId;
+    String ifNoneMatch;
+
+  }
+
+}
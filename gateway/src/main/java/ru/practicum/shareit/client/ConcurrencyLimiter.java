@@ -0,0 +1,155 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+import reactor.core.scheduler.Schedulers;
+import ru.practicum.shareit.error.TooManyRequestsException;
+
+class ConcurrencyLimiter {
+
+  private static final String METRIC = "shareit.gateway.admission.requests";
+
+  private final int maxConcurrency;
+  private final Duration queueTarget;
+  private final AtomicInteger inFlight = new AtomicInteger();
+  private final AtomicInteger queued = new AtomicInteger();
+  private final Queue<Waiter> waiters = new ConcurrentLinkedQueue<>();
+  private final Timer queueing;
+  private final Counter admitted;
+  private final Counter delayed;
+  private final Counter rejected;
+
+  ConcurrencyLimiter(AdmissionProperties properties, MeterRegistry registry) {
+    this.maxConcurrency = properties.getMaxConcurrency();
+    this.queueTarget = properties.getQueueTarget();
+    this.queueing = Timer.builder("shareit.gateway.admission.queueing")
+        .publishPercentileHistogram()
+        .register(registry);
+    this.admitted = registry.counter(METRIC, "result", "admitted");
+    this.delayed = registry.counter(METRIC, "result", "queued");
+    this.rejected = registry.counter(METRIC, "result", "rejected");
+    Gauge.builder("shareit.gateway.admission.in-flight", inFlight, AtomicInteger::get)
+        .register(registry);
+    Gauge.builder("shareit.gateway.admission.queued", queued, AtomicInteger::get)
+        .register(registry);
+  }
+
+  <T> Mono<T> run(Mono<T> call) {
+    return Mono.usingWhen(acquire(), permit -> call, Permit::release,
+        (permit, e) -> permit.release(), Permit::release);
+  }
+
+  Map<String, Object> state() {
+    Map<String, Object> state = new LinkedHashMap<>();
+    state.put("maxConcurrency", maxConcurrency);
+    state.put("queueTarget", queueTarget.toString());
+    state.put("inFlight", inFlight.get());
+    state.put("queued", queued.get());
+    state.put("admitted", (long) admitted.count());
+    state.put("queuedTotal", (long) delayed.count());
+    state.put("rejected", (long) rejected.count());
+    return state;
+  }
+
+  private Mono<Permit> acquire() {
+    return Mono.<Permit>create(sink -> {
+          if (tryAcquire()) {
+            admitted.increment();
+            sink.success(new Permit());
+            return;
+          }
+          delayed.increment();
+          queued.incrementAndGet();
+          Waiter waiter = new Waiter(sink);
+          sink.onCancel(waiter::cancel);
+          waiters.add(waiter);
+          drain();
+        })
+        .timeout(queueTarget, Mono.error(() -> {
+          rejected.increment();
+          return new TooManyRequestsException("Gateway is overloaded, retry later",
+              queueTarget);
+        }));
+  }
+
+  private boolean tryAcquire() {
+    while (true) {
+      int current = inFlight.get();
+      if (current >= maxConcurrency) {
+        return false;
+      }
+      if (inFlight.compareAndSet(current, current + 1)) {
+        return true;
+      }
+    }
+  }
+
+  private void drain() {
+    while (!waiters.isEmpty() && tryAcquire()) {
+      Waiter waiter = waiters.poll();
+      if (waiter == null || !waiter.grant()) {
+        inFlight.decrementAndGet();
+      }
+    }
+  }
+
+  private class Permit {
+
+    private final AtomicBoolean released = new AtomicBoolean();
+
+    Mono<Void> release() {
+      if (released.compareAndSet(false, true)) {
+        inFlight.decrementAndGet();
+        drain();
+      }
+      return Mono.empty();
+    }
+
+  }
+
+  private class Waiter {
+
+    private final MonoSink<Permit> sink;
+    private final long enqueuedAt = System.nanoTime();
+    private final AtomicInteger state = new AtomicInteger();
+    private volatile Permit permit;
+
+    Waiter(MonoSink<Permit> sink) {
+      this.sink = sink;
+    }
+
+    boolean grant() {
+      Permit granted = new Permit();
+      permit = granted;
+      if (!state.compareAndSet(0, 1)) {
+        return false;
+      }
+      queued.decrementAndGet();
+      queueing.record(System.nanoTime() - enqueuedAt, TimeUnit.NANOSECONDS);
+      Schedulers.boundedElastic().schedule(() -> sink.success(granted));
+      return true;
+    }
+
+    void cancel() {
+      if (state.compareAndSet(0, 2)) {
+        queued.decrementAndGet();
+      } else if (state.get() == 1) {
+        permit.release();
+      }
+    }
+
+  }
+
+}
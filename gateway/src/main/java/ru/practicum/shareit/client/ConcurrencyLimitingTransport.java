@@ -0,0 +1,34 @@
+package ru.practicum.shareit.client;
+
+import java.util.Map;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+class ConcurrencyLimitingTransport implements GatewayTransport {
+
+  private final GatewayTransport delegate;
+  private final ConcurrencyLimiter limiter;
+
+  ConcurrencyLimitingTransport(GatewayTransport delegate, ConcurrencyLimiter limiter) {
+    this.delegate = delegate;
+    this.limiter = limiter;
+  }
+
+  @Override
+  public Mono<ResponseEntity<Object>> exchange(HttpMethod method, String path,
+      HttpHeaders headers, @Nullable Map<String, Object> parameters, @Nullable Object body) {
+    return limiter.run(delegate.exchange(method, path, headers, parameters, body));
+  }
+
+  @Override
+  public Mono<ResponseEntity<Flux<DataBuffer>>> stream(String path, HttpHeaders headers,
+      Map<String, Object> parameters) {
+    return delegate.stream(path, headers, parameters);
+  }
+
+}
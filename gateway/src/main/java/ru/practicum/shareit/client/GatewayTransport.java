@@ -0,0 +1,20 @@
+package ru.practicum.shareit.client;
+
+import java.util.Map;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+public interface GatewayTransport {
+
+  Mono<ResponseEntity<Object>> exchange(HttpMethod method, String path, HttpHeaders headers,
+      @Nullable Map<String, Object> parameters, @Nullable Object body);
+
+  Mono<ResponseEntity<Flux<DataBuffer>>> stream(String path, HttpHeaders headers,
+      Map<String, Object> parameters);
+
+}
@@ -0,0 +1,8 @@
+package ru.practicum.shareit.client;
+
+@FunctionalInterface
+public interface GatewayTransportFactory {
+
+  GatewayTransport create(String apiPrefix);
+
+}
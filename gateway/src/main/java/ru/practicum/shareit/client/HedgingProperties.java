@@ -0,0 +1,29 @@
+package ru.practicum.shareit.client;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Hedging of idempotent GET routes. A hedge goes to a different server instance than the
+ * primary request when one is available. With the blocking RestTemplate transport the losing
+ * attempt cannot be cancelled: it keeps its worker thread and pooled connection until the server
+ * responds, so {@code routes} budgets should account for that extra load.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "shareit-server.hedging")
+public class HedgingProperties {
+
+  private boolean enabled = false;
+  private double percentile = 0.95;
+  private Duration window = Duration.ofMinutes(1);
+  private Duration minDelay = Duration.ofMillis(5);
+  private long minSamples = 100;
+  private int maxBurst = 10;
+  private Map<String, Integer> routes = new LinkedHashMap<>();
+
+}
@@ -0,0 +1,187 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.HistogramSnapshot;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.util.PathMatcher;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.core.publisher.SignalType;
+import reactor.core.scheduler.Schedulers;
+import reactor.util.context.Context;
+
+class HedgingTransport implements GatewayTransport {
+
+  private static final String METRIC = "shareit.gateway.hedging.requests";
+  private static final PathMatcher PATH_MATCHER = new AntPathMatcher();
+  private static final long CREDIT = 1000;
+  private static final long REFRESH_INTERVAL = TimeUnit.SECONDS.toNanos(1);
+
+  private final GatewayTransport delegate;
+  private final String apiPrefix;
+  private final HedgingProperties properties;
+  private final MeterRegistry registry;
+  private final ConcurrentMap<String, Route> routes = new ConcurrentHashMap<>();
+
+  HedgingTransport(GatewayTransport delegate, String apiPrefix, HedgingProperties properties,
+      MeterRegistry registry) {
+    this.delegate = delegate;
+    this.apiPrefix = apiPrefix;
+    this.properties = properties;
+    this.registry = registry;
+  }
+
+  @Override
+  public Mono<ResponseEntity<Object>> exchange(HttpMethod method, String path,
+      HttpHeaders headers, @Nullable Map<String, Object> parameters, @Nullable Object body) {
+    if (method != HttpMethod.GET || body != null) {
+      return delegate.exchange(method, path, headers, parameters, body);
+    }
+    Optional<Route> route = route(path);
+    if (route.isEmpty()) {
+      return delegate.exchange(method, path, headers, parameters, null);
+    }
+    return Mono.defer(() -> route.get().exchange(path, headers, parameters));
+  }
+
+  @Override
+  public Mono<ResponseEntity<Flux<DataBuffer>>> stream(String path, HttpHeaders headers,
+      Map<String, Object> parameters) {
+    return delegate.stream(path, headers, parameters);
+  }
+
+  private Optional<Route> route(String path) {
+    int query = path.indexOf('?');
+    String route = apiPrefix + (query < 0 ? path : path.substring(0, query));
+    return properties.getRoutes().keySet().stream()
+        .filter(pattern -> PATH_MATCHER.match(pattern, route))
+        .min(PATH_MATCHER.getPatternComparator(route))
+        .map(pattern -> routes.computeIfAbsent(pattern, Route::new));
+  }
+
+  private class Route {
+
+    private final long deposit;
+    private final long maxCredits;
+    private final Timer latency;
+    private final Counter hedged;
+    private final Counter won;
+    private final Counter throttled;
+    private final AtomicLong credits = new AtomicLong();
+    private volatile long delay = -1;
+    private volatile long refreshedAt = System.nanoTime() - REFRESH_INTERVAL;
+
+    Route(String pattern) {
+      this.deposit = properties.getRoutes().get(pattern) * CREDIT / 100;
+      this.maxCredits = properties.getMaxBurst() * CREDIT;
+      this.latency = Timer.builder("shareit.gateway.hedging.latency")
+          .tag("client", apiPrefix)
+          .tag("route", pattern)
+          .publishPercentiles(properties.getPercentile())
+          .distributionStatisticExpiry(properties.getWindow())
+          .distributionStatisticBufferLength(3)
+          .register(registry);
+      this.hedged = registry.counter(METRIC, "client", apiPrefix, "route", pattern,
+          "result", "hedged");
+      this.won = registry.counter(METRIC, "client", apiPrefix, "route", pattern,
+          "result", "won");
+      this.throttled = registry.counter(METRIC, "client", apiPrefix, "route", pattern,
+          "result", "throttled");
+    }
+
+    Mono<ResponseEntity<Object>> exchange(String path, HttpHeaders headers,
+        @Nullable Map<String, Object> parameters) {
+      credits.accumulateAndGet(deposit, (current, added) -> Math.min(current + added,
+          maxCredits));
+      long threshold = delay();
+      long startedAt = System.nanoTime();
+      if (threshold < 0) {
+        return delegate.exchange(HttpMethod.GET, path, headers, parameters, null)
+            .doFinally(signal -> record(signal, startedAt));
+      }
+      AtomicReference<ServerInstance> primaryInstance = new AtomicReference<>();
+      Sinks.Empty<Void> dispatched = Sinks.empty();
+      Mono<ResponseEntity<Object>> primary = delegate.exchange(HttpMethod.GET, path, headers,
+              parameters, null)
+          .doOnSubscribe(subscription -> dispatched.tryEmitEmpty())
+          .subscribeOn(Schedulers.boundedElastic())
+          .doFinally(signal -> record(signal, startedAt))
+          .contextWrite(Context.of(LoadBalancedTransport.CHOSEN_INSTANCE, primaryInstance));
+      Mono<ResponseEntity<Object>> hedge = dispatched.asMono()
+          .then(Mono.delay(Duration.ofNanos(threshold)))
+          .flatMap(tick -> {
+            if (!withdraw()) {
+              throttled.increment();
+              return Mono.never();
+            }
+            hedged.increment();
+            return attempt(path, headers, parameters)
+                .contextWrite(Context.of(LoadBalancedTransport.EXCLUDED_INSTANCE,
+                    primaryInstance))
+                .doOnNext(response -> won.increment())
+                .onErrorResume(e -> Mono.never());
+          });
+      return Mono.firstWithSignal(primary, hedge);
+    }
+
+    private Mono<ResponseEntity<Object>> attempt(String path, HttpHeaders headers,
+        @Nullable Map<String, Object> parameters) {
+      return delegate.exchange(HttpMethod.GET, path, headers, parameters, null)
+          .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    private long delay() {
+      long now = System.nanoTime();
+      if (now - refreshedAt < REFRESH_INTERVAL) {
+        return delay;
+      }
+      refreshedAt = now;
+      HistogramSnapshot snapshot = latency.takeSnapshot();
+      long percentile = -1;
+      if (snapshot.count() >= properties.getMinSamples()) {
+        for (ValueAtPercentile value : snapshot.percentileValues()) {
+          percentile = Math.max((long) value.value(TimeUnit.NANOSECONDS),
+              properties.getMinDelay().toNanos());
+        }
+      }
+      delay = percentile;
+      return percentile;
+    }
+
+    private boolean withdraw() {
+      long current;
+      do {
+        current = credits.get();
+        if (current < CREDIT) {
+          return false;
+        }
+      } while (!credits.compareAndSet(current, current - CREDIT));
+      return true;
+    }
+
+    private void record(SignalType signal, long startedAt) {
+      if (signal != SignalType.ON_ERROR) {
+        latency.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+      }
+    }
+
+  }
+
+}
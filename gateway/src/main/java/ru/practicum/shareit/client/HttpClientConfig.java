@@ -0,0 +1,242 @@
+package ru.practicum.shareit.client;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.httpcomponents.PoolingHttpClientConnectionManagerMetricsBinder;
+import io.netty.channel.ChannelOption;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.conn.ConnectionKeepAliveStrategy;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.DefaultConnectionKeepAliveStrategy;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.util.DefaultUriBuilderFactory;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+@Configuration
+@EnableConfigurationProperties({HttpClientProperties.class, ResponseCacheProperties.class,
+    LoadBalancerProperties.class, HedgingProperties.class, RateLimitProperties.class,
+    AdmissionProperties.class, ResilienceProperties.class})
+public class HttpClientConfig {
+
+  private static final String POOL_NAME = "shareit-server";
+
+  @Bean
+  public ResponseCache shareItResponseCache(ResponseCacheProperties properties,
+      MeterRegistry registry) {
+    return new ResponseCache(properties, registry);
+  }
+
+  @Bean
+  public ServerInstances shareItServerInstances(@Value("${shareit-server.url}") String serverUrl,
+      LoadBalancerProperties properties, UpstreamTransportFactory upstream,
+      MeterRegistry registry) {
+    List<String> urls = properties.getInstances().isEmpty()
+        ? List.of(serverUrl)
+        : properties.getInstances();
+    return new ServerInstances(urls, properties, upstream, registry);
+  }
+
+  @Bean
+  public RateLimiter shareItRateLimiter(RateLimitProperties properties,
+      MeterRegistry registry) {
+    return new RateLimiter(properties, registry);
+  }
+
+  @Bean
+  public ConcurrencyLimiter shareItConcurrencyLimiter(AdmissionProperties properties,
+      MeterRegistry registry) {
+    return new ConcurrencyLimiter(properties, registry);
+  }
+
+  @Bean
+  public AdmissionEndpoint admissionEndpoint(RateLimiter rateLimiter,
+      ConcurrencyLimiter concurrencyLimiter) {
+    return new AdmissionEndpoint(rateLimiter, concurrencyLimiter);
+  }
+
+  @Bean
+  public GatewayTransportFactory gatewayTransportFactory(
+      UpstreamTransportFactory upstream, ServerInstances serverInstances,
+      @Value("${shareit-server.coalescing.enabled:true}") boolean coalescing,
+      HedgingProperties hedgingProperties, AdmissionProperties admissionProperties,
+      ConcurrencyLimiter concurrencyLimiter, ResilienceProperties resilienceProperties,
+      ResponseCacheProperties cacheProperties,
+      ResponseCache responseCache,
+      HttpClientProperties httpProperties, Jackson2ObjectMapperBuilder objectMapperBuilder,
+      MeterRegistry registry) {
+    ObjectMapper cborMapper = objectMapperBuilder.createXmlMapper(false)
+        .factory(new CBORFactory())
+        .build();
+    return apiPrefix -> {
+      GatewayTransport transport = new LoadBalancedTransport(serverInstances, upstream,
+          apiPrefix);
+      if (hedgingProperties.isEnabled()) {
+        transport = new HedgingTransport(transport, apiPrefix, hedgingProperties, registry);
+      }
+      if (admissionProperties.isEnabled()) {
+        transport = new ConcurrencyLimitingTransport(transport, concurrencyLimiter);
+      }
+      if (resilienceProperties.isEnabled()) {
+        transport = new BulkheadTransport(transport, apiPrefix,
+            resilienceProperties.getBulkheads().getOrDefault(apiPrefix,
+                resilienceProperties.getMaxConcurrentCalls()), registry);
+        transport = new CircuitBreakerTransport(transport, apiPrefix,
+            new CircuitBreaker(apiPrefix, resilienceProperties, registry));
+      }
+      if (httpProperties.getWireFormat() == WireFormat.CBOR) {
+        transport = new CborTransport(transport, cborMapper);
+      }
+      if (coalescing) {
+        transport = new CoalescingTransport(transport, apiPrefix, registry);
+      }
+      if (cacheProperties.isEnabled()) {
+        transport = new CachingTransport(transport, apiPrefix, responseCache,
+            cacheProperties.getRoutes(),
+            cacheProperties.getInvalidates().getOrDefault(apiPrefix, List.of()), registry);
+      }
+      return transport;
+    };
+  }
+
+  @Configuration(proxyBeanMethods = false)
+  @ConditionalOnWebApplication(type = Type.SERVLET)
+  static class BlockingTransportConfig {
+
+    @Bean
+    public PoolingHttpClientConnectionManager shareItConnectionManager(
+        HttpClientProperties properties) {
+      PoolingHttpClientConnectionManager connectionManager =
+          new PoolingHttpClientConnectionManager();
+      connectionManager.setMaxTotal(properties.getMaxTotal());
+      connectionManager.setDefaultMaxPerRoute(properties.getMaxPerRoute());
+      connectionManager.setValidateAfterInactivity(
+          (int) properties.getValidateAfterInactivity().toMillis());
+      return connectionManager;
+    }
+
+    @Bean
+    public CloseableHttpClient shareItHttpClient(
+        PoolingHttpClientConnectionManager connectionManager, HttpClientProperties properties) {
+      return HttpClients.custom()
+          .setConnectionManager(connectionManager)
+          .setKeepAliveStrategy(keepAliveStrategy(properties.getKeepAlive().toMillis()))
+          .evictExpiredConnections()
+          .evictIdleConnections(properties.getIdleTimeout().toMillis(), TimeUnit.MILLISECONDS)
+          .setDefaultRequestConfig(RequestConfig.custom()
+              .setConnectTimeout((int) properties.getConnectTimeout().toMillis())
+              .setSocketTimeout((int) properties.getReadTimeout().toMillis())
+              .setConnectionRequestTimeout(
+                  (int) properties.getConnectionRequestTimeout().toMillis())
+              .build())
+          .build();
+    }
+
+    @Bean
+    public HttpComponentsClientHttpRequestFactory shareItRequestFactory(
+        CloseableHttpClient httpClient) {
+      HttpComponentsClientHttpRequestFactory factory =
+          new HttpComponentsClientHttpRequestFactory(httpClient);
+      factory.setBufferRequestBody(false);
+      return factory;
+    }
+
+    @Bean
+    public MeterBinder shareItConnectionPoolMetrics(
+        PoolingHttpClientConnectionManager connectionManager) {
+      return new PoolingHttpClientConnectionManagerMetricsBinder(connectionManager, POOL_NAME);
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "shareit-server.rate-limit", name = "enabled",
+        matchIfMissing = true)
+    public RateLimitFilter rateLimitFilter(RateLimiter rateLimiter, ObjectMapper objectMapper) {
+      return new RateLimitFilter(rateLimiter, objectMapper);
+    }
+
+    @Bean
+    public UpstreamTransportFactory upstreamTransportFactory(RestTemplateBuilder builder,
+        HttpComponentsClientHttpRequestFactory requestFactory) {
+      return (serverUrl, apiPrefix) -> new RestTemplateTransport(builder
+          .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + apiPrefix))
+          .requestFactory(() -> requestFactory)
+          .build());
+    }
+
+    private static ConnectionKeepAliveStrategy keepAliveStrategy(long defaultKeepAlive) {
+      return (response, context) -> {
+        long keepAlive = DefaultConnectionKeepAliveStrategy.INSTANCE
+            .getKeepAliveDuration(response, context);
+        return keepAlive > 0 ? Math.min(keepAlive, defaultKeepAlive) : defaultKeepAlive;
+      };
+    }
+
+  }
+
+  @Configuration(proxyBeanMethods = false)
+  @ConditionalOnWebApplication(type = Type.REACTIVE)
+  static class ReactiveTransportConfig {
+
+    @Bean
+    public NettyReactiveWebServerFactory nettyReactiveWebServerFactory() {
+      return new NettyReactiveWebServerFactory();
+    }
+
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider shareItConnectionProvider(HttpClientProperties properties) {
+      Duration maxIdleTime = properties.getKeepAlive().compareTo(properties.getIdleTimeout()) < 0
+          ? properties.getKeepAlive()
+          : properties.getIdleTimeout();
+      return ConnectionProvider.builder(POOL_NAME)
+          .maxConnections(properties.getMaxTotal())
+          .pendingAcquireTimeout(properties.getConnectionRequestTimeout())
+          .maxIdleTime(maxIdleTime)
+          .evictInBackground(properties.getIdleTimeout())
+          .metrics(true)
+          .build();
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "shareit-server.rate-limit", name = "enabled",
+        matchIfMissing = true)
+    public ReactiveRateLimitFilter reactiveRateLimitFilter(RateLimiter rateLimiter,
+        ObjectMapper objectMapper) {
+      return new ReactiveRateLimitFilter(rateLimiter, objectMapper);
+    }
+
+    @Bean
+    public UpstreamTransportFactory upstreamTransportFactory(WebClient.Builder builder,
+        ConnectionProvider connectionProvider, HttpClientProperties properties) {
+      ReactorClientHttpConnector connector = new ReactorClientHttpConnector(
+          HttpClient.create(connectionProvider)
+              .option(ChannelOption.CONNECT_TIMEOUT_MILLIS,
+                  (int) properties.getConnectTimeout().toMillis())
+              .responseTimeout(properties.getReadTimeout()));
+      return (serverUrl, apiPrefix) -> new WebClientTransport(builder.clone()
+          .baseUrl(serverUrl + apiPrefix)
+          .clientConnector(connector)
+          .build());
+    }
+
+  }
+
+}
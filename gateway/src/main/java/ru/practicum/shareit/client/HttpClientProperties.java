@@ -0,0 +1,23 @@
+package ru.practicum.shareit.client;
+
+import java.time.Duration;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "shareit-server.http")
+public class HttpClientProperties {
+
+  private int maxTotal = 200;
+  private int maxPerRoute = 200;
+  private Duration connectTimeout = Duration.ofSeconds(2);
+  private Duration readTimeout = Duration.ofSeconds(30);
+  private Duration connectionRequestTimeout = Duration.ofSeconds(1);
+  private Duration keepAlive = Duration.ofSeconds(30);
+  private Duration idleTimeout = Duration.ofSeconds(10);
+  private Duration validateAfterInactivity = Duration.ofSeconds(2);
+  private WireFormat wireFormat = WireFormat.JSON;
+
+}
@@ -0,0 +1,86 @@
+package ru.practicum.shareit.client;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+import reactor.util.context.ContextView;
+
+class LoadBalancedTransport implements GatewayTransport {
+
+  static final String CHOSEN_INSTANCE = LoadBalancedTransport.class.getName() + ".chosen";
+  static final String EXCLUDED_INSTANCE = LoadBalancedTransport.class.getName() + ".excluded";
+
+  private final ServerInstances instances;
+  private final Map<ServerInstance, GatewayTransport> transports = new IdentityHashMap<>();
+
+  LoadBalancedTransport(ServerInstances instances, UpstreamTransportFactory upstream,
+      String apiPrefix) {
+    this.instances = instances;
+    instances.all().forEach(instance ->
+        transports.put(instance, upstream.create(instance.getUrl(), apiPrefix)));
+  }
+
+  @Override
+  public Mono<ResponseEntity<Object>> exchange(HttpMethod method, String path,
+      HttpHeaders headers, @Nullable Map<String, Object> parameters, @Nullable Object body) {
+    return Mono.deferContextual(context -> {
+      ServerInstance instance = choose(context);
+      ServerInstance.Call call = instance.start();
+      return transports.get(instance).exchange(method, path, headers, parameters, body)
+          .doOnNext(response -> call.finish(isUnavailable(response)))
+          .doFinally(signal -> {
+            if (signal == SignalType.CANCEL) {
+              call.cancel();
+            } else {
+              call.finish(signal == SignalType.ON_ERROR);
+            }
+          });
+    });
+  }
+
+  @Override
+  public Mono<ResponseEntity<Flux<DataBuffer>>> stream(String path, HttpHeaders headers,
+      Map<String, Object> parameters) {
+    return Mono.defer(() -> {
+      ServerInstance instance = instances.choose();
+      ServerInstance.Call call = instance.start();
+      return transports.get(instance).stream(path, headers, parameters)
+          .map(response -> ResponseEntity.status(response.getStatusCodeValue())
+              .headers(response.getHeaders())
+              .body(response.getBody()
+                  .doFinally(signal -> {
+                    if (signal == SignalType.CANCEL) {
+                      call.cancel();
+                    } else {
+                      call.finish(signal == SignalType.ON_ERROR || isUnavailable(response));
+                    }
+                  })))
+          .doOnError(e -> call.finish(true))
+          .doOnCancel(call::cancel);
+    });
+  }
+
+  private ServerInstance choose(ContextView context) {
+    ServerInstance instance = instances.choose(context
+        .<AtomicReference<ServerInstance>>getOrEmpty(EXCLUDED_INSTANCE)
+        .map(AtomicReference::get)
+        .orElse(null));
+    context.<AtomicReference<ServerInstance>>getOrEmpty(CHOSEN_INSTANCE)
+        .ifPresent(chosen -> chosen.set(instance));
+    return instance;
+  }
+
+  private static boolean isUnavailable(ResponseEntity<?> response) {
+    return response.getStatusCode() == HttpStatus.SERVICE_UNAVAILABLE;
+  }
+
+}
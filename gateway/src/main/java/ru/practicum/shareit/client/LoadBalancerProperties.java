@@ -0,0 +1,21 @@
+package ru.practicum.shareit.client;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "shareit-server.balancer")
+public class LoadBalancerProperties {
+
+  private List<String> instances = new ArrayList<>();
+  private String healthPath = "/actuator/health";
+  private Duration healthCheckInterval = Duration.ofSeconds(5);
+  private Duration healthCheckTimeout = Duration.ofSeconds(2);
+  private int failureThreshold = 3;
+
+}
@@ -0,0 +1,48 @@
+package ru.practicum.shareit.client;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.util.Optional;
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+import ru.practicum.shareit.error.ApiError;
+import ru.practicum.shareit.error.TooManyRequestsException;
+
+class RateLimitFilter extends OncePerRequestFilter {
+
+  private static final String USER_ID_HEADER = "X-Sharer-User-Id";
+
+  private final RateLimiter limiter;
+  private final ObjectMapper objectMapper;
+
+  RateLimitFilter(RateLimiter limiter, ObjectMapper objectMapper) {
+    this.limiter = limiter;
+    this.objectMapper = objectMapper;
+  }
+
+  @Override
+  protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+      FilterChain chain) throws ServletException, IOException {
+    Optional<TooManyRequestsException> rejection = limiter.admit(
+        HttpMethod.resolve(request.getMethod()), request.getRequestURI(),
+        request.getHeader(USER_ID_HEADER), request.getRemoteAddr());
+    if (rejection.isEmpty()) {
+      chain.doFilter(request, response);
+      return;
+    }
+    response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+    response.setHeader(HttpHeaders.RETRY_AFTER,
+        String.valueOf(rejection.get().getRetryAfterSeconds()));
+    response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+    objectMapper.writeValue(response.getOutputStream(),
+        new ApiError(rejection.get().getMessage()));
+  }
+
+}
@@ -0,0 +1,32 @@
+package ru.practicum.shareit.client;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.http.HttpMethod;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "shareit-server.rate-limit")
+public class RateLimitProperties {
+
+  private boolean enabled = true;
+  private long maximumUsers = 100_000;
+  private Duration expireAfterAccess = Duration.ofMinutes(10);
+  private List<Rule> rules = new ArrayList<>();
+
+  @Getter
+  @Setter
+  public static class Rule {
+
+    private HttpMethod method;
+    private String path;
+    private double permitsPerSecond = 10;
+    private int burst = 20;
+
+  }
+
+}
@@ -0,0 +1,149 @@
+package ru.practicum.shareit.client;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import lombok.Value;
+import org.springframework.http.HttpMethod;
+import org.springframework.lang.Nullable;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.util.PathMatcher;
+import ru.practicum.shareit.error.TooManyRequestsException;
+
+class RateLimiter {
+
+  private static final String METRIC = "shareit.gateway.rate-limit.requests";
+  private static final String BUCKETS_NAME = "shareit-rate-limit-buckets";
+  private static final PathMatcher PATH_MATCHER = new AntPathMatcher();
+
+  private final List<Rule> rules;
+  private final Cache<Key, Bucket> buckets;
+
+  RateLimiter(RateLimitProperties properties, MeterRegistry registry) {
+    this.rules = properties.getRules().stream()
+        .map(rule -> new Rule(rule, registry))
+        .collect(Collectors.toUnmodifiableList());
+    this.buckets = Caffeine.newBuilder()
+        .maximumSize(properties.getMaximumUsers())
+        .expireAfterAccess(properties.getExpireAfterAccess())
+        .recordStats()
+        .build();
+    CaffeineCacheMetrics.monitor(registry, buckets, BUCKETS_NAME);
+  }
+
+  Optional<TooManyRequestsException> admit(@Nullable HttpMethod method, String path,
+      @Nullable String userId, String remoteAddress) {
+    String client = userId != null ? "user:" + userId : "address:" + remoteAddress;
+    return tryAcquire(method, path, client)
+        .map(wait -> new TooManyRequestsException("Rate limit exceeded, retry later", wait));
+  }
+
+  private Optional<Duration> tryAcquire(@Nullable HttpMethod method, String route,
+      String client) {
+    Optional<Rule> rule = rules.stream()
+        .filter(candidate -> candidate.matches(method, route))
+        .min((a, b) -> PATH_MATCHER.getPatternComparator(route).compare(a.path, b.path));
+    if (rule.isEmpty()) {
+      return Optional.empty();
+    }
+    Rule matched = rule.get();
+    Bucket bucket = buckets.get(new Key(matched.id, client),
+        key -> new Bucket(System.nanoTime()));
+    long wait = bucket.tryAcquire(System.nanoTime(), matched.interval, matched.capacity);
+    if (wait > 0) {
+      matched.rejected.increment();
+      return Optional.of(Duration.ofNanos(wait));
+    }
+    matched.admitted.increment();
+    return Optional.empty();
+  }
+
+  Map<String, Object> state() {
+    Map<String, Object> state = new LinkedHashMap<>();
+    state.put("trackedBuckets", buckets.estimatedSize());
+    state.put("rules", rules.stream()
+        .map(rule -> Map.of(
+            "rule", rule.id,
+            "permitsPerSecond", rule.permitsPerSecond,
+            "burst", rule.burst,
+            "admitted", (long) rule.admitted.count(),
+            "rejected", (long) rule.rejected.count()))
+        .collect(Collectors.toList()));
+    return state;
+  }
+
+  private static class Rule {
+
+    private final String id;
+    private final HttpMethod method;
+    private final String path;
+    private final double permitsPerSecond;
+    private final int burst;
+    private final long interval;
+    private final long capacity;
+    private final Counter admitted;
+    private final Counter rejected;
+
+    Rule(RateLimitProperties.Rule rule, MeterRegistry registry) {
+      this.method = rule.getMethod();
+      this.path = rule.getPath();
+      this.id = (method != null ? method.name() : "*") + " " + path;
+      this.permitsPerSecond = rule.getPermitsPerSecond();
+      this.burst = rule.getBurst();
+      this.interval = (long) (TimeUnit.SECONDS.toNanos(1) / permitsPerSecond);
+      this.capacity = interval * burst;
+      String methodTag = method != null ? method.name() : "*";
+      this.admitted = registry.counter(METRIC, "route", path, "method", methodTag,
+          "result", "admitted");
+      this.rejected = registry.counter(METRIC, "route", path, "method", methodTag,
+          "result", "rejected");
+    }
+
+    boolean matches(@Nullable HttpMethod requestMethod, String route) {
+      return (method == null || method == requestMethod) && PATH_MATCHER.match(path, route);
+    }
+
+  }
+
+  static class Bucket {
+
+    private final AtomicLong theoreticalArrival;
+
+    Bucket(long now) {
+      this.theoreticalArrival = new AtomicLong(now);
+    }
+
+    long tryAcquire(long now, long interval, long capacity) {
+      while (true) {
+        long arrival = theoreticalArrival.get();
+        long next = Math.max(arrival - now, 0) + interval;
+        if (next > capacity) {
+          return next - capacity;
+        }
+        if (theoreticalArrival.compareAndSet(arrival, now + next)) {
+          return 0;
+        }
+      }
+    }
+
+  }
+
+  @Value
+  private static class Key {
+
+    String rule;
+    String client;
+
+  }
+
+}
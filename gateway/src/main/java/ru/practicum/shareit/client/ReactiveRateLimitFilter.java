@@ -0,0 +1,54 @@
+package ru.practicum.shareit.client;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.net.InetSocketAddress;
+import java.util.Optional;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.error.ApiError;
+import ru.practicum.shareit.error.TooManyRequestsException;
+
+class ReactiveRateLimitFilter implements WebFilter {
+
+  private static final String USER_ID_HEADER = "X-Sharer-User-Id";
+
+  private final RateLimiter limiter;
+  private final ObjectMapper objectMapper;
+
+  ReactiveRateLimitFilter(RateLimiter limiter, ObjectMapper objectMapper) {
+    this.limiter = limiter;
+    this.objectMapper = objectMapper;
+  }
+
+  @Override
+  public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+    ServerHttpRequest request = exchange.getRequest();
+    Optional<TooManyRequestsException> rejection = limiter.admit(request.getMethod(),
+        request.getPath().pathWithinApplication().value(),
+        request.getHeaders().getFirst(USER_ID_HEADER), remoteAddress(request));
+    if (rejection.isEmpty()) {
+      return chain.filter(exchange);
+    }
+    ServerHttpResponse response = exchange.getResponse();
+    response.setStatusCode(HttpStatus.TOO_MANY_REQUESTS);
+    response.getHeaders().set(HttpHeaders.RETRY_AFTER,
+        String.valueOf(rejection.get().getRetryAfterSeconds()));
+    response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+    return Mono.fromCallable(() -> response.bufferFactory()
+            .wrap(objectMapper.writeValueAsBytes(new ApiError(rejection.get().getMessage()))))
+        .flatMap(buffer -> response.writeWith(Mono.just(buffer)));
+  }
+
+  private static String remoteAddress(ServerHttpRequest request) {
+    InetSocketAddress address = request.getRemoteAddress();
+    return address != null ? address.getHostString() : "unknown";
+  }
+
+}
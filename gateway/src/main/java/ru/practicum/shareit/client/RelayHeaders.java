@@ -0,0 +1,25 @@
+package ru.practicum.shareit.client;
+
+import java.util.Locale;
+import java.util.Set;
+import org.springframework.http.HttpHeaders;
+
+final class RelayHeaders {
+
+  private static final Set<String> HOP_BY_HOP_HEADERS = Set.of("connection", "keep-alive",
+      "transfer-encoding", "content-length");
+
+  private RelayHeaders() {
+  }
+
+  static HttpHeaders of(HttpHeaders upstream) {
+    HttpHeaders headers = new HttpHeaders();
+    upstream.forEach((name, values) -> {
+      if (!HOP_BY_HOP_HEADERS.contains(name.toLowerCase(Locale.ROOT))) {
+        headers.addAll(name, values);
+      }
+    });
+    return headers;
+  }
+
+}
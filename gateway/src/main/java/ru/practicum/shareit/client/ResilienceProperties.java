@@ -0,0 +1,25 @@
+package ru.practicum.shareit.client;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "shareit-server.resilience")
+public class ResilienceProperties {
+
+  private boolean enabled = true;
+  private int maxConcurrentCalls = 32;
+  private Map<String, Integer> bulkheads = new LinkedHashMap<>();
+  private int failureRateThreshold = 50;
+  private int slidingWindowSize = 20;
+  private int minimumCalls = 10;
+  private Duration slowCallDuration = Duration.ofSeconds(5);
+  private Duration waitInOpen = Duration.ofSeconds(10);
+  private int halfOpenCalls = 3;
+
+}
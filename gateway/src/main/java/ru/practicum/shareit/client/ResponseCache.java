@@ -0,0 +1,74 @@
+package ru.practicum.shareit.client;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import org.springframework.lang.Nullable;
+import ru.practicum.shareit.client.CachingTransport.CachedResponse;
+import ru.practicum.shareit.client.CachingTransport.Key;
+
+class ResponseCache {
+
+  private static final String NAME = "shareit-responses";
+
+  private final Cache<Key, CachedResponse> cache;
+  private final Map<String, Set<Key>> keysByPrefix = new ConcurrentHashMap<>();
+
+  ResponseCache(ResponseCacheProperties properties, MeterRegistry registry) {
+    this.cache = Caffeine.newBuilder()
+        .maximumWeight(properties.getMaximumSize().toBytes())
+        .weigher((Key key, CachedResponse value) -> value.weight())
+        .expireAfterWrite(properties.getMaxStale())
+        .evictionListener((Key key, CachedResponse value, RemovalCause cause) -> unindex(key))
+        .recordStats()
+        .build();
+    CaffeineCacheMetrics.monitor(registry, cache, NAME);
+    Gauge.builder("cache.weighted.size", cache,
+            c -> c.policy().eviction().map(e -> e.weightedSize().orElse(0)).orElse(0L))
+        .tags("cache", NAME)
+        .baseUnit("bytes")
+        .register(registry);
+  }
+
+  @Nullable
+  CachedResponse get(Key key) {
+    return cache.getIfPresent(key);
+  }
+
+  void put(Key key, CachedResponse response) {
+    cache.asMap().compute(key, (k, previous) -> {
+      keysByPrefix.computeIfAbsent(k.getApiPrefix(), prefix -> ConcurrentHashMap.newKeySet())
+          .add(k);
+      return response;
+    });
+  }
+
+  void invalidate(Key key) {
+    cache.asMap().compute(key, (k, previous) -> {
+      unindex(k);
+      return null;
+    });
+  }
+
+  void invalidateAll(String apiPrefix) {
+    Set<Key> keys = keysByPrefix.get(apiPrefix);
+    if (keys != null) {
+      List.copyOf(keys).forEach(this::invalidate);
+    }
+  }
+
+  private void unindex(Key key) {
+    Set<Key> keys = keysByPrefix.get(key.getApiPrefix());
+    if (keys != null) {
+      keys.remove(key);
+    }
+  }
+
+}
@@ -0,0 +1,23 @@
+package ru.practicum.shareit.client;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "shareit-server.cache")
+public class ResponseCacheProperties {
+
+  private boolean enabled = true;
+  private DataSize maximumSize = DataSize.ofMegabytes(16);
+  private Duration maxStale = Duration.ofMinutes(10);
+  private Map<String, Duration> routes = new LinkedHashMap<>();
+  private Map<String, List<String>> invalidates = new LinkedHashMap<>();
+
+}
@@ -0,0 +1,102 @@
+package ru.practicum.shareit.client;
+
+import java.io.IOException;
+import java.util.Map;
+import org.reactivestreams.Publisher;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.ClientHttpRequest;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.lang.Nullable;
+import org.springframework.util.StreamUtils;
+import org.springframework.web.client.RequestCallback;
+import org.springframework.web.client.ResponseErrorHandler;
+import org.springframework.web.client.RestTemplate;
+import reactor.core.Exceptions;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+class RestTemplateTransport implements GatewayTransport {
+
+  private static final int BUFFER_SIZE = 8192;
+
+  private final RestTemplate rest;
+
+  RestTemplateTransport(RestTemplate rest) {
+    this.rest = rest;
+    this.rest.setErrorHandler(new PassThroughErrorHandler());
+  }
+
+  @Override
+  public Mono<ResponseEntity<Object>> exchange(HttpMethod method, String path,
+      HttpHeaders headers, @Nullable Map<String, Object> parameters, @Nullable Object body) {
+    return Mono.fromCallable(() -> rest.execute(path, method, requestCallback(headers, body),
+        RestTemplateTransport::relay, parameters != null ? parameters : Map.of()));
+  }
+
+  @Override
+  public Mono<ResponseEntity<Flux<DataBuffer>>> stream(String path, HttpHeaders headers,
+      Map<String, Object> parameters) {
+    return Mono.fromCallable(() -> {
+          ClientHttpRequest request = rest.getRequestFactory()
+              .createRequest(rest.getUriTemplateHandler().expand(path, parameters),
+                  HttpMethod.GET);
+          request.getHeaders().putAll(headers);
+          return request.execute();
+        })
+        .map(RestTemplateTransport::streamed)
+        .doOnDiscard(ClientHttpResponse.class, ClientHttpResponse::close);
+  }
+
+  @SuppressWarnings("unchecked")
+  private RequestCallback requestCallback(HttpHeaders headers, @Nullable Object body) {
+    if (body instanceof Publisher) {
+      return request -> {
+        request.getHeaders().putAll(headers);
+        DataBufferUtils.write((Publisher<DataBuffer>) body, request.getBody())
+            .doOnNext(DataBufferUtils::release)
+            .blockLast();
+      };
+    }
+    return rest.httpEntityCallback(new HttpEntity<>(body, headers));
+  }
+
+  private static ResponseEntity<Flux<DataBuffer>> streamed(ClientHttpResponse response) {
+    try {
+      return ResponseEntity.status(response.getRawStatusCode())
+          .headers(RelayHeaders.of(response.getHeaders()))
+          .body(Flux.using(() -> response,
+              opened -> DataBufferUtils.readInputStream(opened::getBody,
+                  DefaultDataBufferFactory.sharedInstance, BUFFER_SIZE),
+              ClientHttpResponse::close));
+    } catch (IOException | RuntimeException e) {
+      response.close();
+      throw Exceptions.propagate(e);
+    }
+  }
+
+  private static ResponseEntity<Object> relay(ClientHttpResponse response) throws IOException {
+    return ResponseEntity.status(response.getRawStatusCode())
+        .headers(RelayHeaders.of(response.getHeaders()))
+        .body(StreamUtils.copyToByteArray(response.getBody()));
+  }
+
+  private static class PassThroughErrorHandler implements ResponseErrorHandler {
+
+    @Override
+    public boolean hasError(ClientHttpResponse response) {
+      return false;
+    }
+
+    @Override
+    public void handleError(ClientHttpResponse response) {
+    }
+
+  }
+
+}
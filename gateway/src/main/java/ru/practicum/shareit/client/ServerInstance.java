@@ -0,0 +1,90 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import lombok.Getter;
+
+class ServerInstance {
+
+  @Getter
+  private final String url;
+  private final int failureThreshold;
+  private final Timer latency;
+  private final AtomicInteger inFlight = new AtomicInteger();
+  private final AtomicInteger consecutiveFailures = new AtomicInteger();
+  private volatile boolean healthy = true;
+
+  ServerInstance(String url, int failureThreshold, MeterRegistry registry) {
+    this.url = url;
+    this.failureThreshold = failureThreshold;
+    this.latency = Timer.builder("shareit.gateway.upstream.requests")
+        .tag("instance", url)
+        .publishPercentileHistogram()
+        .register(registry);
+    Gauge.builder("shareit.gateway.upstream.in-flight", inFlight, AtomicInteger::get)
+        .tag("instance", url)
+        .register(registry);
+    Gauge.builder("shareit.gateway.upstream.healthy", this, i -> i.isHealthy() ? 1 : 0)
+        .tag("instance", url)
+        .register(registry);
+  }
+
+  boolean isHealthy() {
+    return healthy;
+  }
+
+  int getInFlight() {
+    return inFlight.get();
+  }
+
+  Call start() {
+    inFlight.incrementAndGet();
+    return new Call(System.nanoTime());
+  }
+
+  void recordFailure() {
+    if (consecutiveFailures.incrementAndGet() >= failureThreshold) {
+      healthy = false;
+    }
+  }
+
+  void recordHealthy() {
+    consecutiveFailures.set(0);
+    healthy = true;
+  }
+
+  class Call {
+
+    private final long startedAt;
+    private final AtomicBoolean finished = new AtomicBoolean();
+
+    private Call(long startedAt) {
+      this.startedAt = startedAt;
+    }
+
+    void finish(boolean failed) {
+      if (!finished.compareAndSet(false, true)) {
+        return;
+      }
+      inFlight.decrementAndGet();
+      latency.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+      if (failed) {
+        recordFailure();
+      } else {
+        consecutiveFailures.set(0);
+      }
+    }
+
+    void cancel() {
+      if (finished.compareAndSet(false, true)) {
+        inFlight.decrementAndGet();
+      }
+    }
+
+  }
+
+}
@@ -0,0 +1,103 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.Collectors;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.lang.Nullable;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+@Slf4j
+class ServerInstances implements DisposableBean {
+
+  private final List<ServerInstance> instances;
+  private final Disposable healthChecks;
+
+  ServerInstances(List<String> urls, LoadBalancerProperties properties,
+      UpstreamTransportFactory upstream, MeterRegistry registry) {
+    this.instances = urls.stream()
+        .map(url -> new ServerInstance(url, properties.getFailureThreshold(), registry))
+        .collect(Collectors.toUnmodifiableList());
+    List<GatewayTransport> probes = instances.stream()
+        .map(instance -> upstream.create(instance.getUrl(), ""))
+        .collect(Collectors.toList());
+    this.healthChecks = instances.size() < 2 ? Flux.never().subscribe()
+        : Flux.interval(properties.getHealthCheckInterval())
+            .onBackpressureDrop()
+            .concatMap(tick -> Flux.range(0, instances.size())
+                .flatMap(i -> check(instances.get(i), probes.get(i), properties)))
+            .subscribe();
+  }
+
+  List<ServerInstance> all() {
+    return instances;
+  }
+
+  ServerInstance choose() {
+    return choose(null);
+  }
+
+  ServerInstance choose(@Nullable ServerInstance excluded) {
+    if (instances.size() == 1) {
+      return instances.get(0);
+    }
+    List<ServerInstance> candidates = instances.stream()
+        .filter(ServerInstance::isHealthy)
+        .filter(instance -> instance != excluded)
+        .collect(Collectors.toList());
+    if (candidates.isEmpty() && excluded != null && excluded.isHealthy()) {
+      return excluded;
+    }
+    if (candidates.isEmpty()) {
+      candidates = instances;
+    }
+    if (candidates.size() == 1) {
+      return candidates.get(0);
+    }
+    ThreadLocalRandom random = ThreadLocalRandom.current();
+    int first = random.nextInt(candidates.size());
+    int second = random.nextInt(candidates.size() - 1);
+    if (second >= first) {
+      second++;
+    }
+    ServerInstance a = candidates.get(first);
+    ServerInstance b = candidates.get(second);
+    return a.getInFlight() <= b.getInFlight() ? a : b;
+  }
+
+  @Override
+  public void destroy() {
+    healthChecks.dispose();
+  }
+
+  private Mono<Void> check(ServerInstance instance, GatewayTransport probe,
+      LoadBalancerProperties properties) {
+    return probe.exchange(HttpMethod.GET, properties.getHealthPath(), new HttpHeaders(), null,
+            null)
+        .subscribeOn(Schedulers.boundedElastic())
+        .timeout(properties.getHealthCheckTimeout())
+        .map(response -> response.getStatusCode().is2xxSuccessful())
+        .onErrorReturn(false)
+        .doOnNext(up -> {
+          boolean wasHealthy = instance.isHealthy();
+          if (up) {
+            instance.recordHealthy();
+          } else {
+            instance.recordFailure();
+          }
+          if (wasHealthy != instance.isHealthy()) {
+            log.warn("Server instance {} is {}", instance.getUrl(),
+                instance.isHealthy() ? "back in rotation" : "ejected");
+          }
+        })
+        .then();
+  }
+
+}
@@ -0,0 +1,8 @@
+package ru.practicum.shareit.client;
+
+@FunctionalInterface
+interface UpstreamTransportFactory {
+
+  GatewayTransport create(String serverUrl, String apiPrefix);
+
+}
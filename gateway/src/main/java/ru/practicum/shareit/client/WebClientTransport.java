@@ -0,0 +1,62 @@
+package ru.practicum.shareit.client;
+
+import java.util.Map;
+import org.reactivestreams.Publisher;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+import org.springframework.web.reactive.function.BodyInserters;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClient.RequestBodySpec;
+import org.springframework.web.reactive.function.client.WebClient.RequestHeadersSpec;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+class WebClientTransport implements GatewayTransport {
+
+  private static final byte[] EMPTY_BODY = new byte[0];
+
+  private final WebClient webClient;
+
+  WebClientTransport(WebClient webClient) {
+    this.webClient = webClient;
+  }
+
+  @Override
+  public Mono<ResponseEntity<Object>> exchange(HttpMethod method, String path,
+      HttpHeaders headers, @Nullable Map<String, Object> parameters, @Nullable Object body) {
+    return withBody(webClient.method(method)
+        .uri(path, parameters != null ? parameters : Map.of())
+        .headers(requestHeaders -> requestHeaders.addAll(headers)), body)
+        .exchangeToMono(response -> response.bodyToMono(byte[].class)
+            .defaultIfEmpty(EMPTY_BODY)
+            .map(bytes -> ResponseEntity.status(response.rawStatusCode())
+                .headers(RelayHeaders.of(response.headers().asHttpHeaders()))
+                .body(bytes)));
+  }
+
+  @Override
+  public Mono<ResponseEntity<Flux<DataBuffer>>> stream(String path, HttpHeaders headers,
+      Map<String, Object> parameters) {
+    return webClient.get()
+        .uri(path, parameters)
+        .headers(requestHeaders -> requestHeaders.addAll(headers))
+        .retrieve()
+        .onStatus(status -> true, response -> Mono.empty())
+        .toEntityFlux(DataBuffer.class)
+        .map(response -> ResponseEntity.status(response.getStatusCodeValue())
+            .headers(RelayHeaders.of(response.getHeaders()))
+            .body(response.getBody()));
+  }
+
+  @SuppressWarnings("unchecked")
+  private static RequestHeadersSpec<?> withBody(RequestBodySpec request, @Nullable Object body) {
+    if (body instanceof Publisher) {
+      return request.body(BodyInserters.fromDataBuffers((Publisher<DataBuffer>) body));
+    }
+    return body != null ? request.bodyValue(body) : request;
+  }
+
+}
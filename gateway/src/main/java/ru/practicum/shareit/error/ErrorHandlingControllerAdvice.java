@@ -3,12 +3,17 @@ package ru.practicum.shareit.error;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
+import org.springframework.beans.TypeMismatchException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.bind.support.WebExchangeBindException;
 import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
+import org.springframework.web.server.ServerWebInputException;
 
 @RestControllerAdvice
 public class ErrorHandlingControllerAdvice {
@@ -31,10 +36,45 @@ public class ErrorHandlingControllerAdvice {
     return new ApiError("Unknown state: " + ex.getValue().toString());
   }
 
+  @ResponseStatus(HttpStatus.BAD_REQUEST)
+  @ExceptionHandler(WebExchangeBindException.class)
+  public List<ApiError> handleValidationExceptions(WebExchangeBindException ex) {
+    List<ApiError> errorList = new ArrayList<>();
+    ex.getBindingResult().getAllErrors().forEach(error -> {
+      String errorMessage = error.getDefaultMessage();
+      errorList.add(new ApiError(
+          Objects.requireNonNull(ex.getFieldError()).getField() + ": " + errorMessage));
+    });
+    return errorList;
+  }
+
+  @ResponseStatus(HttpStatus.BAD_REQUEST)
+  @ExceptionHandler(ServerWebInputException.class)
+  public ApiError handleValidationExceptions(ServerWebInputException ex) {
+    if (ex.getCause() instanceof TypeMismatchException) {
+      return new ApiError("Unknown state: " + ((TypeMismatchException) ex.getCause()).getValue());
+    }
+    return new ApiError(ex.getReason());
+  }
+
   @ResponseStatus(HttpStatus.BAD_REQUEST)
   @ExceptionHandler(IllegalArgumentException.class)
   public ApiError handleValidationExceptions(IllegalArgumentException ex) {
     return new ApiError(ex.getMessage());
   }
 
+  @ExceptionHandler(TooManyRequestsException.class)
+  public ResponseEntity<ApiError> handleTooManyRequests(TooManyRequestsException ex) {
+    return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+        .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+        .body(new ApiError(ex.getMessage()));
+  }
+
+  @ExceptionHandler(UpstreamUnavailableException.class)
+  public ResponseEntity<ApiError> handleUpstreamUnavailable(UpstreamUnavailableException ex) {
+    return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+        .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+        .body(new ApiError(ex.getMessage()));
+  }
+
 }
@@ -0,0 +1,20 @@
+package ru.practicum.shareit.error;
+
+import java.time.Duration;
+import lombok.Getter;
+
+@Getter
+public class UpstreamUnavailableException extends RuntimeException {
+
+  private final Duration retryAfter;
+
+  public UpstreamUnavailableException(String message, Duration retryAfter) {
+    super(message);
+    this.retryAfter = retryAfter;
+  }
+
+  public long getRetryAfterSeconds() {
+    return Math.max(1, (retryAfter.toMillis() + 999) / 1000);
+  }
+
+}
@@ -1,14 +1,16 @@
 package ru.practicum.shareit.item;
 
+import java.time.LocalDateTime;
+import java.util.HashMap;
 import java.util.Map;
-import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.reactivestreams.Publisher;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
-import org.springframework.web.util.DefaultUriBuilderFactory;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.GatewayTransportFactory;
 import ru.practicum.shareit.item.dto.CommentRequestDTO;
 import ru.practicum.shareit.item.dto.ItemDTO;
 
@@ -17,36 +19,54 @@ public class ItemClient extends BaseClient {
 
   private static final String API_PREFIX = "/items";
 
-  @Autowired
-  public ItemClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
-    super(builder.uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-        .requestFactory(HttpComponentsClientHttpRequestFactory::new).build());
+  public ItemClient(GatewayTransportFactory transports) {
+    super(transports.create(API_PREFIX));
   }
 
-  public ResponseEntity<Object> add(long userId, ItemDTO item) {
+  public Mono<ResponseEntity<Object>> add(long userId, ItemDTO item) {
     return post("", userId, item);
   }
 
-  public ResponseEntity<Object> edit(long userId, Long itemId, ItemDTO item) {
+  public Mono<ResponseEntity<Object>> importItems(long userId, MediaType contentType,
+      Publisher<DataBuffer> body) {
+    return postStream("/bulk", userId, contentType, body);
+  }
+
+  public Mono<ResponseEntity<Object>> edit(long userId, Long itemId, ItemDTO item) {
     return patch("/" + itemId, userId, item);
   }
 
-  public ResponseEntity<Object> getById(long userId, Long itemId) {
+  public Mono<ResponseEntity<Object>> getById(long userId, Long itemId) {
     return get("/" + itemId, userId);
   }
 
-  public ResponseEntity<Object> getUserItems(long userId, Integer from, Integer size) {
-    Map<String, Object> params = Map.of("from", from, "size", size);
-    return get("?from={from}&size={size}", userId, params);
+  public Mono<ResponseEntity<Object>> getUserItems(long userId, Integer from, Integer size,
+      String cursor) {
+    Map<String, Object> params = new HashMap<>(Map.of("from", from, "size", size));
+    return get(withCursor("?from={from}&size={size}", params, cursor), userId, params);
+  }
+
+
+  public Mono<ResponseEntity<Object>> search(String text, Integer from, Integer size, boolean fuzzy,
+      String cursor) {
+    Map<String, Object> params = new HashMap<>(Map.of("text", text, "from", from, "size", size,
+        "fuzzy", fuzzy));
+    return get(withCursor("/search?text={text}&from={from}&size={size}&fuzzy={fuzzy}", params,
+        cursor), null, params);
   }
 
+  public Mono<ResponseEntity<Object>> suggest(String prefix, Integer size) {
+    Map<String, Object> params = Map.of("prefix", prefix, "size", size);
+    return get("/suggest?prefix={prefix}&size={size}", null, params);
+  }
 
-  public ResponseEntity<Object> search(String text, Integer from, Integer size) {
-    Map<String, Object> params = Map.of("text", text, "from", from, "size", size);
-    return get("/search?text={text}&from={from}&size={size}", null, params);
+  public Mono<ResponseEntity<Object>> getAvailability(Long itemId, LocalDateTime from,
+      LocalDateTime to) {
+    Map<String, Object> params = Map.of("from", from, "to", to);
+    return get("/" + itemId + "/availability?from={from}&to={to}", null, params);
   }
 
-  public ResponseEntity<Object> comment(long userId, Long itemId, CommentRequestDTO text) {
+  public Mono<ResponseEntity<Object>> comment(long userId, Long itemId, CommentRequestDTO text) {
     return post("/" + itemId + "/comment", userId, text);
   }
 
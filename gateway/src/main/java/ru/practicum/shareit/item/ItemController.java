@@ -1,7 +1,10 @@
 package ru.practicum.shareit.item;
 
+import java.time.LocalDateTime;
 import javax.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.format.annotation.DateTimeFormat.ISO;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PatchMapping;
@@ -12,6 +15,7 @@ import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.item.dto.CommentRequestDTO;
 import ru.practicum.shareit.item.dto.ItemDTO;
 
@@ -24,14 +28,14 @@ public class ItemController {
   private static final String REQUEST_HEADER_USER_ID = "X-Sharer-User-Id";
 
   @PostMapping
-  public ResponseEntity<Object> add(
+  public Mono<ResponseEntity<Object>> add(
       @RequestHeader(REQUEST_HEADER_USER_ID) long userId,
       @Valid @RequestBody ItemDTO item) {
     return itemClient.add(userId, item);
   }
 
   @PatchMapping("/{itemId}")
-  public ResponseEntity<Object> edit(
+  public Mono<ResponseEntity<Object>> edit(
       @RequestHeader(REQUEST_HEADER_USER_ID) long userId,
       @PathVariable Long itemId,
       @RequestBody ItemDTO item) {
@@ -39,32 +43,55 @@ public class ItemController {
   }
 
   @GetMapping("/{itemId}")
-  public ResponseEntity<Object> getById(
+  public Mono<ResponseEntity<Object>> getById(
       @RequestHeader(REQUEST_HEADER_USER_ID) long userId,
       @PathVariable Long itemId) {
     return itemClient.getById(userId, itemId);
   }
 
   @GetMapping
-  public ResponseEntity<Object> getUserItems(
+  public Mono<ResponseEntity<Object>> getUserItems(
       @RequestHeader(REQUEST_HEADER_USER_ID) long userId,
       @RequestParam(required = false, defaultValue = "0") final Integer from,
-      @RequestParam(required = false, defaultValue = "10") final Integer size
+      @RequestParam(required = false, defaultValue = "10") final Integer size,
+      @RequestParam(required = false) final String cursor
   ) {
-    return itemClient.getUserItems(userId, from, size);
+    return itemClient.getUserItems(userId, from, size, cursor);
   }
 
   @GetMapping("/search")
-  public ResponseEntity<Object> search(
+  public Mono<ResponseEntity<Object>> search(
       @RequestParam String text,
       @RequestParam(required = false, defaultValue = "0") final Integer from,
+      @RequestParam(required = false, defaultValue = "10") final Integer size,
+      @RequestParam(required = false, defaultValue = "false") final boolean fuzzy,
+      @RequestParam(required = false) final String cursor
+  ) {
+    return itemClient.search(text, from, size, fuzzy, cursor);
+  }
+
+  @GetMapping("/{itemId}/availability")
+  public Mono<ResponseEntity<Object>> getAvailability(
+      @PathVariable Long itemId,
+      @RequestParam @DateTimeFormat(iso = ISO.DATE_TIME) final LocalDateTime from,
+      @RequestParam @DateTimeFormat(iso = ISO.DATE_TIME) final LocalDateTime to
+  ) {
+    if (!from.isBefore(to)) {
+      throw new IllegalArgumentException("Period start must be before its end");
+    }
+    return itemClient.getAvailability(itemId, from, to);
+  }
+
+  @GetMapping("/suggest")
+  public Mono<ResponseEntity<Object>> suggest(
+      @RequestParam String prefix,
       @RequestParam(required = false, defaultValue = "10") final Integer size
   ) {
-    return itemClient.search(text, from, size);
+    return itemClient.suggest(prefix, size);
   }
 
   @PostMapping("/{itemId}/comment")
-  public ResponseEntity<Object> comment(
+  public Mono<ResponseEntity<Object>> comment(
       @RequestHeader(REQUEST_HEADER_USER_ID) long userId,
       @PathVariable Long itemId,
       @RequestBody @Valid CommentRequestDTO text) {
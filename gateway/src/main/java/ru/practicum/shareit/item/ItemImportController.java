@@ -0,0 +1,37 @@
+package ru.practicum.shareit.item;
+
+import java.io.InputStream;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
+
+@RestController
+@RequestMapping("/items")
+@RequiredArgsConstructor
+@ConditionalOnWebApplication(type = Type.SERVLET)
+public class ItemImportController {
+
+  private final ItemClient itemClient;
+  private static final String REQUEST_HEADER_USER_ID = "X-Sharer-User-Id";
+  private static final int BUFFER_SIZE = 8192;
+
+  @PostMapping(value = "/bulk", consumes = {"application/x-ndjson", "text/csv"})
+  public Mono<ResponseEntity<Object>> importItems(
+      @RequestHeader(REQUEST_HEADER_USER_ID) long userId,
+      @RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType contentType,
+      InputStream body) {
+    return itemClient.importItems(userId, contentType, DataBufferUtils.readInputStream(
+        () -> body, DefaultDataBufferFactory.sharedInstance, BUFFER_SIZE));
+  }
+
+}
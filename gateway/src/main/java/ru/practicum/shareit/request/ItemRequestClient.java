@@ -1,14 +1,12 @@
 package ru.practicum.shareit.request;
 
+import java.util.HashMap;
 import java.util.Map;
-import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
-import org.springframework.web.util.DefaultUriBuilderFactory;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.GatewayTransportFactory;
 import ru.practicum.shareit.request.dto.RequestDTO;
 
 @Service
@@ -16,27 +14,25 @@ public class ItemRequestClient extends BaseClient {
 
   private static final String API_PREFIX = "/requests";
 
-  @Autowired
-  public ItemRequestClient(@Value("${shareit-server.url}") String serverUrl,
-      RestTemplateBuilder builder) {
-    super(builder.uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-        .requestFactory(HttpComponentsClientHttpRequestFactory::new).build());
+  public ItemRequestClient(GatewayTransportFactory transports) {
+    super(transports.create(API_PREFIX));
   }
 
-  public ResponseEntity<Object> create(Long userId, RequestDTO requestDTO) {
+  public Mono<ResponseEntity<Object>> create(Long userId, RequestDTO requestDTO) {
     return post("", userId, requestDTO);
   }
 
-  public ResponseEntity<Object> getSelfRequests(Long userId) {
+  public Mono<ResponseEntity<Object>> getSelfRequests(Long userId) {
     return get("", userId);
   }
 
-  public ResponseEntity<Object> getAll(Long userId, Integer from, Integer size) {
-    Map<String, Object> param = Map.of("from", from, "size", size);
-    return get("/all?from={from}&size={size}", userId, param);
+  public Mono<ResponseEntity<Object>> getAll(Long userId, Integer from, Integer size,
+      String cursor) {
+    Map<String, Object> param = new HashMap<>(Map.of("from", from, "size", size));
+    return get(withCursor("/all?from={from}&size={size}", param, cursor), userId, param);
   }
 
-  public ResponseEntity<Object> get(Long userId, Long requestId) {
+  public Mono<ResponseEntity<Object>> get(Long userId, Long requestId) {
     return get("/" + requestId, userId);
   }
 }
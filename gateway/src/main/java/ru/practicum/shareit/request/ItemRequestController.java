@@ -11,6 +11,7 @@ import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.request.dto.RequestDTO;
 
 @RestController
@@ -22,29 +23,30 @@ public class ItemRequestController {
   private static final String REQUEST_HEADER_USER_ID = "X-Sharer-User-Id";
 
   @PostMapping
-  public ResponseEntity<Object> create(
+  public Mono<ResponseEntity<Object>> create(
       @RequestHeader(REQUEST_HEADER_USER_ID) Long userId,
       @Valid @RequestBody final RequestDTO requestDTO) {
     return itemRequestClient.create(userId, requestDTO);
   }
 
   @GetMapping
-  public ResponseEntity<Object> getSelfRequests(
+  public Mono<ResponseEntity<Object>> getSelfRequests(
       @RequestHeader(REQUEST_HEADER_USER_ID) Long userId) {
     return itemRequestClient.getSelfRequests(userId);
   }
 
   @GetMapping("/all")
-  public ResponseEntity<Object> getAllRequests(
+  public Mono<ResponseEntity<Object>> getAllRequests(
       @RequestHeader(REQUEST_HEADER_USER_ID) Long userId,
       @RequestParam(required = false, defaultValue = "0") final Integer from,
-      @RequestParam(required = false, defaultValue = "10") final Integer size
+      @RequestParam(required = false, defaultValue = "10") final Integer size,
+      @RequestParam(required = false) final String cursor
   ) {
-    return itemRequestClient.getAll(userId, from, size);
+    return itemRequestClient.getAll(userId, from, size, cursor);
   }
 
   @GetMapping("/{requestId}")
-  public ResponseEntity<Object> getRequest(
+  public Mono<ResponseEntity<Object>> getRequest(
       @RequestHeader(REQUEST_HEADER_USER_ID) Long userId,
       @PathVariable("requestId") final Long requestId) {
     return itemRequestClient.get(userId, requestId);
@@ -1,13 +1,10 @@
 package ru.practicum.shareit.user;
 
-import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
-import org.springframework.web.util.DefaultUriBuilderFactory;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.GatewayTransportFactory;
 import ru.practicum.shareit.user.dto.UserDTO;
 
 @Service
@@ -15,29 +12,27 @@ public class UserClient extends BaseClient {
 
   private static final String API_PREFIX = "/users";
 
-  @Autowired
-  public UserClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
-    super(builder.uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-        .requestFactory(HttpComponentsClientHttpRequestFactory::new).build());
+  public UserClient(GatewayTransportFactory transports) {
+    super(transports.create(API_PREFIX));
   }
 
-  public ResponseEntity<Object> save(UserDTO user) {
+  public Mono<ResponseEntity<Object>> save(UserDTO user) {
     return post("", user);
   }
 
-  public ResponseEntity<Object> getById(Long id) {
+  public Mono<ResponseEntity<Object>> getById(Long id) {
     return get("/" + id);
   }
 
-  public ResponseEntity<Object> getAll() {
+  public Mono<ResponseEntity<Object>> getAll() {
     return get("");
   }
 
-  public ResponseEntity<Object> update(Long id, UserDTO user) {
+  public Mono<ResponseEntity<Object>> update(Long id, UserDTO user) {
     return patch("/" + id, user);
   }
 
-  public ResponseEntity<Object> deleteById(Long id) {
+  public Mono<ResponseEntity<Object>> deleteById(Long id) {
     return delete("/" + id);
   }
 }
@@ -13,6 +13,7 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.user.dto.UserDTO;
 
 @RestController
@@ -25,31 +26,31 @@ public class UserController {
   private final UserClient userClient;
 
   @GetMapping
-  public ResponseEntity<Object> getAll() {
+  public Mono<ResponseEntity<Object>> getAll() {
     log.info("GET /users");
     return userClient.getAll();
   }
 
   @GetMapping("/{id}")
-  public ResponseEntity<Object> getById(@PathVariable Long id) {
+  public Mono<ResponseEntity<Object>> getById(@PathVariable Long id) {
     log.info("GET /users/{id} with params: userId={}", id);
     return userClient.getById(id);
   }
 
   @PostMapping
-  public ResponseEntity<Object> save(@RequestBody @Valid UserDTO user) {
+  public Mono<ResponseEntity<Object>> save(@RequestBody @Valid UserDTO user) {
     log.info("POST /users with params: user={}", user);
     return userClient.save(user);
   }
 
   @PatchMapping("/{id}")
-  public ResponseEntity<Object> update(@PathVariable Long id, @RequestBody UserDTO user) {
+  public Mono<ResponseEntity<Object>> update(@PathVariable Long id, @RequestBody UserDTO user) {
     log.info("PATCH /users/{id} with params: user={}, userId={}", user, id);
     return userClient.update(id, user);
   }
 
   @DeleteMapping("/{id}")
-  public ResponseEntity<Object> delete(@PathVariable Long id) {
+  public Mono<ResponseEntity<Object>> delete(@PathVariable Long id) {
     log.info("DELETE /users/{id} with params: userId={}", id);
     return userClient.deleteById(id);
   }
@@ -0,0 +1,119 @@
+package ru.practicum.shareit.benchmark;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse.BodyHandlers;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 10)
+@Fork(value = 1, jvmArgs = "-Djdk.httpclient.connectionPoolSize=0")
+public class GatewayAdmissionBenchmark {
+
+  private static final int NOISY_REQUESTS = 300;
+  private static final int DATABASE_POOL = 10;
+  private static final Duration QUERY_TIME = Duration.ofMillis(10);
+  private static final byte[] BODY = "[]".getBytes(StandardCharsets.UTF_8);
+
+  @Param({"false", "true"})
+  private boolean limits;
+
+  private final Semaphore databasePool = new Semaphore(DATABASE_POOL, true);
+  private GatewayFixture gateway;
+  private HttpClient client;
+  private HttpRequest noisy;
+  private HttpRequest polite;
+  private long rejected;
+  private long politeNanos;
+  private int bursts;
+
+  @Setup
+  public void setUp() {
+    gateway = new GatewayFixture()
+        .stub(routes -> routes
+            .get("/items/search", (req, res) -> Mono.fromCallable(this::query)
+                .subscribeOn(Schedulers.boundedElastic())
+                .then(res.header("Content-Type", "application/json")
+                    .sendByteArray(Mono.just(BODY))
+                    .then())))
+        .rateLimit(limits)
+        .admission(limits)
+        .start();
+    client = HttpClient.newBuilder()
+        .version(HttpClient.Version.HTTP_1_1)
+        .executor(Executors.newFixedThreadPool(2))
+        .build();
+    noisy = gateway.request("/items/search?text=drill").header("X-Sharer-User-Id", "1").build();
+    polite = gateway.request("/items/search?text=drill").header("X-Sharer-User-Id", "2").build();
+  }
+
+  @TearDown
+  public void tearDown() {
+    System.out.printf("%nPolite user latency: %d ms, noisy requests rejected per burst: %d%n",
+        TimeUnit.NANOSECONDS.toMillis(politeNanos / bursts), rejected / bursts);
+    gateway.close();
+  }
+
+  @Benchmark
+  public int politeUserDuringBurst() {
+    List<CompletableFuture<Integer>> burst = new ArrayList<>(NOISY_REQUESTS);
+    for (int i = 0; i < NOISY_REQUESTS; i++) {
+      burst.add(client.sendAsync(noisy, BodyHandlers.discarding())
+          .thenApply(response -> response.statusCode()));
+    }
+    long startedAt = System.nanoTime();
+    int status = client.sendAsync(polite, BodyHandlers.discarding()).join().statusCode();
+    politeNanos += System.nanoTime() - startedAt;
+    for (CompletableFuture<Integer> response : burst) {
+      if (response.join() == 429) {
+        rejected++;
+      }
+    }
+    bursts++;
+    return status;
+  }
+
+  public static void main(String[] args) throws RunnerException {
+    new Runner(new OptionsBuilder()
+        .include(GatewayAdmissionBenchmark.class.getSimpleName())
+        .build()).run();
+  }
+
+  private Boolean query() throws InterruptedException {
+    databasePool.acquire();
+    try {
+      Thread.sleep(QUERY_TIME.toMillis());
+      return true;
+    } finally {
+      databasePool.release();
+    }
+  }
+
+}
@@ -0,0 +1,113 @@
+package ru.practicum.shareit.benchmark;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse.BodyHandlers;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import reactor.core.publisher.Mono;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 10)
+@Fork(value = 1, jvmArgs = "-Djdk.httpclient.connectionPoolSize=0")
+public class GatewayCoalescingBenchmark {
+
+  private static final int CONCURRENT_REQUESTS = 300;
+  private static final Duration SERVER_LATENCY = Duration.ofMillis(100);
+  private static final byte[] BODY = "{\"id\":1,\"name\":\"Дрель\"}"
+      .getBytes(StandardCharsets.UTF_8);
+
+  @Param({"false", "true"})
+  private boolean coalescing;
+
+  private final AtomicInteger upstreamCalls = new AtomicInteger();
+  private HttpClient client;
+  private GatewayFixture gateway;
+  private HttpRequest request;
+  private long totalUpstreamCalls;
+  private int bursts;
+
+  @Setup
+  public void setUp() {
+    client = HttpClient.newBuilder()
+        .version(HttpClient.Version.HTTP_1_1)
+        .executor(Executors.newFixedThreadPool(2))
+        .build();
+    gateway = new GatewayFixture()
+        .stub(routes -> routes
+            .get("/items/1", (req, res) -> {
+              upstreamCalls.incrementAndGet();
+              return Mono.delay(SERVER_LATENCY)
+                  .then(res.header("Content-Type", "application/json")
+                      .sendByteArray(Mono.just(BODY))
+                      .then());
+            }))
+        .coalescing(coalescing)
+        .start();
+    request = gateway.request("/items/1")
+        .header("X-Sharer-User-Id", "1")
+        .build();
+  }
+
+  @Setup(Level.Invocation)
+  public void resetCounters() {
+    upstreamCalls.set(0);
+  }
+
+  @TearDown(Level.Invocation)
+  public void collectCounters() {
+    totalUpstreamCalls += upstreamCalls.get();
+    bursts++;
+  }
+
+  @TearDown
+  public void tearDown() {
+    System.out.printf("%nUpstream calls per %d identical requests: %d%n", CONCURRENT_REQUESTS,
+        totalUpstreamCalls / bursts);
+    gateway.close();
+  }
+
+  @Benchmark
+  public int burst() {
+    List<CompletableFuture<Integer>> responses = new ArrayList<>(CONCURRENT_REQUESTS);
+    for (int i = 0; i < CONCURRENT_REQUESTS; i++) {
+      responses.add(client.sendAsync(request, BodyHandlers.discarding())
+          .thenApply(response -> response.statusCode()));
+    }
+    return responses.stream()
+        .mapToInt(CompletableFuture::join)
+        .sum();
+  }
+
+  public static void main(String[] args) throws RunnerException {
+    new Runner(new OptionsBuilder()
+        .include(GatewayCoalescingBenchmark.class.getSimpleName())
+        .build()).run();
+  }
+
+}
@@ -0,0 +1,131 @@
+package ru.practicum.shareit.benchmark;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.management.ThreadMXBean;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse.BodyHandlers;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import reactor.core.publisher.Mono;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgs = "-Djdk.httpclient.connectionPoolSize=0")
+public class GatewayConcurrencyBenchmark {
+
+  private static final int CONCURRENT_REQUESTS = 1000;
+  private static final Duration SERVER_LATENCY = Duration.ofMillis(500);
+  private static final byte[] BODY = "[]".getBytes(StandardCharsets.UTF_8);
+
+  @Param({"servlet", "reactive"})
+  private String mode;
+
+  private final ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+  private final MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+  private final AtomicInteger inFlight = new AtomicInteger();
+  private final AtomicInteger maxInFlight = new AtomicInteger();
+  private HttpClient client;
+  private GatewayFixture gateway;
+  private HttpRequest request;
+  private long heapBefore;
+  private long heapPerConnection;
+  private int peakInFlight;
+  private int bursts;
+
+  @Setup
+  public void setUp() {
+    client = HttpClient.newBuilder()
+        .version(HttpClient.Version.HTTP_1_1)
+        .executor(Executors.newFixedThreadPool(2))
+        .build();
+    gateway = new GatewayFixture()
+        .stub(routes -> routes
+            .get("/bookings/owner", (req, res) -> {
+              maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+              return Mono.delay(SERVER_LATENCY)
+                  .then(res.header("Content-Type", "application/json")
+                      .sendByteArray(Mono.just(BODY))
+                      .then())
+                  .doFinally(signal -> inFlight.decrementAndGet());
+            }))
+        .reactive("reactive".equals(mode))
+        .property("shareit-server.http.max-total", 2 * CONCURRENT_REQUESTS)
+        .property("shareit-server.http.max-per-route", 2 * CONCURRENT_REQUESTS)
+        .start();
+    request = gateway.request("/bookings/owner")
+        .header("X-Sharer-User-Id", "1")
+        .build();
+  }
+
+  @Setup(Level.Invocation)
+  public void resetCounters() {
+    maxInFlight.set(0);
+    threads.resetPeakThreadCount();
+    System.gc();
+    heapBefore = memory.getHeapMemoryUsage().getUsed();
+  }
+
+  @TearDown(Level.Invocation)
+  public void collectCounters() {
+    peakInFlight += maxInFlight.get();
+    bursts++;
+  }
+
+  @TearDown
+  public void tearDown() {
+    System.out.printf("%nUpstream requests in flight: %d, peak threads: %d, "
+            + "retained heap per connection: %d KB%n", peakInFlight / bursts,
+        threads.getPeakThreadCount(), heapPerConnection / bursts / 1024);
+    gateway.close();
+  }
+
+  @Benchmark
+  public int burst() throws InterruptedException {
+    List<CompletableFuture<Integer>> responses = new ArrayList<>(CONCURRENT_REQUESTS);
+    for (int i = 0; i < CONCURRENT_REQUESTS; i++) {
+      responses.add(client.sendAsync(request, BodyHandlers.discarding())
+          .thenApply(response -> response.statusCode()));
+    }
+    Thread.sleep(SERVER_LATENCY.toMillis() / 2);
+    System.gc();
+    heapPerConnection += (memory.getHeapMemoryUsage().getUsed() - heapBefore)
+        / CONCURRENT_REQUESTS;
+    return responses.stream()
+        .mapToInt(CompletableFuture::join)
+        .sum();
+  }
+
+  public static void main(String[] args) throws RunnerException {
+    new Runner(new OptionsBuilder()
+        .include(GatewayConcurrencyBenchmark.class.getSimpleName())
+        .build()).run();
+  }
+
+}
@@ -0,0 +1,104 @@
+package ru.practicum.shareit.benchmark;
+
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+import reactor.netty.http.server.HttpServerRoutes;
+import ru.practicum.shareit.ShareItGateway;
+
+class GatewayFixture implements AutoCloseable {
+
+  private final List<DisposableServer> stubs = new ArrayList<>();
+  private final Map<String, Object> properties = new LinkedHashMap<>();
+  private ConfigurableApplicationContext context;
+  private URI gateway;
+
+  GatewayFixture() {
+    cache(false);
+    coalescing(false);
+    rateLimit(false);
+    admission(false);
+    resilience(false);
+    hedging(false);
+    property("logging.level.ru.practicum.shareit", "warn");
+    property("logging.level.org.springframework.web.client.RestTemplate", "info");
+  }
+
+  GatewayFixture stub(Consumer<? super HttpServerRoutes> routes) {
+    stubs.add(HttpServer.create()
+        .host("localhost")
+        .port(0)
+        .route(routes)
+        .bindNow());
+    return this;
+  }
+
+  GatewayFixture cache(boolean enabled) {
+    return property("shareit-server.cache.enabled", enabled);
+  }
+
+  GatewayFixture coalescing(boolean enabled) {
+    return property("shareit-server.coalescing.enabled", enabled);
+  }
+
+  GatewayFixture rateLimit(boolean enabled) {
+    return property("shareit-server.rate-limit.enabled", enabled);
+  }
+
+  GatewayFixture admission(boolean enabled) {
+    return property("shareit-server.admission.enabled", enabled);
+  }
+
+  GatewayFixture resilience(boolean enabled) {
+    return property("shareit-server.resilience.enabled", enabled);
+  }
+
+  GatewayFixture hedging(boolean enabled) {
+    return property("shareit-server.hedging.enabled", enabled);
+  }
+
+  GatewayFixture reactive(boolean enabled) {
+    return property("spring.profiles.active", enabled ? "reactive" : "default");
+  }
+
+  GatewayFixture property(String name, Object value) {
+    properties.put(name, value);
+    return this;
+  }
+
+  GatewayFixture start() {
+    List<String> args = new ArrayList<>();
+    args.add("--server.port=0");
+    args.add("--shareit-server.balancer.instances=" + stubs.stream()
+        .map(stub -> "http://localhost:" + stub.port())
+        .collect(Collectors.joining(",")));
+    properties.forEach((name, value) -> args.add("--" + name + "=" + value));
+    context = SpringApplication.run(ShareItGateway.class, args.toArray(String[]::new));
+    int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+    gateway = URI.create("http://localhost:" + port);
+    return this;
+  }
+
+  HttpRequest.Builder request(String path) {
+    return HttpRequest.newBuilder(gateway.resolve(path));
+  }
+
+  @Override
+  public void close() {
+    if (context != null) {
+      context.close();
+    }
+    stubs.forEach(DisposableServer::disposeNow);
+  }
+
+}
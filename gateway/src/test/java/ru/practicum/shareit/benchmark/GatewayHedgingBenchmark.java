@@ -0,0 +1,92 @@
+package ru.practicum.shareit.benchmark;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse.BodyHandlers;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import reactor.core.publisher.Mono;
+import reactor.netty.http.server.HttpServerRoutes;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 10)
+@Fork(1)
+public class GatewayHedgingBenchmark {
+
+  private static final Duration FAST = Duration.ofMillis(5);
+  private static final Duration STALL = Duration.ofMillis(250);
+  private static final double STALL_RATE = 0.03;
+  private static final byte[] BODY = "[]".getBytes(StandardCharsets.UTF_8);
+
+  @Param({"false", "true"})
+  private boolean hedging;
+
+  private GatewayFixture gateway;
+  private HttpClient client;
+  private HttpRequest request;
+
+  @Setup
+  public void setUp() {
+    client = HttpClient.newHttpClient();
+    gateway = new GatewayFixture()
+        .stub(GatewayHedgingBenchmark::routes)
+        .stub(GatewayHedgingBenchmark::routes)
+        .hedging(hedging)
+        .property("shareit-server.hedging.min-samples", 50)
+        .start();
+    request = gateway.request("/bookings")
+        .header("X-Sharer-User-Id", "1")
+        .build();
+  }
+
+  @TearDown
+  public void tearDown() {
+    gateway.close();
+  }
+
+  @Benchmark
+  public int getBookings() throws Exception {
+    return client.send(request, BodyHandlers.discarding()).statusCode();
+  }
+
+  public static void main(String[] args) throws RunnerException {
+    new Runner(new OptionsBuilder()
+        .include(GatewayHedgingBenchmark.class.getSimpleName())
+        .build()).run();
+  }
+
+  private static void routes(HttpServerRoutes routes) {
+    routes
+        .get("/actuator/health", (req, res) -> res.status(200).send())
+        .get("/bookings", (req, res) -> {
+          Duration latency = ThreadLocalRandom.current().nextDouble() < STALL_RATE
+              ? STALL
+              : FAST;
+          return Mono.delay(latency)
+              .then(res.header("Content-Type", "application/json")
+                  .sendByteArray(Mono.just(BODY))
+                  .then());
+        });
+  }
+
+}
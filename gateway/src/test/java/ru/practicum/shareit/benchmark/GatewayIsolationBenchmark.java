@@ -0,0 +1,108 @@
+package ru.practicum.shareit.benchmark;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse.BodyHandlers;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import reactor.core.publisher.Mono;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 10)
+@Fork(value = 1, jvmArgs = "-Djdk.httpclient.connectionPoolSize=0")
+public class GatewayIsolationBenchmark {
+
+  private static final int BOOKING_REQUESTS = 300;
+  private static final Duration SLOW_QUERY = Duration.ofSeconds(2);
+  private static final byte[] BODY = "[]".getBytes(StandardCharsets.UTF_8);
+
+  @Param({"false", "true"})
+  private boolean isolation;
+
+  private GatewayFixture gateway;
+  private HttpClient client;
+  private HttpRequest bookings;
+  private HttpRequest user;
+  private long rejected;
+  private long userNanos;
+  private int bursts;
+
+  @Setup
+  public void setUp() {
+    gateway = new GatewayFixture()
+        .stub(routes -> routes
+            .get("/bookings/owner", (req, res) -> Mono.delay(SLOW_QUERY)
+                .then(res.header("Content-Type", "application/json")
+                    .sendByteArray(Mono.just(BODY))
+                    .then()))
+            .get("/users/1", (req, res) -> res.header("Content-Type", "application/json")
+                .sendByteArray(Mono.just(BODY))
+                .then()))
+        .resilience(isolation)
+        .start();
+    client = HttpClient.newBuilder()
+        .version(HttpClient.Version.HTTP_1_1)
+        .executor(Executors.newFixedThreadPool(2))
+        .build();
+    bookings = gateway.request("/bookings/owner")
+        .header("X-Sharer-User-Id", "1")
+        .build();
+    user = gateway.request("/users/1").build();
+  }
+
+  @TearDown
+  public void tearDown() {
+    System.out.printf("%nGET /users/1 latency: %d ms, bookings rejected per burst: %d%n",
+        TimeUnit.NANOSECONDS.toMillis(userNanos / bursts), rejected / bursts);
+    gateway.close();
+  }
+
+  @Benchmark
+  public int userDuringSlowBookings() {
+    List<CompletableFuture<Integer>> burst = new ArrayList<>(BOOKING_REQUESTS);
+    for (int i = 0; i < BOOKING_REQUESTS; i++) {
+      burst.add(client.sendAsync(bookings, BodyHandlers.discarding())
+          .thenApply(response -> response.statusCode()));
+    }
+    long startedAt = System.nanoTime();
+    int status = client.sendAsync(user, BodyHandlers.discarding()).join().statusCode();
+    userNanos += System.nanoTime() - startedAt;
+    for (CompletableFuture<Integer> response : burst) {
+      if (response.join() == 503) {
+        rejected++;
+      }
+    }
+    bursts++;
+    return status;
+  }
+
+  public static void main(String[] args) throws RunnerException {
+    new Runner(new OptionsBuilder()
+        .include(GatewayIsolationBenchmark.class.getSimpleName())
+        .build()).run();
+  }
+
+}
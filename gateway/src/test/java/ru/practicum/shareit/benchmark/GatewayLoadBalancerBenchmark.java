@@ -0,0 +1,143 @@
+package ru.practicum.shareit.benchmark;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse.BodyHandlers;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import reactor.core.publisher.Mono;
+import reactor.netty.http.server.HttpServerRoutes;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 10)
+@Fork(value = 1, jvmArgs = "-Djdk.httpclient.connectionPoolSize=0")
+public class GatewayLoadBalancerBenchmark {
+
+  private static final int CONCURRENT_REQUESTS = 300;
+  private static final Duration FAST = Duration.ofMillis(10);
+  private static final Duration SLOW = Duration.ofMillis(200);
+  private static final byte[] BODY = "[]".getBytes(StandardCharsets.UTF_8);
+
+  @Param({"single", "slow-node", "failed-node"})
+  private String scenario;
+
+  private final List<AtomicInteger> served = new ArrayList<>();
+  private final List<Long> servedTotal = new ArrayList<>();
+  private GatewayFixture gateway;
+  private HttpClient client;
+  private HttpRequest request;
+  private long errors;
+  private int bursts;
+
+  @Setup
+  public void setUp() {
+    client = HttpClient.newBuilder()
+        .version(HttpClient.Version.HTTP_1_1)
+        .executor(Executors.newFixedThreadPool(2))
+        .build();
+    gateway = new GatewayFixture()
+        .property("shareit-server.balancer.health-check-interval", "200ms");
+    int nodes = "single".equals(scenario) ? 1 : 3;
+    for (int i = 0; i < nodes; i++) {
+      boolean degraded = i == nodes - 1 && !"single".equals(scenario);
+      gateway.stub(routes(degraded));
+    }
+    gateway.start();
+    request = gateway.request("/bookings/owner")
+        .header("X-Sharer-User-Id", "1")
+        .build();
+  }
+
+  @Setup(Level.Invocation)
+  public void resetCounters() {
+    served.forEach(counter -> counter.set(0));
+  }
+
+  @TearDown(Level.Invocation)
+  public void collectCounters() {
+    for (int i = 0; i < served.size(); i++) {
+      servedTotal.set(i, servedTotal.get(i) + served.get(i).get());
+    }
+    bursts++;
+  }
+
+  @TearDown
+  public void tearDown() {
+    System.out.printf("%nRequests per instance per burst: %s, failed requests per burst: %d%n",
+        servedTotal.stream().map(total -> String.valueOf(total / bursts))
+            .collect(Collectors.joining(" / ")), errors / bursts);
+    gateway.close();
+  }
+
+  @Benchmark
+  public int burst() {
+    List<CompletableFuture<Integer>> responses = new ArrayList<>(CONCURRENT_REQUESTS);
+    for (int i = 0; i < CONCURRENT_REQUESTS; i++) {
+      responses.add(client.sendAsync(request, BodyHandlers.discarding())
+          .thenApply(response -> response.statusCode()));
+    }
+    int ok = 0;
+    for (CompletableFuture<Integer> response : responses) {
+      if (response.join() == 200) {
+        ok++;
+      } else {
+        errors++;
+      }
+    }
+    return ok;
+  }
+
+  public static void main(String[] args) throws RunnerException {
+    new Runner(new OptionsBuilder()
+        .include(GatewayLoadBalancerBenchmark.class.getSimpleName())
+        .build()).run();
+  }
+
+  private Consumer<HttpServerRoutes> routes(boolean degraded) {
+    AtomicInteger counter = new AtomicInteger();
+    served.add(counter);
+    servedTotal.add(0L);
+    boolean failed = degraded && "failed-node".equals(scenario);
+    Duration latency = degraded && "slow-node".equals(scenario) ? SLOW : FAST;
+    return routes -> routes
+        .get("/actuator/health", (req, res) -> res.status(failed ? 503 : 200).send())
+        .get("/bookings/owner", (req, res) -> {
+          counter.incrementAndGet();
+          if (failed) {
+            return res.status(503).send();
+          }
+          return Mono.delay(latency)
+              .then(res.header("Content-Type", "application/json")
+                  .sendByteArray(Mono.just(BODY))
+                  .then());
+        });
+  }
+
+}
@@ -0,0 +1,124 @@
+package ru.practicum.shareit.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.sun.management.OperatingSystemMXBean;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse.BodyHandlers;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import reactor.core.publisher.Mono;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GatewayProxyBenchmark {
+
+  @Param({"10", "100", "1000"})
+  private int bookings;
+
+  @Param({"json", "cbor"})
+  private String wire;
+
+  private final OperatingSystemMXBean os = ManagementFactory.getPlatformMXBean(
+      OperatingSystemMXBean.class);
+  private final HttpClient client = HttpClient.newHttpClient();
+  private final AtomicLong wireBytes = new AtomicLong();
+  private GatewayFixture gateway;
+  private HttpRequest request;
+  private long cpuTime;
+  private long requests;
+
+  @Setup
+  public void setUp() throws IOException {
+    byte[] json = new ObjectMapper().writeValueAsBytes(bookings());
+    byte[] cbor = new ObjectMapper(new CBORFactory()).writeValueAsBytes(bookings());
+    gateway = new GatewayFixture()
+        .stub(routes -> routes
+            .get("/bookings/owner", (req, res) -> {
+              String accept = req.requestHeaders().get("Accept");
+              boolean binary = accept != null && accept.startsWith("application/cbor");
+              byte[] body = binary ? cbor : json;
+              wireBytes.addAndGet(body.length);
+              return res.header("Content-Type", binary ? "application/cbor" : "application/json")
+                  .sendByteArray(Mono.just(body))
+                  .then();
+            }))
+        .property("shareit-server.http.wire-format", wire)
+        .start();
+    request = gateway.request("/bookings/owner")
+        .header("X-Sharer-User-Id", "1")
+        .build();
+  }
+
+  @Setup(Level.Iteration)
+  public void resetCpuTime() {
+    cpuTime = 0;
+    requests = 0;
+    wireBytes.set(0);
+  }
+
+  @TearDown
+  public void tearDown() {
+    System.out.printf("%nProcess CPU per request: %d us, bytes on the wire: %d%n",
+        TimeUnit.NANOSECONDS.toMicros(cpuTime / requests), wireBytes.get() / requests);
+    gateway.close();
+  }
+
+  @Benchmark
+  public int ownerBookings() throws Exception {
+    long before = os.getProcessCpuTime();
+    int status = client.send(request, BodyHandlers.discarding()).statusCode();
+    cpuTime += os.getProcessCpuTime() - before;
+    requests++;
+    return status;
+  }
+
+  public static void main(String[] args) throws RunnerException {
+    new Runner(new OptionsBuilder()
+        .include(GatewayProxyBenchmark.class.getSimpleName())
+        .build()).run();
+  }
+
+  private List<Map<String, Object>> bookings() {
+    LocalDateTime start = LocalDateTime.of(2030, 1, 1, 10, 0);
+    List<Map<String, Object>> result = new ArrayList<>(bookings);
+    for (int i = 0; i < bookings; i++) {
+      result.add(Map.of(
+          "id", i,
+          "start", start.plusHours(i).toString(),
+          "end", start.plusHours(i).plusMinutes(30).toString(),
+          "status", "APPROVED",
+          "booker", Map.of("id", 2),
+          "item", Map.of("id", 3, "name", "Дрель ударная")));
+    }
+    return result;
+  }
+
+}
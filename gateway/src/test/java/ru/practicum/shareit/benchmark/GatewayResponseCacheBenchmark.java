@@ -0,0 +1,113 @@
+package ru.practicum.shareit.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse.BodyHandlers;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import reactor.core.publisher.Mono;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GatewayResponseCacheBenchmark {
+
+  private static final String ETAG = "\"0a1b2c3d\"";
+  private static final int ITEMS = 100;
+
+  @Param({"off", "ttl", "revalidate"})
+  private String cache;
+
+  private final HttpClient client = HttpClient.newHttpClient();
+  private final AtomicLong upstreamCalls = new AtomicLong();
+  private final AtomicLong upstreamBytes = new AtomicLong();
+  private GatewayFixture gateway;
+  private HttpRequest request;
+  private long requests;
+
+  @Setup
+  public void setUp() throws IOException {
+    byte[] body = new ObjectMapper().writeValueAsBytes(items());
+    gateway = new GatewayFixture()
+        .stub(routes -> routes
+            .get("/items/search", (req, res) -> {
+              upstreamCalls.incrementAndGet();
+              res.header("ETag", ETAG);
+              if (ETAG.equals(req.requestHeaders().get("If-None-Match"))) {
+                return res.status(304).send();
+              }
+              upstreamBytes.addAndGet(body.length);
+              return res.header("Content-Type", "application/json")
+                  .sendByteArray(Mono.just(body))
+                  .then();
+            }))
+        .cache(!"off".equals(cache))
+        .property("shareit-server.cache.routes[/items/search]",
+            "revalidate".equals(cache) ? "0s" : "30s")
+        .start();
+    request = gateway.request("/items/search?text=drill").build();
+  }
+
+  @Setup(Level.Iteration)
+  public void resetCounters() {
+    upstreamCalls.set(0);
+    upstreamBytes.set(0);
+    requests = 0;
+  }
+
+  @TearDown
+  public void tearDown() {
+    System.out.printf("%nUpstream calls per request: %.3f, upstream body bytes per request: %d%n",
+        (double) upstreamCalls.get() / requests, upstreamBytes.get() / requests);
+    gateway.close();
+  }
+
+  @Benchmark
+  public int search() throws Exception {
+    requests++;
+    return client.send(request, BodyHandlers.discarding()).statusCode();
+  }
+
+  public static void main(String[] args) throws RunnerException {
+    new Runner(new OptionsBuilder()
+        .include(GatewayResponseCacheBenchmark.class.getSimpleName())
+        .build()).run();
+  }
+
+  private List<Map<String, Object>> items() {
+    List<Map<String, Object>> result = new ArrayList<>(ITEMS);
+    for (int i = 0; i < ITEMS; i++) {
+      result.add(Map.of(
+          "id", i,
+          "name", "Дрель " + i,
+          "description", "Ударная дрель с набором сверл",
+          "available", true));
+    }
+    return result;
+  }
+
+}
@@ -0,0 +1,78 @@
+package ru.practicum.shareit.client;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import ru.practicum.shareit.error.UpstreamUnavailableException;
+
+public class BulkheadTransportTest {
+
+  private final MeterRegistry registry = new SimpleMeterRegistry();
+  private final GatewayTransport delegate = mock(GatewayTransport.class);
+  private final List<Sinks.Many<DataBuffer>> bodies = new ArrayList<>();
+  private final BulkheadTransport transport = new BulkheadTransport(delegate, "/bookings", 2,
+      registry);
+
+  @Test
+  void openStreamsHoldPermitsUntilBodyEnds() {
+    when(delegate.stream(any(), any(), any())).thenAnswer(invocation -> {
+      Sinks.Many<DataBuffer> body = Sinks.many().unicast().onBackpressureBuffer();
+      bodies.add(body);
+      return Mono.just(ResponseEntity.ok(body.asFlux()));
+    });
+    when(delegate.exchange(any(), any(), any(), any(), any()))
+        .thenReturn(Mono.just(ResponseEntity.ok("ok")));
+
+    Disposable first = stream().getBody().subscribe();
+    stream().getBody().subscribe();
+
+    assertThrows(UpstreamUnavailableException.class, this::stream);
+    assertThrows(UpstreamUnavailableException.class, () -> transport.exchange(HttpMethod.GET,
+        "", new HttpHeaders(), null, null).block());
+    assertThat(inFlight()).isEqualTo(2);
+
+    bodies.get(1).tryEmitComplete();
+    first.dispose();
+
+    assertThat(inFlight()).isZero();
+    assertThat(transport.exchange(HttpMethod.GET, "", new HttpHeaders(), null, null).block()
+        .getBody()).isEqualTo("ok");
+  }
+
+  @Test
+  void failedStreamReturnsItsPermit() {
+    when(delegate.stream(any(), any(), any()))
+        .thenReturn(Mono.error(new IllegalStateException("down")));
+
+    for (int i = 0; i < 3; i++) {
+      assertThrows(IllegalStateException.class, this::stream);
+    }
+    assertThat(inFlight()).isZero();
+  }
+
+  private ResponseEntity<Flux<DataBuffer>> stream() {
+    return transport.stream("/owner/export", new HttpHeaders(), Map.of()).block();
+  }
+
+  private double inFlight() {
+    return registry.get("shareit.gateway.bulkhead.in-flight").gauge().value();
+  }
+
+}
@@ -0,0 +1,86 @@
+package ru.practicum.shareit.client;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import reactor.core.publisher.Mono;
+
+public class CachingTransportTest {
+
+  private static final byte[] BODY = "{\"id\":1}".getBytes(StandardCharsets.UTF_8);
+
+  private final MeterRegistry registry = new SimpleMeterRegistry();
+  private final ResponseCache cache = new ResponseCache(new ResponseCacheProperties(), registry);
+  private final GatewayTransport items = mock(GatewayTransport.class);
+  private final GatewayTransport bookings = mock(GatewayTransport.class);
+
+  @Test
+  void staleEntryIsRefreshedByNotModified() {
+    CachingTransport transport = new CachingTransport(items, "/items", cache,
+        Map.of("/items/*", Duration.ZERO), List.of(), registry);
+    HttpHeaders etag = new HttpHeaders();
+    etag.setETag("\"v1\"");
+    when(items.exchange(eq(HttpMethod.GET), eq("/1"), any(), isNull(), isNull()))
+        .thenReturn(Mono.just(new ResponseEntity<>(BODY, etag, HttpStatus.OK)),
+            Mono.just(new ResponseEntity<>(HttpStatus.NOT_MODIFIED)));
+
+    ResponseEntity<Object> first = get(transport, "/1");
+    ResponseEntity<Object> second = get(transport, "/1");
+
+    ArgumentCaptor<HttpHeaders> headers = ArgumentCaptor.forClass(HttpHeaders.class);
+    verify(items, times(2)).exchange(eq(HttpMethod.GET), eq("/1"), headers.capture(), isNull(),
+        isNull());
+    assertThat(headers.getAllValues().get(1).getIfNoneMatch()).containsExactly("\"v1\"");
+    assertThat(second.getStatusCode()).isEqualTo(HttpStatus.OK);
+    assertThat(second.getBody()).isSameAs(first.getBody());
+  }
+
+  @Test
+  void writeEvictsOwnAndRelatedClients() {
+    CachingTransport itemTransport = new CachingTransport(items, "/items", cache,
+        Map.of("/items/*", Duration.ofMinutes(1)), List.of(), registry);
+    CachingTransport bookingTransport = new CachingTransport(bookings, "/bookings", cache,
+        Map.of("/bookings/*", Duration.ofMinutes(1)), List.of("/items"), registry);
+    when(items.exchange(eq(HttpMethod.GET), any(), any(), isNull(), isNull()))
+        .thenReturn(Mono.just(new ResponseEntity<>(BODY, HttpStatus.OK)));
+    when(bookings.exchange(eq(HttpMethod.GET), any(), any(), isNull(), isNull()))
+        .thenReturn(Mono.just(new ResponseEntity<>(BODY, HttpStatus.OK)));
+    when(bookings.exchange(eq(HttpMethod.PATCH), any(), any(), any(), isNull()))
+        .thenReturn(Mono.just(new ResponseEntity<>(BODY, HttpStatus.OK)));
+
+    get(itemTransport, "/1");
+    get(itemTransport, "/1");
+    get(bookingTransport, "/2");
+    bookingTransport.exchange(HttpMethod.PATCH, "/2", new HttpHeaders(),
+        Map.of("approved", true), null).block();
+    get(itemTransport, "/1");
+    get(bookingTransport, "/2");
+
+    verify(items, times(2)).exchange(eq(HttpMethod.GET), eq("/1"), any(), isNull(), isNull());
+    verify(bookings, times(2)).exchange(eq(HttpMethod.GET), eq("/2"), any(), isNull(),
+        isNull());
+  }
+
+  private static ResponseEntity<Object> get(GatewayTransport transport, String path) {
+    return transport.exchange(HttpMethod.GET, path, new HttpHeaders(), null, null).block();
+  }
+
+}
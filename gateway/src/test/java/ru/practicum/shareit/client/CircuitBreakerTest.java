@@ -0,0 +1,121 @@
+package ru.practicum.shareit.client;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.Optional;
+import org.junit.jupiter.api.Test;
+
+public class CircuitBreakerTest {
+
+  private static final Duration WAIT_IN_OPEN = Duration.ofMillis(50);
+
+  private final MeterRegistry registry = new SimpleMeterRegistry();
+  private final CircuitBreaker breaker = new CircuitBreaker("/items", properties(), registry);
+
+  @Test
+  void opensOnFailureRateAndClosesAfterSuccessfulProbes() throws InterruptedException {
+    succeed();
+    succeed();
+    fail();
+    assertThat(state()).isEqualTo(CircuitBreaker.State.CLOSED);
+    fail();
+    assertThat(state()).isEqualTo(CircuitBreaker.State.OPEN);
+    assertThat(breaker.tryAcquire()).isEmpty();
+    assertThat(breaker.retryAfter()).isPositive();
+
+    Thread.sleep(WAIT_IN_OPEN.toMillis() * 2);
+    CircuitBreaker.Permit first = breaker.tryAcquire().orElseThrow();
+    CircuitBreaker.Permit second = breaker.tryAcquire().orElseThrow();
+    assertThat(state()).isEqualTo(CircuitBreaker.State.HALF_OPEN);
+    assertThat(breaker.tryAcquire()).isEmpty();
+
+    first.onSuccess();
+    assertThat(state()).isEqualTo(CircuitBreaker.State.HALF_OPEN);
+    second.onSuccess();
+    assertThat(state()).isEqualTo(CircuitBreaker.State.CLOSED);
+    assertThat(breaker.tryAcquire()).isPresent();
+  }
+
+  @Test
+  void failedProbeReopens() throws InterruptedException {
+    open();
+    Thread.sleep(WAIT_IN_OPEN.toMillis() * 2);
+
+    breaker.tryAcquire().orElseThrow().onFailure();
+
+    assertThat(state()).isEqualTo(CircuitBreaker.State.OPEN);
+    assertThat(breaker.tryAcquire()).isEmpty();
+  }
+
+  @Test
+  void cancelledProbeReturnsItsPermit() throws InterruptedException {
+    open();
+    Thread.sleep(WAIT_IN_OPEN.toMillis() * 2);
+    CircuitBreaker.Permit first = breaker.tryAcquire().orElseThrow();
+    CircuitBreaker.Permit second = breaker.tryAcquire().orElseThrow();
+    assertThat(breaker.tryAcquire()).isEmpty();
+
+    first.onCancel();
+    first.onCancel();
+    first.onSuccess();
+    CircuitBreaker.Permit third = breaker.tryAcquire().orElseThrow();
+    assertThat(breaker.tryAcquire()).isEmpty();
+
+    second.onSuccess();
+    third.onSuccess();
+    assertThat(state()).isEqualTo(CircuitBreaker.State.CLOSED);
+  }
+
+  @Test
+  void resultsOfCallsStartedInPreviousStateAreIgnored() throws InterruptedException {
+    CircuitBreaker.Permit stale = breaker.tryAcquire().orElseThrow();
+    open();
+    Thread.sleep(WAIT_IN_OPEN.toMillis() * 2);
+    CircuitBreaker.Permit probe = breaker.tryAcquire().orElseThrow();
+
+    stale.onFailure();
+
+    assertThat(state()).isEqualTo(CircuitBreaker.State.HALF_OPEN);
+    probe.onSuccess();
+    assertThat(state()).isEqualTo(CircuitBreaker.State.HALF_OPEN);
+  }
+
+  private void open() {
+    for (int i = 0; i < 4; i++) {
+      fail();
+    }
+    assertThat(state()).isEqualTo(CircuitBreaker.State.OPEN);
+  }
+
+  private void succeed() {
+    breaker.tryAcquire().orElseThrow().onSuccess();
+  }
+
+  private void fail() {
+    Optional<CircuitBreaker.Permit> permit = breaker.tryAcquire();
+    assertThat(permit).isPresent();
+    permit.get().onFailure();
+  }
+
+  private CircuitBreaker.State state() {
+    int ordinal = (int) registry.get("shareit.gateway.circuit-breaker.state")
+        .tag("client", "/items")
+        .gauge()
+        .value();
+    return CircuitBreaker.State.values()[ordinal];
+  }
+
+  private static ResilienceProperties properties() {
+    ResilienceProperties properties = new ResilienceProperties();
+    properties.setSlidingWindowSize(4);
+    properties.setMinimumCalls(4);
+    properties.setFailureRateThreshold(50);
+    properties.setWaitInOpen(WAIT_IN_OPEN);
+    properties.setHalfOpenCalls(2);
+    return properties;
+  }
+
+}
@@ -0,0 +1,81 @@
+package ru.practicum.shareit.client;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.error.TooManyRequestsException;
+
+public class ConcurrencyLimiterTest {
+
+  @Test
+  void queuedCallRunsOncePermitIsReleased() {
+    ConcurrencyLimiter limiter = limiter(1, Duration.ofSeconds(1));
+
+    List<String> results = Flux.merge(
+            limiter.run(Mono.delay(Duration.ofMillis(50)).thenReturn("first")),
+            limiter.run(Mono.just("second")))
+        .collectList()
+        .block();
+
+    assertThat(results).containsExactly("first", "second");
+    assertThat(limiter.state()).containsEntry("inFlight", 0).containsEntry("queued", 0)
+        .containsEntry("queuedTotal", 1L).containsEntry("rejected", 0L);
+  }
+
+  @Test
+  void queuedCallIsRejectedAfterQueueTarget() {
+    ConcurrencyLimiter limiter = limiter(1, Duration.ofMillis(20));
+    Disposable holder = limiter.run(Mono.never()).subscribe();
+
+    assertThatThrownBy(() -> limiter.run(Mono.just("late")).block())
+        .isInstanceOf(TooManyRequestsException.class);
+    holder.dispose();
+
+    assertThat(limiter.state()).containsEntry("inFlight", 0).containsEntry("queued", 0)
+        .containsEntry("rejected", 1L);
+    assertThat(limiter.run(Mono.just("next")).block()).isEqualTo("next");
+  }
+
+  @Test
+  void grantRacingTimeoutDoesNotLeakPermits() throws InterruptedException {
+    ConcurrencyLimiter limiter = limiter(2, Duration.ofMillis(5));
+    List<Mono<String>> calls = new ArrayList<>();
+    for (int i = 0; i < 200; i++) {
+      calls.add(limiter.run(Mono.delay(Duration.ofNanos(TimeUnit.MILLISECONDS.toNanos(5)
+              - i * 20_000L))
+              .thenReturn("done"))
+          .onErrorReturn(TooManyRequestsException.class, "rejected"));
+    }
+
+    List<String> results = Flux.merge(Flux.fromIterable(calls), 8).collectList().block();
+
+    assertThat(results).hasSize(200).containsOnly("done", "rejected");
+    awaitIdle(limiter);
+    assertThat(limiter.run(Mono.just("next")).block()).isEqualTo("next");
+  }
+
+  private static void awaitIdle(ConcurrencyLimiter limiter) throws InterruptedException {
+    long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(1);
+    while (!limiter.state().get("inFlight").equals(0) && System.nanoTime() < deadline) {
+      Thread.sleep(5);
+    }
+    assertThat(limiter.state()).containsEntry("inFlight", 0).containsEntry("queued", 0);
+  }
+
+  private static ConcurrencyLimiter limiter(int maxConcurrency, Duration queueTarget) {
+    AdmissionProperties properties = new AdmissionProperties();
+    properties.setMaxConcurrency(maxConcurrency);
+    properties.setQueueTarget(queueTarget);
+    return new ConcurrencyLimiter(properties, new SimpleMeterRegistry());
+  }
+
+}
@@ -0,0 +1,91 @@
+package ru.practicum.shareit.client;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import reactor.core.publisher.Mono;
+
+public class HedgingTransportTest {
+
+  private static final String METRIC = "shareit.gateway.hedging.requests";
+
+  private final MeterRegistry registry = new SimpleMeterRegistry();
+
+  @Test
+  void hedgesAreLimitedByBudget() {
+    GatewayTransport delegate = mock(GatewayTransport.class);
+    when(delegate.exchange(eq(HttpMethod.GET), any(), any(), isNull(), isNull()))
+        .thenReturn(Mono.delay(Duration.ofMillis(20)).thenReturn(ResponseEntity.ok("slow")));
+    HedgingTransport transport = new HedgingTransport(delegate, "/bookings",
+        properties(10, 1), registry);
+
+    for (int i = 0; i < 20; i++) {
+      transport.exchange(HttpMethod.GET, "", new HttpHeaders(), null, null).block();
+    }
+
+    assertThat(count("hedged")).isEqualTo(2);
+    assertThat(count("throttled")).isEqualTo(18);
+    verify(delegate, times(22)).exchange(eq(HttpMethod.GET), any(), any(), isNull(), isNull());
+  }
+
+  @Test
+  void hedgeAvoidsPrimaryInstance() {
+    GatewayTransport slow = mock(GatewayTransport.class);
+    GatewayTransport fast = mock(GatewayTransport.class);
+    when(slow.exchange(eq(HttpMethod.GET), any(), any(), isNull(), isNull()))
+        .thenReturn(Mono.delay(Duration.ofMillis(300)).thenReturn(ResponseEntity.ok("slow")));
+    when(fast.exchange(eq(HttpMethod.GET), any(), any(), isNull(), isNull()))
+        .thenReturn(Mono.just(ResponseEntity.ok("fast")));
+    LoadBalancerProperties balancer = new LoadBalancerProperties();
+    balancer.setHealthCheckInterval(Duration.ofHours(1));
+    ServerInstances instances = new ServerInstances(List.of("http://slow", "http://fast"),
+        balancer, (url, prefix) -> url.equals("http://slow") ? slow : fast, registry);
+    for (int i = 0; i < 10; i++) {
+      instances.all().get(1).start();
+    }
+    HedgingTransport transport = new HedgingTransport(
+        new LoadBalancedTransport(instances, (url, prefix) -> url.equals("http://slow")
+            ? slow : fast, "/bookings"), "/bookings", properties(100, 10), registry);
+
+    try {
+      ResponseEntity<Object> response = transport.exchange(HttpMethod.GET, "",
+          new HttpHeaders(), null, null).block();
+
+      assertThat(response.getBody()).isEqualTo("fast");
+      verify(slow, times(1)).exchange(eq(HttpMethod.GET), any(), any(), isNull(), isNull());
+      verify(fast, times(1)).exchange(eq(HttpMethod.GET), any(), any(), isNull(), isNull());
+    } finally {
+      instances.destroy();
+    }
+  }
+
+  private double count(String result) {
+    return registry.counter(METRIC, "client", "/bookings", "route", "/bookings",
+        "result", result).count();
+  }
+
+  private static HedgingProperties properties(int budget, int maxBurst) {
+    HedgingProperties properties = new HedgingProperties();
+    properties.setEnabled(true);
+    properties.setMinSamples(0);
+    properties.setMaxBurst(maxBurst);
+    properties.setRoutes(Map.of("/bookings", budget));
+    return properties;
+  }
+
+}
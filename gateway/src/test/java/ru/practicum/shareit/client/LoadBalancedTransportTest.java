@@ -0,0 +1,55 @@
+package ru.practicum.shareit.client;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+
+public class LoadBalancedTransportTest {
+
+  @Test
+  void cancelledCallsDoNotResetFailureCount() {
+    GatewayTransport upstream = mock(GatewayTransport.class);
+    Mono<ResponseEntity<Object>> failure = Mono.error(new IllegalStateException("down"));
+    when(upstream.exchange(any(), any(), any(), any(), any()))
+        .thenReturn(failure, failure, Mono.never(), failure);
+    LoadBalancerProperties properties = new LoadBalancerProperties();
+    properties.setHealthCheckInterval(Duration.ofHours(1));
+    ServerInstances instances = new ServerInstances(List.of("http://stalled"), properties,
+        (url, prefix) -> upstream, new SimpleMeterRegistry());
+    LoadBalancedTransport transport = new LoadBalancedTransport(instances,
+        (url, prefix) -> upstream, "/bookings");
+    ServerInstance instance = instances.all().get(0);
+
+    try {
+      assertThrows(IllegalStateException.class, () -> exchange(transport).block());
+      assertThrows(IllegalStateException.class, () -> exchange(transport).block());
+      Disposable cancelled = exchange(transport).subscribe();
+      assertThat(instance.getInFlight()).isEqualTo(1);
+      cancelled.dispose();
+
+      assertThat(instance.getInFlight()).isZero();
+      assertThat(instance.isHealthy()).isTrue();
+      assertThrows(IllegalStateException.class, () -> exchange(transport).block());
+      assertThat(instance.isHealthy()).isFalse();
+    } finally {
+      instances.destroy();
+    }
+  }
+
+  private static Mono<ResponseEntity<Object>> exchange(LoadBalancedTransport transport) {
+    return transport.exchange(HttpMethod.GET, "", new HttpHeaders(), null, null);
+  }
+
+}
@@ -0,0 +1,65 @@
+package ru.practicum.shareit.client;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+
+public class RateLimiterTest {
+
+  private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+  @Test
+  void bucketAllowsBurstThenRefillsAtRate() {
+    long interval = SECOND / 10;
+    long capacity = interval * 3;
+    RateLimiter.Bucket bucket = new RateLimiter.Bucket(0);
+
+    assertThat(bucket.tryAcquire(0, interval, capacity)).isZero();
+    assertThat(bucket.tryAcquire(0, interval, capacity)).isZero();
+    assertThat(bucket.tryAcquire(0, interval, capacity)).isZero();
+    assertThat(bucket.tryAcquire(0, interval, capacity)).isEqualTo(interval);
+    assertThat(bucket.tryAcquire(interval / 2, interval, capacity)).isEqualTo(interval / 2);
+    assertThat(bucket.tryAcquire(interval, interval, capacity)).isZero();
+    assertThat(bucket.tryAcquire(interval, interval, capacity)).isEqualTo(interval);
+  }
+
+  @Test
+  void bucketDoesNotAccumulateCreditWhileIdle() {
+    long interval = SECOND / 10;
+    long capacity = interval * 2;
+    RateLimiter.Bucket bucket = new RateLimiter.Bucket(0);
+
+    long later = 100 * SECOND;
+    assertThat(bucket.tryAcquire(later, interval, capacity)).isZero();
+    assertThat(bucket.tryAcquire(later, interval, capacity)).isZero();
+    assertThat(bucket.tryAcquire(later, interval, capacity)).isPositive();
+  }
+
+  @Test
+  void requestsWithoutUserAreLimitedByRemoteAddress() {
+    RateLimiter limiter = new RateLimiter(properties(), new SimpleMeterRegistry());
+
+    assertThat(limiter.admit(HttpMethod.GET, "/items/search", null, "10.0.0.1")).isEmpty();
+    assertThat(limiter.admit(HttpMethod.GET, "/items/search", null, "10.0.0.1")).isPresent();
+    assertThat(limiter.admit(HttpMethod.GET, "/items/search", null, "10.0.0.2")).isEmpty();
+    assertThat(limiter.admit(HttpMethod.GET, "/items/search", "1", "10.0.0.1")).isEmpty();
+    assertThat(limiter.admit(HttpMethod.GET, "/items/search", "1", "10.0.0.1")).isPresent();
+    assertThat(limiter.admit(HttpMethod.POST, "/items/search", null, "10.0.0.1")).isEmpty();
+  }
+
+  private static RateLimitProperties properties() {
+    RateLimitProperties.Rule rule = new RateLimitProperties.Rule();
+    rule.setMethod(HttpMethod.GET);
+    rule.setPath("/items/search");
+    rule.setPermitsPerSecond(0.01);
+    rule.setBurst(1);
+    RateLimitProperties properties = new RateLimitProperties();
+    properties.setRules(List.of(rule));
+    return properties;
+  }
+
+}
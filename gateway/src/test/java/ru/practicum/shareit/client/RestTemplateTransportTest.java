@@ -0,0 +1,88 @@
+package ru.practicum.shareit.client;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.ClientHttpRequest;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.web.client.RestTemplate;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+public class RestTemplateTransportTest {
+
+  private final ClientHttpRequestFactory requestFactory = mock(ClientHttpRequestFactory.class);
+  private final ClientHttpRequest request = mock(ClientHttpRequest.class);
+  private final ClientHttpResponse response = mock(ClientHttpResponse.class);
+  private RestTemplateTransport transport;
+
+  @BeforeEach
+  void setUp() throws IOException {
+    when(requestFactory.createRequest(any(), eq(HttpMethod.GET))).thenReturn(request);
+    when(request.getHeaders()).thenReturn(new HttpHeaders());
+    when(request.execute()).thenReturn(response);
+    when(response.getRawStatusCode()).thenReturn(200);
+    when(response.getHeaders()).thenReturn(new HttpHeaders());
+    when(response.getBody()).thenReturn(
+        new ByteArrayInputStream("{}\n{}\n".getBytes(StandardCharsets.UTF_8)));
+    transport = new RestTemplateTransport(new RestTemplate(requestFactory));
+  }
+
+  @Test
+  void responseIsClosedOnceBodyIsRead() {
+    ResponseEntity<Flux<DataBuffer>> entity = transport.stream("/export", new HttpHeaders(),
+        Map.of()).block();
+
+    Integer length = entity.getBody()
+        .map(buffer -> {
+          int readable = buffer.readableByteCount();
+          DataBufferUtils.release(buffer);
+          return readable;
+        })
+        .reduce(0, Integer::sum)
+        .block();
+
+    assertThat(length).isEqualTo(6);
+    verify(response, times(1)).close();
+  }
+
+  @Test
+  void responseIsClosedWhenBodyIsCancelled() {
+    ResponseEntity<Flux<DataBuffer>> entity = transport.stream("/export", new HttpHeaders(),
+        Map.of()).block();
+
+    entity.getBody().subscribe().dispose();
+
+    verify(response, times(1)).close();
+  }
+
+  @Test
+  void responseIsClosedWhenStatusCannotBeRead() throws IOException {
+    when(response.getRawStatusCode()).thenThrow(new IOException("connection reset"));
+
+    Mono<ResponseEntity<Flux<DataBuffer>>> stream = transport.stream("/export",
+        new HttpHeaders(), Map.of());
+
+    assertThatThrownBy(stream::block).hasCauseInstanceOf(IOException.class);
+    verify(response, times(1)).close();
+  }
+
+}
@@ -4,6 +4,7 @@ import java.util.List;
 import javax.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PatchMapping;
@@ -14,10 +15,15 @@ import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import ru.practicum.shareit.booking.dto.BookingDTO;
+import ru.practicum.shareit.booking.dto.BookingDecisionDTO;
+import ru.practicum.shareit.booking.dto.BookingDecisionResultDTO;
 import ru.practicum.shareit.booking.dto.BookingRequestDTO;
 import ru.practicum.shareit.booking.dto.RequestBookingStatus;
+import ru.practicum.shareit.booking.export.BookingExportFormat;
 import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.utils.PageCursor;
 
 @RestController
 @RequestMapping(path = "/bookings")
@@ -43,6 +49,14 @@ public class BookingController {
     return bookingService.updateBooking(ownerId, bookingId, approved);
   }
 
+  @PatchMapping("/batch")
+  public List<BookingDecisionResultDTO> changeBookings(
+      @RequestHeader(REQUEST_HEADER_USER_ID) Long ownerId,
+      @RequestBody List<BookingDecisionDTO> decisions
+  ) {
+    return bookingService.updateBookings(ownerId, decisions);
+  }
+
   @GetMapping("/{bookingId}")
   public BookingDTO getById(
       @RequestHeader(REQUEST_HEADER_USER_ID) Long userId,
@@ -52,24 +66,54 @@ public class BookingController {
   }
 
   @GetMapping
-  public List<BookingDTO> getUserBookings(
+  public ResponseEntity<List<BookingDTO>> getUserBookings(
       @RequestHeader(REQUEST_HEADER_USER_ID) Long userId,
       @RequestParam(defaultValue = "ALL") RequestBookingStatus state,
       @RequestParam(required = false, defaultValue = "0") final Integer from,
-      @RequestParam(required = false, defaultValue = "10") final Integer size
+      @RequestParam(required = false, defaultValue = "10") final Integer size,
+      @RequestParam(required = false) final String cursor
   ) {
-    int page = from > 0 ? from / size : from;
-    return bookingService.getBookingsByUser(userId, state, PageRequest.of(page, size));
+    List<BookingDTO> result;
+    if (cursor != null) {
+      result = bookingService.getBookingsByUser(userId, state, PageCursor.decode(cursor), size);
+    } else {
+      result = bookingService.getBookingsByUser(userId, state, page(from, size));
+    }
+    return PageCursor.withNextCursor(result, size,
+        booking -> PageCursor.of(booking.getStart(), booking.getId()));
   }
 
   @GetMapping("/owner")
-  public List<BookingDTO> getUserItemBookings(
+  public ResponseEntity<List<BookingDTO>> getUserItemBookings(
       @RequestHeader(REQUEST_HEADER_USER_ID) Long userId,
       @RequestParam(defaultValue = "ALL") RequestBookingStatus state,
       @RequestParam(required = false, defaultValue = "0") final Integer from,
-      @RequestParam(required = false, defaultValue = "10") final Integer size
+      @RequestParam(required = false, defaultValue = "10") final Integer size,
+      @RequestParam(required = false) final String cursor
+  ) {
+    List<BookingDTO> result;
+    if (cursor != null) {
+      result = bookingService.getBookingStatusByOwner(userId, state, PageCursor.decode(cursor),
+          size);
+    } else {
+      result = bookingService.getBookingStatusByOwner(userId, state, page(from, size));
+    }
+    return PageCursor.withNextCursor(result, size,
+        booking -> PageCursor.of(booking.getStart(), booking.getId()));
+  }
+
+  @GetMapping("/owner/export")
+  public ResponseEntity<StreamingResponseBody> exportUserItemBookings(
+      @RequestHeader(REQUEST_HEADER_USER_ID) Long userId,
+      @RequestParam(defaultValue = "NDJSON") BookingExportFormat format
   ) {
-    return bookingService.getBookingStatusByOwner(userId, state, PageRequest.of(from, size));
+    return ResponseEntity.ok()
+        .contentType(format.getMediaType())
+        .body(bookingService.exportBookingsByOwner(userId, format));
+  }
+
+  private static PageRequest page(int from, int size) {
+    return PageRequest.of(from / size, size);
   }
 
 }
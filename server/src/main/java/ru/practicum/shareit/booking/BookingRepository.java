@@ -1,39 +1,65 @@
 package ru.practicum.shareit.booking;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+import javax.persistence.QueryHint;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
+import ru.practicum.shareit.booking.dto.ItemBookingStats;
 import ru.practicum.shareit.booking.model.Booking;
 
 @Repository
-public interface BookingRepository extends JpaRepository<Booking, Long> {
+public interface BookingRepository extends JpaRepository<Booking, Long>,
+    BookingRepositoryCustom {
+
+  String EXPORT_FETCH_SIZE = "500";
+
+  @Modifying
+  @Query("update Booking b set b.status = ?2, b.version = b.version + 1 "
+      + "where b.id = ?1 and b.version = ?3")
+  int updateBookingStatusByIdAndVersion(Long id, String status, long version);
 
   @Modifying
-  @Query("update Booking b set b.status = ?2 where b.id = ?1")
-  void updateBookingStatusById(Long id, String status);
+  @Query("update Booking b set b.status = ?4, b.version = b.version + 1 "
+      + "where b.id = ?1 and b.status = ?3 "
+      + "and b.item.id in (select i.id from Item i where i.owner.id = ?2)")
+  int updateBookingStatusByIdAndOwnerId(Long id, Long ownerId, String currentStatus,
+      String status);
+
+  @Query("select b from Booking b join fetch b.item where b.id = ?1")
+  Optional<Booking> findWithItemById(Long id);
+
+  @Query("select b from Booking b join fetch b.item where b.id in ?1")
+  List<Booking> findAllWithItemByIdIn(Collection<Long> ids);
+
+  @Query("select distinct b.item.id from Booking b where b.id in ?1")
+  List<Long> findItemIdsByIdIn(Collection<Long> ids);
 
-  List<Booking> findBookingByBookerIdOrderByStartDesc(Long bookerId, Pageable pageable);
+  List<Booking> findBookingByBookerIdOrderByStartDescIdDesc(Long bookerId, Pageable pageable);
 
-  List<Booking> findBookingByBookerIdAndStatusOrderByStartDesc(Long bookerId, String status,
+  List<Booking> findBookingByBookerIdAndStatusOrderByStartDescIdDesc(Long bookerId, String status,
       Pageable pageable);
 
   @Query("select b from Booking b where b.booker.id = ?1 "
       + "and current_timestamp between b.start and b.end "
-      + "order by b.start DESC")
+      + "order by b.start DESC, b.id DESC")
   List<Booking> findCurrentBookingByBookerId(Long bookerId, Pageable pageable);
 
   @Query("select b from Booking b where b.booker.id = ?1 "
       + "and current_timestamp > b.end "
-      + "order by b.start DESC")
+      + "order by b.start DESC, b.id DESC")
   List<Booking> findPastBookingByBookerId(Long bookerId, Pageable pageable);
 
   @Query("select b from Booking b where b.booker.id = ?1 "
       + "and current_timestamp < b.start "
-      + "order by b.start DESC")
+      + "order by b.start DESC, b.id DESC")
   List<Booking> findFutureBookingByBookerId(Long bookerId, Pageable pageable);
 
   @Query("select (count(b) > 0) from Booking b where b.booker.id = ?1 and b.status = ?2 and b.end < current_timestamp")
@@ -41,19 +67,119 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
 
   List<Booking> findBookingsByItemId(Long itemId);
 
-  List<Booking> findBookingsByItem_OwnerIdAndStatusOrderByStartDesc(Long ownerId, String status,
-      Pageable pageable);
+  List<Booking> findAllByItem_IdAndStatusInOrderByStartAsc(Long itemId,
+      Collection<String> statuses);
+
+  @Query("select b from Booking b where b.item.id = ?1 and b.status in ?2 and b.end > ?3")
+  List<Booking> findActiveBookingsByItemId(Long itemId, Collection<String> statuses,
+      LocalDateTime after);
+
+  @Query("select (count(b) > 0) from Booking b where b.item.id = ?1 and b.status in ?2 "
+      + "and b.start < ?4 and b.end > ?3")
+  boolean existsOverlappingBooking(Long itemId, Collection<String> statuses, LocalDateTime start,
+      LocalDateTime end);
+
+  @Query("select new ru.practicum.shareit.booking.dto.ItemBookingStats(b.item.id, count(b)) "
+      + "from Booking b where b.item.id in ?1 and b.status = ?2 "
+      + "group by b.item.id")
+  List<ItemBookingStats> countBookingsByItemIdInAndStatus(Collection<Long> itemIds, String status);
+
+  @Query("select b from Booking b where b.item.id in ?1 and b.status = ?2 and ("
+      + "(b.end < ?3 and b.start = (select max(l.start) from Booking l "
+      + "where l.item = b.item and l.status = ?2 and l.end < ?3)) "
+      + "or (b.end > ?3 and b.end = (select min(n.end) from Booking n "
+      + "where n.item = b.item and n.status = ?2 and n.end > ?3)))")
+  List<Booking> findLastAndNextBookingsByItemIdIn(Collection<Long> itemIds, String status,
+      LocalDateTime now);
+
+  List<Booking> findBookingsByItem_OwnerIdAndStatusOrderByStartDescIdDesc(Long ownerId,
+      String status, Pageable pageable);
 
-  List<Booking> findBookingsByItem_OwnerIdOrderByStartDesc(Long ownerId, Pageable pageable);
+  List<Booking> findBookingsByItem_OwnerIdOrderByStartDescIdDesc(Long ownerId, Pageable pageable);
 
-  List<Booking> findBookingsByItem_OwnerIdAndStartAfterOrderByStartDesc(Long ownerId,
+  List<Booking> findBookingsByItem_OwnerIdAndStartAfterOrderByStartDescIdDesc(Long ownerId,
       LocalDateTime start, Pageable pageable);
 
-  List<Booking> findBookingsByItem_OwnerIdAndEndBeforeOrderByStartDesc(Long ownerId,
+  List<Booking> findBookingsByItem_OwnerIdAndEndBeforeOrderByStartDescIdDesc(Long ownerId,
       LocalDateTime end, Pageable pageable);
 
   @Query("select b from Booking b where b.item.owner.id = ?1 "
       + "and current_timestamp between b.start and b.end "
-      + "order by b.start DESC")
+      + "order by b.start DESC, b.id DESC")
   List<Booking> findCurrentBookingByOwnerId(Long ownerId, Pageable pageable);
+
+  @QueryHints({
+      @QueryHint(name = "org.hibernate.fetchSize", value = EXPORT_FETCH_SIZE),
+      @QueryHint(name = "org.hibernate.readOnly", value = "true")
+  })
+  @Query("select b from Booking b join fetch b.item i join fetch b.booker "
+      + "where i.owner.id = ?1 order by b.start DESC, b.id DESC")
+  Stream<Booking> streamBookingsByOwnerId(Long ownerId);
+
+  @Query("select b from Booking b where b.booker.id = ?1 "
+      + "and b.start <= ?2 and (b.start < ?2 or (b.start = ?2 and b.id < ?3)) "
+      + "order by b.start DESC, b.id DESC")
+  List<Booking> findBookingPageByBookerId(Long bookerId, LocalDateTime start, Long id,
+      Pageable pageable);
+
+  @Query("select b from Booking b where b.booker.id = ?1 and b.status = ?2 "
+      + "and b.start <= ?3 and (b.start < ?3 or (b.start = ?3 and b.id < ?4)) "
+      + "order by b.start DESC, b.id DESC")
+  List<Booking> findBookingPageByBookerIdAndStatus(Long bookerId, String status,
+      LocalDateTime start, Long id, Pageable pageable);
+
+  @Query("select b from Booking b where b.booker.id = ?1 "
+      + "and current_timestamp between b.start and b.end "
+      + "and b.start <= ?2 and (b.start < ?2 or (b.start = ?2 and b.id < ?3)) "
+      + "order by b.start DESC, b.id DESC")
+  List<Booking> findCurrentBookingPageByBookerId(Long bookerId, LocalDateTime start, Long id,
+      Pageable pageable);
+
+  @Query("select b from Booking b where b.booker.id = ?1 "
+      + "and current_timestamp > b.end "
+      + "and b.start <= ?2 and (b.start < ?2 or (b.start = ?2 and b.id < ?3)) "
+      + "order by b.start DESC, b.id DESC")
+  List<Booking> findPastBookingPageByBookerId(Long bookerId, LocalDateTime start, Long id,
+      Pageable pageable);
+
+  @Query("select b from Booking b where b.booker.id = ?1 "
+      + "and current_timestamp < b.start "
+      + "and b.start <= ?2 and (b.start < ?2 or (b.start = ?2 and b.id < ?3)) "
+      + "order by b.start DESC, b.id DESC")
+  List<Booking> findFutureBookingPageByBookerId(Long bookerId, LocalDateTime start, Long id,
+      Pageable pageable);
+
+  @Query("select b from Booking b where b.item.owner.id = ?1 "
+      + "and b.start <= ?2 and (b.start < ?2 or (b.start = ?2 and b.id < ?3)) "
+      + "order by b.start DESC, b.id DESC")
+  List<Booking> findBookingPageByOwnerId(Long ownerId, LocalDateTime start, Long id,
+      Pageable pageable);
+
+  @Query("select b from Booking b where b.item.owner.id = ?1 and b.status = ?2 "
+      + "and b.start <= ?3 and (b.start < ?3 or (b.start = ?3 and b.id < ?4)) "
+      + "order by b.start DESC, b.id DESC")
+  List<Booking> findBookingPageByOwnerIdAndStatus(Long ownerId, String status,
+      LocalDateTime start, Long id, Pageable pageable);
+
+  @Query("select b from Booking b where b.item.owner.id = ?1 "
+      + "and current_timestamp between b.start and b.end "
+      + "and b.start <= ?2 and (b.start < ?2 or (b.start = ?2 and b.id < ?3)) "
+      + "order by b.start DESC, b.id DESC")
+  List<Booking> findCurrentBookingPageByOwnerId(Long ownerId, LocalDateTime start, Long id,
+      Pageable pageable);
+
+  @Query("select b from Booking b where b.item.owner.id = ?1 "
+      + "and current_timestamp > b.end "
+      + "and b.start <= ?2 and (b.start < ?2 or (b.start = ?2 and b.id < ?3)) "
+      + "order by b.start DESC, b.id DESC")
+  List<Booking> findPastBookingPageByOwnerId(Long ownerId, LocalDateTime start, Long id,
+      Pageable pageable);
+
+  @Query("select b from Booking b where b.item.owner.id = ?1 "
+      + "and current_timestamp < b.start "
+      + "and b.start <= ?2 and (b.start < ?2 or (b.start = ?2 and b.id < ?3)) "
+      + "order by b.start DESC, b.id DESC")
+  List<Booking> findFutureBookingPageByOwnerId(Long ownerId, LocalDateTime start, Long id,
+      Pageable pageable);
+
 }
@@ -0,0 +1,14 @@
+package ru.practicum.shareit.booking;
+
+import java.util.Collection;
+import java.util.List;
+import ru.practicum.shareit.booking.dto.ItemBookingFlags;
+import ru.practicum.shareit.booking.model.Booking;
+
+public interface BookingRepositoryCustom {
+
+  int[] updateBookingStatuses(List<Booking> bookings);
+
+  List<ItemBookingFlags> findBookingFlagsByItemIdIn(Collection<Long> itemIds, Long userId);
+
+}
@@ -0,0 +1,52 @@
+package ru.practicum.shareit.booking;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.shareit.booking.dto.ItemBookingFlags;
+import ru.practicum.shareit.booking.model.Booking;
+
+@RequiredArgsConstructor
+public class BookingRepositoryImpl implements BookingRepositoryCustom {
+
+  private static final String UPDATE_STATUS = "update bookings set status = ?, "
+      + "version = version + 1 where id = ? and version = ?";
+
+  private static final String SELECT_FLAGS = "select i.id, "
+      + "exists (select 1 from bookings b where b.item_id = i.id offset 1 rows), "
+      + "exists (select 1 from bookings b where b.item_id = i.id and b.booker_id = ?) "
+      + "from items i where i.id in (%s) "
+      + "and exists (select 1 from bookings b where b.item_id = i.id)";
+
+  private final JdbcTemplate jdbcTemplate;
+
+  @Override
+  public int[] updateBookingStatuses(List<Booking> bookings) {
+    if (bookings.isEmpty()) {
+      return new int[0];
+    }
+    return jdbcTemplate.batchUpdate(UPDATE_STATUS, bookings.stream()
+        .map(booking -> new Object[]{booking.getStatus(), booking.getId(), booking.getVersion()})
+        .collect(Collectors.toList()));
+  }
+
+  @Override
+  public List<ItemBookingFlags> findBookingFlagsByItemIdIn(Collection<Long> itemIds,
+      Long userId) {
+    if (itemIds.isEmpty()) {
+      return Collections.emptyList();
+    }
+    List<Object> args = new ArrayList<>(itemIds.size() + 1);
+    args.add(userId);
+    args.addAll(itemIds);
+    return jdbcTemplate.query(
+        String.format(SELECT_FLAGS, String.join(", ", Collections.nCopies(itemIds.size(), "?"))),
+        (rs, rowNum) -> new ItemBookingFlags(rs.getLong(1), rs.getBoolean(2), rs.getBoolean(3)),
+        args.toArray());
+  }
+
+}
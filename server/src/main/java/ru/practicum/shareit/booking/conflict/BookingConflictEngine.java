@@ -0,0 +1,146 @@
+package ru.practicum.shareit.booking.conflict;
+
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.event.BookingChangedEvent;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.exeption.BookingConflictException;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class BookingConflictEngine {
+
+  public static final List<String> ACTIVE_STATUSES = List.of(BookingStatus.WAITING.name(),
+      BookingStatus.APPROVED.name());
+
+  static final String EXCLUSION_CONSTRAINT = "ex_bookings_item_period";
+
+  private final BookingRepository bookingRepository;
+  private final Map<Long, ItemIntervals> items = new ConcurrentHashMap<>();
+
+  public Booking reserve(Long itemId, LocalDateTime start, LocalDateTime end,
+      Supplier<Booking> action) {
+    ItemIntervals intervals = items.computeIfAbsent(itemId, this::load);
+    synchronized (intervals) {
+      intervals.pruneEndedBefore(LocalDateTime.now());
+      if (intervals.overlaps(start, end) && confirmOverlap(itemId, intervals, start, end)) {
+        throw new BookingConflictException(itemId.toString());
+      }
+      Booking booking;
+      try {
+        booking = action.get();
+      } catch (DataIntegrityViolationException e) {
+        if (!isExclusionViolation(e)) {
+          throw e;
+        }
+        log.debug("Exclusion constraint rejected booking of item {}, reloading intervals", itemId);
+        items.remove(itemId);
+        throw new BookingConflictException(itemId.toString());
+      }
+      afterCommit(() -> add(itemId, booking.getId(), start, end));
+      return booking;
+    }
+  }
+
+  public Set<Long> findConflicts(Long itemId, List<Booking> candidates) {
+    ItemIntervals intervals = items.computeIfAbsent(itemId, this::load);
+    ItemIntervals accepted = new ItemIntervals(List.of());
+    Set<Long> conflicts = new HashSet<>();
+    synchronized (intervals) {
+      intervals.pruneEndedBefore(LocalDateTime.now());
+      for (Booking candidate : candidates) {
+        LocalDateTime start = candidate.getStart();
+        LocalDateTime end = candidate.getEnd();
+        if (accepted.overlaps(start, end) || intervals.overlaps(start, end)
+            && confirmOverlap(itemId, intervals, start, end)) {
+          conflicts.add(candidate.getId());
+        } else {
+          accepted.add(candidate.getId(), start, end);
+        }
+      }
+    }
+    return conflicts;
+  }
+
+  public void register(Long itemId, Booking booking) {
+    afterCommit(() -> add(itemId, booking.getId(), booking.getStart(), booking.getEnd()));
+  }
+
+  public void release(Long itemId, Long bookingId) {
+    afterCommit(() -> {
+      ItemIntervals intervals = items.get(itemId);
+      if (intervals != null) {
+        synchronized (intervals) {
+          intervals.remove(bookingId);
+        }
+      }
+    });
+  }
+
+  @EventListener(condition = "#event.remote")
+  public void onRemoteBookingChanged(BookingChangedEvent event) {
+    items.remove(event.getBooking().getItem().getId());
+  }
+
+  private void add(Long itemId, Long bookingId, LocalDateTime start, LocalDateTime end) {
+    ItemIntervals intervals = items.get(itemId);
+    if (intervals != null) {
+      synchronized (intervals) {
+        intervals.add(bookingId, start, end);
+      }
+    }
+  }
+
+  private static void afterCommit(Runnable action) {
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+      action.run();
+      return;
+    }
+    TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+      @Override
+      public void afterCommit() {
+        action.run();
+      }
+    });
+  }
+
+  private boolean confirmOverlap(Long itemId, ItemIntervals intervals, LocalDateTime start,
+      LocalDateTime end) {
+    if (bookingRepository.existsOverlappingBooking(itemId, ACTIVE_STATUSES, start, end)) {
+      return true;
+    }
+    log.debug("Intervals of item {} are stale, reloading", itemId);
+    intervals.reset(loadBookings(itemId));
+    return false;
+  }
+
+  private ItemIntervals load(Long itemId) {
+    return new ItemIntervals(loadBookings(itemId));
+  }
+
+  private List<Booking> loadBookings(Long itemId) {
+    return bookingRepository.findActiveBookingsByItemId(itemId, ACTIVE_STATUSES,
+        LocalDateTime.now());
+  }
+
+  private static boolean isExclusionViolation(DataIntegrityViolationException e) {
+    String message = e.getMostSpecificCause().getMessage();
+    return message != null && message.contains(EXCLUSION_CONSTRAINT);
+  }
+
+}
@@ -0,0 +1,63 @@
+package ru.practicum.shareit.booking.conflict;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import ru.practicum.shareit.booking.model.Booking;
+
+class ItemIntervals {
+
+  private final TreeMap<LocalDateTime, Interval> byStart = new TreeMap<>();
+  private final Map<Long, LocalDateTime> startById = new HashMap<>();
+
+  ItemIntervals(List<Booking> bookings) {
+    reset(bookings);
+  }
+
+  void reset(List<Booking> bookings) {
+    byStart.clear();
+    startById.clear();
+    bookings.forEach(booking -> add(booking.getId(), booking.getStart(), booking.getEnd()));
+  }
+
+  boolean overlaps(LocalDateTime start, LocalDateTime end) {
+    Map.Entry<LocalDateTime, Interval> previous = byStart.lowerEntry(end);
+    return previous != null && previous.getValue().end.isAfter(start);
+  }
+
+  void add(long bookingId, LocalDateTime start, LocalDateTime end) {
+    startById.put(bookingId, start);
+    Interval current = byStart.get(start);
+    if (current == null || current.end.isBefore(end)) {
+      byStart.put(start, new Interval(bookingId, end));
+    }
+  }
+
+  void remove(long bookingId) {
+    LocalDateTime start = startById.remove(bookingId);
+    if (start != null && byStart.get(start).bookingId == bookingId) {
+      byStart.remove(start);
+    }
+  }
+
+  void pruneEndedBefore(LocalDateTime now) {
+    while (!byStart.isEmpty() && !byStart.firstEntry().getValue().end.isAfter(now)) {
+      startById.remove(byStart.pollFirstEntry().getValue().bookingId);
+    }
+  }
+
+  private static final class Interval {
+
+    private final long bookingId;
+    private final LocalDateTime end;
+
+    private Interval(long bookingId, LocalDateTime end) {
+      this.bookingId = bookingId;
+      this.end = end;
+    }
+
+  }
+
+}
@@ -0,0 +1,59 @@
+package ru.practicum.shareit.booking.conflict;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import org.springframework.stereotype.Component;
+
+@Component
+public class ItemLocks {
+
+  static final int STRIPES = 64;
+
+  private final ReentrantLock[] locks = new ReentrantLock[STRIPES];
+
+  public ItemLocks() {
+    for (int i = 0; i < STRIPES; i++) {
+      locks[i] = new ReentrantLock();
+    }
+  }
+
+  public <T> T withItemLock(Long itemId, Supplier<T> action) {
+    ReentrantLock lock = stripe(itemId);
+    lock.lock();
+    try {
+      return action.get();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  public <T> T withItemLocks(Collection<Long> itemIds, Supplier<T> action) {
+    List<ReentrantLock> held = itemIds.stream()
+        .mapToInt(ItemLocks::stripeIndex)
+        .distinct()
+        .sorted()
+        .mapToObj(i -> locks[i])
+        .collect(Collectors.toList());
+    held.forEach(ReentrantLock::lock);
+    try {
+      return action.get();
+    } finally {
+      for (int i = held.size() - 1; i >= 0; i--) {
+        held.get(i).unlock();
+      }
+    }
+  }
+
+  ReentrantLock stripe(Long itemId) {
+    return locks[stripeIndex(itemId)];
+  }
+
+  private static int stripeIndex(Long itemId) {
+    long hash = itemId * 0x9E3779B97F4A7C15L;
+    return (int) (hash >>> 58) & (STRIPES - 1);
+  }
+
+}
@@ -0,0 +1,14 @@
+package ru.practicum.shareit.booking.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class BookingDecisionResultDTO {
+
+  private Long bookingId;
+  private BookingDTO booking;
+  private String error;
+
+}
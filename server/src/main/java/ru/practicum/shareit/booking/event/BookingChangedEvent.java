@@ -0,0 +1,18 @@
+package ru.practicum.shareit.booking.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import ru.practicum.shareit.booking.model.Booking;
+
+@Getter
+@AllArgsConstructor
+public class BookingChangedEvent {
+
+  private final Booking booking;
+  private final boolean remote;
+
+  public BookingChangedEvent(Booking booking) {
+    this(booking, false);
+  }
+
+}
@@ -0,0 +1,20 @@
+package ru.practicum.shareit.booking.export;
+
+import org.springframework.http.MediaType;
+
+public enum BookingExportFormat {
+
+  NDJSON("application/x-ndjson"),
+  CSV("text/csv");
+
+  private final MediaType mediaType;
+
+  BookingExportFormat(String mediaType) {
+    this.mediaType = MediaType.parseMediaType(mediaType);
+  }
+
+  public MediaType getMediaType() {
+    return mediaType;
+  }
+
+}
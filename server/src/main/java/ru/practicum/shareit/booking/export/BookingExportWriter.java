@@ -0,0 +1,79 @@
+package ru.practicum.shareit.booking.export;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.stream.Stream;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.booking.dto.BookingDTO;
+
+@Component
+public class BookingExportWriter {
+
+  static final String CSV_HEADER = "id,start,end,status,bookerId,itemId,itemName";
+
+  private final ObjectWriter jsonWriter;
+
+  public BookingExportWriter(ObjectMapper objectMapper) {
+    this.jsonWriter = objectMapper.writerFor(BookingDTO.class);
+  }
+
+  public long write(Stream<BookingDTO> bookings, BookingExportFormat format, OutputStream out) {
+    long rows = 0;
+    try {
+      Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+      if (format == BookingExportFormat.CSV) {
+        writer.write(CSV_HEADER);
+        writer.write('\n');
+      }
+      for (Iterator<BookingDTO> iterator = bookings.iterator(); iterator.hasNext(); rows++) {
+        BookingDTO booking = iterator.next();
+        if (format == BookingExportFormat.CSV) {
+          writeCsv(writer, booking);
+        } else {
+          writer.write(jsonWriter.writeValueAsString(booking));
+        }
+        writer.write('\n');
+      }
+      writer.flush();
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    return rows;
+  }
+
+  private static void writeCsv(Writer writer, BookingDTO booking) throws IOException {
+    writer.write(String.valueOf(booking.getId()));
+    writer.write(',');
+    writer.write(String.valueOf(booking.getStart()));
+    writer.write(',');
+    writer.write(String.valueOf(booking.getEnd()));
+    writer.write(',');
+    writer.write(booking.getStatus());
+    writer.write(',');
+    writer.write(String.valueOf(booking.getBooker().getId()));
+    writer.write(',');
+    writer.write(String.valueOf(booking.getItem().getId()));
+    writer.write(',');
+    writer.write(quote(booking.getItem().getName()));
+  }
+
+  private static String quote(String value) {
+    if (value == null) {
+      return "";
+    }
+    if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0
+        && value.indexOf('\r') < 0) {
+      return value;
+    }
+    return '"' + value.replace("\"", "\"\"") + '"';
+  }
+
+}
@@ -8,9 +8,12 @@ import javax.persistence.FetchType;
 import javax.persistence.GeneratedValue;
 import javax.persistence.GenerationType;
 import javax.persistence.Id;
+import javax.persistence.Index;
 import javax.persistence.JoinColumn;
 import javax.persistence.ManyToOne;
+import javax.persistence.SequenceGenerator;
 import javax.persistence.Table;
+import javax.persistence.Version;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -24,11 +27,18 @@ import ru.practicum.shareit.user.model.User;
 @AllArgsConstructor
 @NoArgsConstructor
 @Entity
-@Table(name = "bookings")
+@Table(name = "bookings", indexes = {
+    @Index(name = "ix_bookings_item_status_start", columnList = "item_id, status, start_date"),
+    @Index(name = "ix_bookings_item_status_end", columnList = "item_id, status, end_date"),
+    @Index(name = "ix_bookings_booker_start", columnList = "booker_id, start_date DESC, id DESC"),
+    @Index(name = "ix_bookings_item_start", columnList = "item_id, start_date DESC, id DESC"),
+    @Index(name = "ix_bookings_item_booker", columnList = "item_id, booker_id")
+})
 public class Booking {
 
   @Id
-  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "bookings_seq")
+  @SequenceGenerator(name = "bookings_seq", sequenceName = "bookings_seq", allocationSize = 50)
   private Long id;
 
   @Column(name = "start_date")
@@ -48,4 +58,7 @@ public class Booking {
   @Transient
   private String status;
 
+  @Version
+  private long version;
+
 }
@@ -2,9 +2,14 @@ package ru.practicum.shareit.booking.service;
 
 import java.util.List;
 import org.springframework.data.domain.Pageable;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import ru.practicum.shareit.booking.dto.BookingDTO;
+import ru.practicum.shareit.booking.dto.BookingDecisionDTO;
+import ru.practicum.shareit.booking.dto.BookingDecisionResultDTO;
 import ru.practicum.shareit.booking.dto.BookingRequestDTO;
 import ru.practicum.shareit.booking.dto.RequestBookingStatus;
+import ru.practicum.shareit.booking.export.BookingExportFormat;
+import ru.practicum.shareit.utils.PageCursor;
 
 public interface BookingService {
 
@@ -12,11 +17,21 @@ public interface BookingService {
 
   BookingDTO updateBooking(Long ownerId, Long bookingId, Boolean isApproved);
 
+  List<BookingDecisionResultDTO> updateBookings(Long ownerId, List<BookingDecisionDTO> decisions);
+
   BookingDTO getBooking(Long userId, Long bookingId);
 
   List<BookingDTO> getBookingsByUser(Long bookerId, RequestBookingStatus state, Pageable pageable);
 
+  List<BookingDTO> getBookingsByUser(Long bookerId, RequestBookingStatus state, PageCursor cursor,
+      int size);
+
   List<BookingDTO> getBookingStatusByOwner(Long ownerId, RequestBookingStatus state,
       Pageable pageable);
 
+  List<BookingDTO> getBookingStatusByOwner(Long ownerId, RequestBookingStatus state,
+      PageCursor cursor, int size);
+
+  StreamingResponseBody exportBookingsByOwner(Long ownerId, BookingExportFormat format);
+
 }
@@ -1,44 +1,100 @@
 package ru.practicum.shareit.booking.service.impl;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import javax.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import ru.practicum.shareit.booking.BookingMapper;
 import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.conflict.BookingConflictEngine;
+import ru.practicum.shareit.booking.conflict.ItemLocks;
 import ru.practicum.shareit.booking.dto.BookingDTO;
+import ru.practicum.shareit.booking.dto.BookingDecisionDTO;
+import ru.practicum.shareit.booking.dto.BookingDecisionResultDTO;
 import ru.practicum.shareit.booking.dto.BookingRequestDTO;
 import ru.practicum.shareit.booking.dto.RequestBookingStatus;
+import ru.practicum.shareit.booking.event.BookingChangedEvent;
+import ru.practicum.shareit.booking.export.BookingExportFormat;
+import ru.practicum.shareit.booking.export.BookingExportWriter;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.BookingStatus;
 import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.exeption.BookingConflictException;
 import ru.practicum.shareit.exeption.BookingNotFoundException;
+import ru.practicum.shareit.exeption.ConcurrentUpdateException;
 import ru.practicum.shareit.exeption.ItemNotAvalibleException;
 import ru.practicum.shareit.exeption.ItemNotFoundException;
 import ru.practicum.shareit.exeption.RequestStatusException;
 import ru.practicum.shareit.exeption.UserNotFoundException;
 import ru.practicum.shareit.exeption.ValidateException;
+import ru.practicum.shareit.item.event.ItemChangedEvent;
+import ru.practicum.shareit.item.mapper.ItemMapper;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.ItemRepository;
 import ru.practicum.shareit.user.UserRepository;
 import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.utils.PageCursor;
 
 @Service
 @RequiredArgsConstructor
 public class BookingServiceImpl implements BookingService {
 
+  static final int MAX_BATCH_SIZE = 100;
+
   private final BookingRepository bookingRepository;
   private final UserRepository userRepository;
   private final ItemRepository itemRepository;
   private final EntityManager entityManager;
+  private final ApplicationEventPublisher eventPublisher;
+  private final BookingConflictEngine bookingConflictEngine;
+  private final ItemLocks itemLocks;
+  private final TransactionTemplate transactionTemplate;
+  private final BookingExportWriter bookingExportWriter;
 
   @Override
   public BookingDTO book(Long bookerId, BookingRequestDTO bookingParam) {
     validateDate(bookingParam);
+    return itemLocks.withItemLock(bookingParam.getItemId(),
+        () -> transactionTemplate.execute(status -> doBook(bookerId, bookingParam)));
+  }
+
+  @Override
+  public BookingDTO updateBooking(Long ownerId, Long bookingId, Boolean isApproved) {
+    if (isApproved) {
+      BookingDTO approved = transactionTemplate.execute(
+          status -> approveWaiting(ownerId, bookingId));
+      if (approved != null) {
+        return approved;
+      }
+    }
+    userRepository.findById(ownerId)
+        .orElseThrow(() -> new UserNotFoundException(ownerId.toString()));
+
+    Booking booking = bookingRepository.findById(bookingId)
+        .orElseThrow(() -> new BookingNotFoundException(bookingId.toString()));
+
+    return itemLocks.withItemLock(booking.getItem().getId(),
+        () -> transactionTemplate.execute(status -> doUpdate(ownerId, bookingId, isApproved)));
+  }
+
+  private BookingDTO doBook(Long bookerId, BookingRequestDTO bookingParam) {
     User user = userRepository.findById(bookerId)
         .orElseThrow(() -> new UserNotFoundException(bookerId.toString()));
 
@@ -54,18 +110,156 @@ public class BookingServiceImpl implements BookingService {
 
     bookingParam.setStatus(BookingStatus.WAITING.name());
 
-    Booking result = bookingRepository.save(
-        BookingMapper.toBooking(bookingParam, user, item));
+    Booking result = bookingConflictEngine.reserve(item.getId(), bookingParam.getStart(),
+        bookingParam.getEnd(),
+        () -> bookingRepository.saveAndFlush(BookingMapper.toBooking(bookingParam, user, item)));
+    eventPublisher.publishEvent(new BookingChangedEvent(result));
     return BookingMapper.toBookingDTO(result);
   }
 
-
   @Override
-  @Transactional
-  public BookingDTO updateBooking(Long ownerId, Long bookingId, Boolean isApproved) {
+  public List<BookingDecisionResultDTO> updateBookings(Long ownerId,
+      List<BookingDecisionDTO> decisions) {
+    validateDecisions(decisions);
     userRepository.findById(ownerId)
         .orElseThrow(() -> new UserNotFoundException(ownerId.toString()));
 
+    List<Long> itemIds = bookingRepository.findItemIdsByIdIn(decisions.stream()
+        .map(BookingDecisionDTO::getBookingId)
+        .collect(Collectors.toSet()));
+    return itemLocks.withItemLocks(itemIds,
+        () -> transactionTemplate.execute(status -> doUpdateBookings(ownerId, decisions)));
+  }
+
+  private List<BookingDecisionResultDTO> doUpdateBookings(Long ownerId,
+      List<BookingDecisionDTO> decisions) {
+    Map<Long, Booking> bookings = bookingRepository.findAllWithItemByIdIn(decisions.stream()
+            .map(BookingDecisionDTO::getBookingId)
+            .collect(Collectors.toSet()))
+        .stream()
+        .collect(Collectors.toMap(Booking::getId, Function.identity()));
+    entityManager.clear();
+
+    BookingDecisionResultDTO[] results = new BookingDecisionResultDTO[decisions.size()];
+    List<Booking> changed = new ArrayList<>();
+    List<Integer> changedPositions = new ArrayList<>();
+    Map<Long, List<Booking>> reactivated = new TreeMap<>();
+    Set<Long> reactivatedIds = new HashSet<>();
+    Set<Long> seen = new HashSet<>();
+    for (int i = 0; i < decisions.size(); i++) {
+      Long bookingId = decisions.get(i).getBookingId();
+      try {
+        Booking booking = bookings.get(bookingId);
+        if (booking == null) {
+          throw new BookingNotFoundException(bookingId.toString());
+        }
+        if (!ownerId.equals(booking.getItem().getOwner().getId())) {
+          throw new UserNotFoundException(ownerId.toString());
+        }
+        if (!seen.add(bookingId)
+            || BookingStatus.APPROVED.name().equals(booking.getStatus())) {
+          throw new ValidateException();
+        }
+        boolean approved = decisions.get(i).getApproved();
+        if (approved && BookingStatus.REJECTED.name().equals(booking.getStatus())) {
+          reactivated.computeIfAbsent(booking.getItem().getId(), id -> new ArrayList<>())
+              .add(booking);
+          reactivatedIds.add(bookingId);
+        }
+        booking.setStatus(approved
+            ? BookingStatus.APPROVED.name()
+            : BookingStatus.REJECTED.name());
+        changed.add(booking);
+        changedPositions.add(i);
+      } catch (BookingNotFoundException | UserNotFoundException | ValidateException e) {
+        results[i] = BookingDecisionResultDTO.builder()
+            .bookingId(bookingId)
+            .error(e.getMessage())
+            .build();
+      }
+    }
+    Set<Long> conflicts = new HashSet<>();
+    reactivated.forEach((itemId, candidates) ->
+        conflicts.addAll(bookingConflictEngine.findConflicts(itemId, candidates)));
+    for (int i = changed.size() - 1; i >= 0; i--) {
+      Booking booking = changed.get(i);
+      if (conflicts.contains(booking.getId())) {
+        results[changedPositions.get(i)] = BookingDecisionResultDTO.builder()
+            .bookingId(booking.getId())
+            .error(new BookingConflictException(booking.getItem().getId().toString())
+                .getMessage())
+            .build();
+        changed.remove(i);
+        changedPositions.remove(i);
+      }
+    }
+
+    int[] counts = bookingRepository.updateBookingStatuses(changed);
+    Map<Long, Item> approvedItems = new HashMap<>();
+    for (int i = 0; i < changed.size(); i++) {
+      Booking booking = changed.get(i);
+      BookingDecisionResultDTO.BookingDecisionResultDTOBuilder result =
+          BookingDecisionResultDTO.builder().bookingId(booking.getId());
+      if (counts[i] == 0) {
+        results[changedPositions.get(i)] = result
+            .error(new ConcurrentUpdateException(booking.getId().toString()).getMessage())
+            .build();
+        continue;
+      }
+      booking.setVersion(booking.getVersion() + 1);
+      if (BookingStatus.APPROVED.name().equals(booking.getStatus())) {
+        approvedItems.putIfAbsent(booking.getItem().getId(), booking.getItem());
+        if (reactivatedIds.contains(booking.getId())) {
+          bookingConflictEngine.register(booking.getItem().getId(), booking);
+        }
+      } else {
+        bookingConflictEngine.release(booking.getItem().getId(), booking.getId());
+      }
+      eventPublisher.publishEvent(new BookingChangedEvent(booking));
+      results[changedPositions.get(i)] = result
+          .booking(BookingMapper.toBookingDTO(booking))
+          .build();
+    }
+    markItemsAvailable(approvedItems.values());
+    return Arrays.asList(results);
+  }
+
+  private void markItemsAvailable(Collection<Item> items) {
+    List<Item> unavailable = items.stream()
+        .filter(item -> !item.isAvailable())
+        .collect(Collectors.toList());
+    if (unavailable.isEmpty()) {
+      return;
+    }
+    itemRepository.markItemsAvailableByIdIn(unavailable.stream()
+        .map(Item::getId)
+        .collect(Collectors.toList()));
+    unavailable.forEach(item -> {
+      Item previous = ItemMapper.toSnapshot(item);
+      item.setAvailable(true);
+      eventPublisher.publishEvent(new ItemChangedEvent(item, previous));
+    });
+  }
+
+  private BookingDTO approveWaiting(Long ownerId, Long bookingId) {
+    if (bookingRepository.updateBookingStatusByIdAndOwnerId(bookingId, ownerId,
+        BookingStatus.WAITING.name(), BookingStatus.APPROVED.name()) == 0) {
+      return null;
+    }
+    boolean itemChanged = itemRepository.markItemAvailableByBookingId(bookingId) > 0;
+    Booking result = bookingRepository.findWithItemById(bookingId)
+        .orElseThrow(() -> new BookingNotFoundException(bookingId.toString()));
+
+    if (itemChanged) {
+      Item previous = ItemMapper.toSnapshot(result.getItem());
+      previous.setAvailable(false);
+      eventPublisher.publishEvent(new ItemChangedEvent(result.getItem(), previous));
+    }
+    eventPublisher.publishEvent(new BookingChangedEvent(result));
+    return BookingMapper.toBookingDTO(result);
+  }
+
+  private BookingDTO doUpdate(Long ownerId, Long bookingId, Boolean isApproved) {
     Booking booking = bookingRepository.findById(bookingId)
         .orElseThrow(() -> new BookingNotFoundException(bookingId.toString()));
 
@@ -79,15 +273,23 @@ public class BookingServiceImpl implements BookingService {
       throw new UserNotFoundException(ownerId.toString());
     }
     if (isApproved) {
-      itemRepository.updateItemAvailableById(item.getId(), isApproved);
-      bookingRepository.updateBookingStatusById(bookingId, BookingStatus.APPROVED.name());
+      if (itemRepository.updateItemAvailableByIdAndVersion(item.getId(), true,
+          item.getVersion()) == 0) {
+        throw new ConcurrentUpdateException(bookingId.toString());
+      }
+      Item previous = ItemMapper.toSnapshot(item);
+      item.setAvailable(true);
+      eventPublisher.publishEvent(new ItemChangedEvent(item, previous));
+      approve(booking);
     } else {
-      bookingRepository.updateBookingStatusById(bookingId, BookingStatus.REJECTED.name());
+      updateStatus(booking, BookingStatus.REJECTED);
+      bookingConflictEngine.release(item.getId(), bookingId);
     }
     var result = bookingRepository.findById(bookingId)
         .orElseThrow(() -> new BookingNotFoundException(bookingId.toString()));
 
     entityManager.refresh(result);
+    eventPublisher.publishEvent(new BookingChangedEvent(result));
     return BookingMapper.toBookingDTO(result);
   }
 
@@ -136,25 +338,89 @@ public class BookingServiceImpl implements BookingService {
         .collect(Collectors.toList());
   }
 
+  @Override
+  public List<BookingDTO> getBookingsByUser(Long bookerId, RequestBookingStatus state,
+      PageCursor cursor, int size) {
+    userRepository.findById(bookerId)
+        .orElseThrow(() -> new UserNotFoundException(bookerId.toString()));
+
+    return findBookingPageByUserIdAndStatus(bookerId, state, cursor, PageRequest.of(0, size))
+        .stream()
+        .map(BookingMapper::toBookingDTO)
+        .collect(Collectors.toList());
+  }
+
+  @Override
+  public List<BookingDTO> getBookingStatusByOwner(Long ownerId, RequestBookingStatus state,
+      PageCursor cursor, int size) {
+    userRepository.findById(ownerId)
+        .orElseThrow(() -> new UserNotFoundException(ownerId.toString()));
+
+    List<Item> items = itemRepository.findItemsByOwnerId(ownerId);
+    if (items.isEmpty()) {
+      throw new ItemNotFoundException(ownerId.toString());
+    }
+    return findBookingPageByOwnerIdAndStatus(ownerId, state, cursor, PageRequest.of(0, size))
+        .stream()
+        .map(BookingMapper::toBookingDTO)
+        .collect(Collectors.toList());
+  }
+
+  @Override
+  public StreamingResponseBody exportBookingsByOwner(Long ownerId, BookingExportFormat format) {
+    userRepository.findById(ownerId)
+        .orElseThrow(() -> new UserNotFoundException(ownerId.toString()));
+
+    return out -> transactionTemplate.executeWithoutResult(status -> {
+      try (Stream<Booking> bookings = bookingRepository.streamBookingsByOwnerId(ownerId)) {
+        bookingExportWriter.write(bookings.map(booking -> {
+          BookingDTO dto = BookingMapper.toBookingDTO(booking);
+          entityManager.detach(booking);
+          return dto;
+        }), format, out);
+      }
+    });
+  }
+
+  private void approve(Booking booking) {
+    if (!BookingStatus.REJECTED.name().equals(booking.getStatus())) {
+      updateStatus(booking, BookingStatus.APPROVED);
+      return;
+    }
+    bookingConflictEngine.reserve(booking.getItem().getId(), booking.getStart(),
+        booking.getEnd(), () -> {
+          updateStatus(booking, BookingStatus.APPROVED);
+          return booking;
+        });
+  }
+
+  private void updateStatus(Booking booking, BookingStatus status) {
+    if (bookingRepository.updateBookingStatusByIdAndVersion(booking.getId(), status.name(),
+        booking.getVersion()) == 0) {
+      throw new ConcurrentUpdateException(booking.getId().toString());
+    }
+  }
+
   private List<Booking> findBookingsByOwnerIdAndStatus(Long ownerId, RequestBookingStatus state,
       Pageable pageable) {
     switch (state) {
       case ALL:
-        return bookingRepository.findBookingsByItem_OwnerIdOrderByStartDesc(ownerId, pageable);
+        return bookingRepository.findBookingsByItem_OwnerIdOrderByStartDescIdDesc(ownerId,
+            pageable);
       case WAITING:
-        return bookingRepository.findBookingsByItem_OwnerIdAndStatusOrderByStartDesc(ownerId,
+        return bookingRepository.findBookingsByItem_OwnerIdAndStatusOrderByStartDescIdDesc(ownerId,
             BookingStatus.WAITING.name(), pageable);
       case REJECTED:
-        return bookingRepository.findBookingsByItem_OwnerIdAndStatusOrderByStartDesc(ownerId,
+        return bookingRepository.findBookingsByItem_OwnerIdAndStatusOrderByStartDescIdDesc(ownerId,
             BookingStatus.REJECTED.name(), pageable);
       case CURRENT:
         return bookingRepository.findCurrentBookingByOwnerId(ownerId, pageable);
       case PAST:
-        return bookingRepository.findBookingsByItem_OwnerIdAndEndBeforeOrderByStartDesc(ownerId,
-            LocalDateTime.now(), pageable);
+        return bookingRepository.findBookingsByItem_OwnerIdAndEndBeforeOrderByStartDescIdDesc(
+            ownerId, LocalDateTime.now(), pageable);
       case FUTURE:
-        return bookingRepository.findBookingsByItem_OwnerIdAndStartAfterOrderByStartDesc(ownerId,
-            LocalDateTime.now(), pageable);
+        return bookingRepository.findBookingsByItem_OwnerIdAndStartAfterOrderByStartDescIdDesc(
+            ownerId, LocalDateTime.now(), pageable);
       default:
         throw new RequestStatusException(state.name());
     }
@@ -164,12 +430,12 @@ public class BookingServiceImpl implements BookingService {
       Pageable pageable) {
     switch (state) {
       case ALL:
-        return bookingRepository.findBookingByBookerIdOrderByStartDesc(bookerId, pageable);
+        return bookingRepository.findBookingByBookerIdOrderByStartDescIdDesc(bookerId, pageable);
       case WAITING:
-        return bookingRepository.findBookingByBookerIdAndStatusOrderByStartDesc(bookerId,
+        return bookingRepository.findBookingByBookerIdAndStatusOrderByStartDescIdDesc(bookerId,
             BookingStatus.WAITING.name(), pageable);
       case REJECTED:
-        return bookingRepository.findBookingByBookerIdAndStatusOrderByStartDesc(bookerId,
+        return bookingRepository.findBookingByBookerIdAndStatusOrderByStartDescIdDesc(bookerId,
             BookingStatus.REJECTED.name(), pageable);
       case CURRENT:
         return bookingRepository.findCurrentBookingByBookerId(bookerId, pageable);
@@ -182,6 +448,62 @@ public class BookingServiceImpl implements BookingService {
     }
   }
 
+  private List<Booking> findBookingPageByOwnerIdAndStatus(Long ownerId,
+      RequestBookingStatus state, PageCursor cursor, Pageable pageable) {
+    LocalDateTime start = cursor.requireTimestamp();
+    Long id = cursor.getId();
+    switch (state) {
+      case ALL:
+        return bookingRepository.findBookingPageByOwnerId(ownerId, start, id, pageable);
+      case WAITING:
+        return bookingRepository.findBookingPageByOwnerIdAndStatus(ownerId,
+            BookingStatus.WAITING.name(), start, id, pageable);
+      case REJECTED:
+        return bookingRepository.findBookingPageByOwnerIdAndStatus(ownerId,
+            BookingStatus.REJECTED.name(), start, id, pageable);
+      case CURRENT:
+        return bookingRepository.findCurrentBookingPageByOwnerId(ownerId, start, id, pageable);
+      case PAST:
+        return bookingRepository.findPastBookingPageByOwnerId(ownerId, start, id, pageable);
+      case FUTURE:
+        return bookingRepository.findFutureBookingPageByOwnerId(ownerId, start, id, pageable);
+      default:
+        throw new RequestStatusException(state.name());
+    }
+  }
+
+  private List<Booking> findBookingPageByUserIdAndStatus(Long bookerId,
+      RequestBookingStatus state, PageCursor cursor, Pageable pageable) {
+    LocalDateTime start = cursor.requireTimestamp();
+    Long id = cursor.getId();
+    switch (state) {
+      case ALL:
+        return bookingRepository.findBookingPageByBookerId(bookerId, start, id, pageable);
+      case WAITING:
+        return bookingRepository.findBookingPageByBookerIdAndStatus(bookerId,
+            BookingStatus.WAITING.name(), start, id, pageable);
+      case REJECTED:
+        return bookingRepository.findBookingPageByBookerIdAndStatus(bookerId,
+            BookingStatus.REJECTED.name(), start, id, pageable);
+      case CURRENT:
+        return bookingRepository.findCurrentBookingPageByBookerId(bookerId, start, id, pageable);
+      case PAST:
+        return bookingRepository.findPastBookingPageByBookerId(bookerId, start, id, pageable);
+      case FUTURE:
+        return bookingRepository.findFutureBookingPageByBookerId(bookerId, start, id, pageable);
+      default:
+        throw new RequestStatusException(state.name());
+    }
+  }
+
+  private void validateDecisions(List<BookingDecisionDTO> decisions) {
+    if (decisions == null || decisions.isEmpty() || decisions.size() > MAX_BATCH_SIZE
+        || decisions.stream().anyMatch(decision -> decision == null
+        || decision.getBookingId() == null || decision.getApproved() == null)) {
+      throw new ValidateException();
+    }
+  }
+
   private void validateDate(BookingRequestDTO bookingParam) {
     if (bookingParam.getStart().equals(bookingParam.getEnd())
         || bookingParam.getStart().isAfter(bookingParam.getEnd())
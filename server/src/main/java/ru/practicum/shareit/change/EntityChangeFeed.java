@@ -0,0 +1,114 @@
+package ru.practicum.shareit.change;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import ru.practicum.shareit.booking.event.BookingChangedEvent;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.item.event.ItemChangedEvent;
+import ru.practicum.shareit.item.model.Item;
+
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "shareit.changes.enabled", havingValue = "true")
+@RequiredArgsConstructor
+public class EntityChangeFeed {
+
+  private static final String ITEM = "ITEM";
+  private static final String BOOKING = "BOOKING";
+
+  private static final String INSERT = "insert into entity_changes (origin, entity, entity_id, "
+      + "item_id, status, name, description, is_available, previous_name, previous_description, "
+      + "previous_available) values (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+  private static final String SELECT_RECENT = "select id, entity, entity_id, item_id, status, "
+      + "name, description, is_available, previous_name, previous_description, previous_available "
+      + "from entity_changes where changed_at >= localtimestamp - interval '60' second "
+      + "and origin <> ? order by id";
+  private static final String DELETE_EXPIRED = "delete from entity_changes "
+      + "where changed_at < localtimestamp - interval '1' hour";
+
+  private final JdbcTemplate jdbcTemplate;
+  private final ApplicationEventPublisher eventPublisher;
+  private final String origin = UUID.randomUUID().toString();
+  private Set<Long> replayed = Set.of();
+
+  @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true,
+      condition = "!#event.remote")
+  public void onItemChanged(ItemChangedEvent event) {
+    Item item = event.getItem();
+    Item previous = event.getPrevious();
+    jdbcTemplate.update(INSERT, origin, ITEM, item.getId(), item.getId(), null, item.getName(),
+        item.getDescription(), item.isAvailable(),
+        previous != null ? previous.getName() : null,
+        previous != null ? previous.getDescription() : null,
+        previous != null ? previous.isAvailable() : null);
+  }
+
+  @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true,
+      condition = "!#event.remote")
+  public void onBookingChanged(BookingChangedEvent event) {
+    Booking booking = event.getBooking();
+    jdbcTemplate.update(INSERT, origin, BOOKING, booking.getId(), booking.getItem().getId(),
+        booking.getStatus(), null, null, null, null, null, null);
+  }
+
+  @Scheduled(fixedDelayString = "${shareit.changes.poll-interval:1000}")
+  public synchronized void poll() {
+    Set<Long> seen = new HashSet<>();
+    List<Object> events = new ArrayList<>();
+    jdbcTemplate.query(SELECT_RECENT, rs -> {
+      if (seen.add(rs.getLong("id")) && !replayed.contains(rs.getLong("id"))) {
+        events.add(toEvent(rs));
+      }
+    }, origin);
+    replayed = seen;
+    events.forEach(eventPublisher::publishEvent);
+    if (!events.isEmpty()) {
+      log.debug("Replayed {} changes made by other instances", events.size());
+    }
+  }
+
+  @Scheduled(fixedDelay = 60_000)
+  public void purge() {
+    jdbcTemplate.update(DELETE_EXPIRED);
+  }
+
+  private static Object toEvent(ResultSet rs) throws SQLException {
+    long itemId = rs.getLong("item_id");
+    if (BOOKING.equals(rs.getString("entity"))) {
+      return new BookingChangedEvent(Booking.builder()
+          .id(rs.getLong("entity_id"))
+          .item(Item.builder().id(itemId).build())
+          .status(rs.getString("status"))
+          .build(), true);
+    }
+    Item item = Item.builder()
+        .id(itemId)
+        .name(rs.getString("name"))
+        .description(rs.getString("description"))
+        .available(rs.getBoolean("is_available"))
+        .build();
+    boolean previousAvailable = rs.getBoolean("previous_available");
+    Item previous = rs.wasNull() ? null : Item.builder()
+        .id(itemId)
+        .name(rs.getString("previous_name"))
+        .description(rs.getString("previous_description"))
+        .available(previousAvailable)
+        .build();
+    return new ItemChangedEvent(item, previous, true);
+  }
+
+}
@@ -0,0 +1,9 @@
+package ru.practicum.shareit.exeption;
+
+public class BookingConflictException extends RuntimeException {
+
+  public BookingConflictException(String message) {
+    super("Item c id = " + message + " уже забронирован на это время!");
+  }
+
+}
@@ -0,0 +1,9 @@
+package ru.practicum.shareit.exeption;
+
+public class ConcurrentUpdateException extends RuntimeException {
+
+  public ConcurrentUpdateException(String message) {
+    super("Booking c id = " + message + " был изменён параллельно, повторите запрос!");
+  }
+
+}
@@ -3,6 +3,7 @@ package ru.practicum.shareit.exeption;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -31,6 +32,24 @@ public class ErrorHandlingControllerAdvice {
     return new ApiError(ex.getMessage());
   }
 
+  @ResponseStatus(HttpStatus.CONFLICT)
+  @ExceptionHandler(BookingConflictException.class)
+  public ApiError handleValidationExceptions(BookingConflictException ex) {
+    return new ApiError(ex.getMessage());
+  }
+
+  @ResponseStatus(HttpStatus.CONFLICT)
+  @ExceptionHandler(ConcurrentUpdateException.class)
+  public ApiError handleValidationExceptions(ConcurrentUpdateException ex) {
+    return new ApiError(ex.getMessage());
+  }
+
+  @ResponseStatus(HttpStatus.CONFLICT)
+  @ExceptionHandler(OptimisticLockingFailureException.class)
+  public ApiError handleValidationExceptions(OptimisticLockingFailureException ex) {
+    return new ApiError(ex.getMessage());
+  }
+
   @ResponseStatus(HttpStatus.NOT_FOUND)
   @ExceptionHandler(UserNotFoundException.class)
   public ApiError handleValidationExceptions(UserNotFoundException ex) {
@@ -61,6 +80,12 @@ public class ErrorHandlingControllerAdvice {
     return new ApiError("Unknown state: " + ex.getValue().toString());
   }
 
+  @ResponseStatus(HttpStatus.BAD_REQUEST)
+  @ExceptionHandler(InvalidCursorException.class)
+  public ApiError handleValidationExceptions(InvalidCursorException ex) {
+    return new ApiError(ex.getMessage());
+  }
+
   @ResponseStatus(HttpStatus.NOT_FOUND)
   @ExceptionHandler(BookingNotFoundException.class)
   public ApiError handleValidationExceptions(BookingNotFoundException ex) {
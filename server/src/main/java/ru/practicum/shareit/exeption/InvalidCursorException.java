@@ -0,0 +1,9 @@
+package ru.practicum.shareit.exeption;
+
+public class InvalidCursorException extends RuntimeException {
+
+  public InvalidCursorException(String cursor) {
+    super("Некорректный курсор: " + cursor);
+  }
+
+}
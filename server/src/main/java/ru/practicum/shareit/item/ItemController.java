@@ -1,9 +1,16 @@
 package ru.practicum.shareit.item;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDateTime;
 import java.util.List;
 import javax.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.format.annotation.DateTimeFormat.ISO;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -13,11 +20,15 @@ import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import ru.practicum.shareit.item.bulk.ItemImportFormat;
+import ru.practicum.shareit.item.dto.AvailabilityWindowDTO;
 import ru.practicum.shareit.item.dto.CommentDTO;
 import ru.practicum.shareit.item.dto.CommentRequestDTO;
 import ru.practicum.shareit.item.dto.ItemDTO;
 import ru.practicum.shareit.item.dto.ItemFullDTO;
+import ru.practicum.shareit.item.dto.ItemImportReportDTO;
 import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.utils.PageCursor;
 
 @RestController
 @RequestMapping("/items")
@@ -34,6 +45,17 @@ public class ItemController {
     return itemService.add(userId, item);
   }
 
+  @PostMapping(value = "/bulk",
+      consumes = {ItemImportFormat.NDJSON_VALUE, ItemImportFormat.CSV_VALUE})
+  public ItemImportReportDTO importItems(
+      @RequestHeader(REQUEST_HEADER_USER_ID) long userId,
+      @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+      InputStream body) throws IOException {
+    try (body) {
+      return itemService.importItems(userId, body, ItemImportFormat.of(contentType));
+    }
+  }
+
   @PatchMapping("/{itemId}")
   public ItemDTO edit(
       @RequestHeader(REQUEST_HEADER_USER_ID) long userId,
@@ -50,21 +72,58 @@ public class ItemController {
   }
 
   @GetMapping
-  public List<ItemFullDTO> getUserItems(
+  public ResponseEntity<List<ItemFullDTO>> getUserItems(
       @RequestHeader(REQUEST_HEADER_USER_ID) long userId,
       @RequestParam(required = false, defaultValue = "0") final Integer from,
-      @RequestParam(required = false, defaultValue = "10") final Integer size
+      @RequestParam(required = false, defaultValue = "10") final Integer size,
+      @RequestParam(required = false) final String cursor
   ) {
-    return itemService.getUserItems(userId, PageRequest.of(from, size));
+    List<ItemFullDTO> result = cursor != null
+        ? itemService.getUserItems(userId, PageCursor.decode(cursor), size)
+        : itemService.getUserItems(userId, PageRequest.of(from, size));
+    return PageCursor.withNextCursor(result, size, item -> PageCursor.of(item.getId()));
   }
 
   @GetMapping("/search")
-  public List<ItemDTO> search(
+  public ResponseEntity<List<ItemDTO>> search(
       @RequestParam String text,
       @RequestParam(required = false, defaultValue = "0") final Integer from,
+      @RequestParam(required = false, defaultValue = "10") final Integer size,
+      @RequestParam(required = false, defaultValue = "false") final boolean fuzzy,
+      @RequestParam(required = false) final String cursor
+  ) {
+    List<ItemDTO> result;
+    if (cursor != null) {
+      PageCursor after = PageCursor.decode(cursor);
+      result = fuzzy
+          ? itemService.fuzzySearch(text, after, size)
+          : itemService.search(text, after, size);
+    } else {
+      result = fuzzy
+          ? itemService.fuzzySearch(text, PageRequest.of(from, size))
+          : itemService.search(text, PageRequest.of(from, size));
+      if (!fuzzy && itemService.isSearchRankOrdered()) {
+        return ResponseEntity.ok(result);
+      }
+    }
+    return PageCursor.withNextCursor(result, size, item -> PageCursor.of(item.getId()));
+  }
+
+  @GetMapping("/{itemId}/availability")
+  public List<AvailabilityWindowDTO> getAvailability(
+      @PathVariable Long itemId,
+      @RequestParam @DateTimeFormat(iso = ISO.DATE_TIME) final LocalDateTime from,
+      @RequestParam @DateTimeFormat(iso = ISO.DATE_TIME) final LocalDateTime to
+  ) {
+    return itemService.getAvailability(itemId, from, to);
+  }
+
+  @GetMapping("/suggest")
+  public List<String> suggest(
+      @RequestParam String prefix,
       @RequestParam(required = false, defaultValue = "10") final Integer size
   ) {
-    return itemService.search(text, PageRequest.of(from, size));
+    return itemService.suggest(prefix, size);
   }
 
   @PostMapping("/{itemId}/comment")
@@ -0,0 +1,113 @@
+package ru.practicum.shareit.item.availability;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.conflict.BookingConflictEngine;
+import ru.practicum.shareit.booking.event.BookingChangedEvent;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.item.dto.AvailabilityWindowDTO;
+
+@Component
+@RequiredArgsConstructor
+public class ItemAvailabilityCalendar {
+
+  private static final int MAX_CACHED_ITEMS = 10_000;
+
+  private final BookingRepository bookingRepository;
+  private final AtomicLong generation = new AtomicLong();
+  private final Map<Long, List<Interval>> busy = Collections.synchronizedMap(
+      new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, List<Interval>> eldest) {
+          return size() > MAX_CACHED_ITEMS;
+        }
+      });
+
+  public List<AvailabilityWindowDTO> freeWindows(Long itemId, LocalDateTime from,
+      LocalDateTime to) {
+    List<AvailabilityWindowDTO> result = new ArrayList<>();
+    LocalDateTime cursor = from;
+    for (Interval interval : busyIntervals(itemId)) {
+      if (!interval.end.isAfter(cursor)) {
+        continue;
+      }
+      if (!interval.start.isBefore(to)) {
+        break;
+      }
+      if (interval.start.isAfter(cursor)) {
+        result.add(window(cursor, interval.start));
+      }
+      cursor = interval.end;
+    }
+    if (cursor.isBefore(to)) {
+      result.add(window(cursor, to));
+    }
+    return result;
+  }
+
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onBookingChanged(BookingChangedEvent event) {
+    generation.incrementAndGet();
+    busy.remove(event.getBooking().getItem().getId());
+  }
+
+  private List<Interval> busyIntervals(Long itemId) {
+    List<Interval> cached = busy.get(itemId);
+    if (cached != null) {
+      return cached;
+    }
+    long loadedAt = generation.get();
+    List<Interval> merged = merge(bookingRepository.findAllByItem_IdAndStatusInOrderByStartAsc(
+        itemId, BookingConflictEngine.ACTIVE_STATUSES));
+    synchronized (busy) {
+      if (generation.get() == loadedAt) {
+        busy.put(itemId, merged);
+      }
+    }
+    return merged;
+  }
+
+  private static List<Interval> merge(List<Booking> bookings) {
+    List<Interval> merged = new ArrayList<>();
+    for (Booking booking : bookings) {
+      Interval last = merged.isEmpty() ? null : merged.get(merged.size() - 1);
+      if (last != null && !booking.getStart().isAfter(last.end)) {
+        if (booking.getEnd().isAfter(last.end)) {
+          merged.set(merged.size() - 1, new Interval(last.start, booking.getEnd()));
+        }
+      } else {
+        merged.add(new Interval(booking.getStart(), booking.getEnd()));
+      }
+    }
+    return Collections.unmodifiableList(merged);
+  }
+
+  private static AvailabilityWindowDTO window(LocalDateTime start, LocalDateTime end) {
+    return AvailabilityWindowDTO.builder()
+        .start(start)
+        .end(end)
+        .build();
+  }
+
+  private static final class Interval {
+
+    private final LocalDateTime start;
+    private final LocalDateTime end;
+
+    private Interval(LocalDateTime start, LocalDateTime end) {
+      this.start = start;
+      this.end = end;
+    }
+
+  }
+
+}
@@ -0,0 +1,60 @@
+package ru.practicum.shareit.item.bulk;
+
+import java.io.IOException;
+import java.io.Reader;
+
+class BoundedLineReader {
+
+  private final Reader reader;
+  private final int maxLength;
+  private final StringBuilder buffer = new StringBuilder();
+  private long number;
+  private boolean tooLong;
+  private boolean eof;
+
+  BoundedLineReader(Reader reader, int maxLength) {
+    this.reader = reader;
+    this.maxLength = maxLength;
+  }
+
+  boolean next() throws IOException {
+    if (eof) {
+      return false;
+    }
+    buffer.setLength(0);
+    tooLong = false;
+    int c;
+    while ((c = reader.read()) != -1 && c != '\n') {
+      if (buffer.length() < maxLength) {
+        buffer.append((char) c);
+      } else {
+        tooLong = true;
+      }
+    }
+    if (c == -1) {
+      eof = true;
+      if (buffer.length() == 0 && !tooLong) {
+        return false;
+      }
+    }
+    int last = buffer.length() - 1;
+    if (last >= 0 && buffer.charAt(last) == '\r') {
+      buffer.setLength(last);
+    }
+    number++;
+    return true;
+  }
+
+  String line() {
+    return buffer.toString();
+  }
+
+  long number() {
+    return number;
+  }
+
+  boolean tooLong() {
+    return tooLong;
+  }
+
+}
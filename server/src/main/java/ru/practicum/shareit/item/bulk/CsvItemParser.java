@@ -0,0 +1,114 @@
+package ru.practicum.shareit.item.bulk;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import ru.practicum.shareit.exeption.ValidateException;
+import ru.practicum.shareit.item.dto.ItemDTO;
+
+class CsvItemParser implements ItemLineParser {
+
+  private static final String NAME = "name";
+  private static final String DESCRIPTION = "description";
+  private static final String AVAILABLE = "available";
+  private static final String REQUEST_ID = "requestid";
+
+  private final int columns;
+  private final int name;
+  private final int description;
+  private final int available;
+  private final int requestId;
+
+  private CsvItemParser(List<String> header) {
+    columns = header.size();
+    name = header.indexOf(NAME);
+    description = header.indexOf(DESCRIPTION);
+    available = header.indexOf(AVAILABLE);
+    requestId = header.indexOf(REQUEST_ID);
+  }
+
+  static CsvItemParser fromHeader(String header) {
+    List<String> columns = new ArrayList<>();
+    for (String column : split(header)) {
+      columns.add(column.trim().toLowerCase(Locale.ROOT));
+    }
+    if (!columns.contains(NAME) || !columns.contains(DESCRIPTION)
+        || !columns.contains(AVAILABLE)) {
+      throw new ValidateException();
+    }
+    return new CsvItemParser(columns);
+  }
+
+  @Override
+  public ItemDTO parse(String line) {
+    List<String> fields = split(line);
+    if (fields.size() != columns) {
+      throw new LineFormatException("Expected " + columns + " columns, got " + fields.size());
+    }
+    return ItemDTO.builder()
+        .name(emptyToNull(fields.get(name)))
+        .description(emptyToNull(fields.get(description)))
+        .available(parseBoolean(fields.get(available)))
+        .requestId(requestId < 0 ? null : parseId(fields.get(requestId)))
+        .build();
+  }
+
+  static List<String> split(String line) {
+    List<String> fields = new ArrayList<>();
+    StringBuilder field = new StringBuilder();
+    boolean quoted = false;
+    for (int i = 0; i < line.length(); i++) {
+      char c = line.charAt(i);
+      if (quoted) {
+        if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+          field.append('"');
+          i++;
+        } else if (c == '"') {
+          quoted = false;
+        } else {
+          field.append(c);
+        }
+      } else if (c == '"' && field.length() == 0) {
+        quoted = true;
+      } else if (c == ',') {
+        fields.add(field.toString());
+        field.setLength(0);
+      } else {
+        field.append(c);
+      }
+    }
+    if (quoted) {
+      throw new LineFormatException("Unterminated quoted field");
+    }
+    fields.add(field.toString());
+    return fields;
+  }
+
+  private static String emptyToNull(String value) {
+    return value.isEmpty() ? null : value;
+  }
+
+  private static Boolean parseBoolean(String value) {
+    String trimmed = value.trim();
+    if (trimmed.isEmpty()) {
+      return null;
+    }
+    if ("true".equalsIgnoreCase(trimmed) || "false".equalsIgnoreCase(trimmed)) {
+      return Boolean.valueOf(trimmed);
+    }
+    throw new LineFormatException("available: must be true or false");
+  }
+
+  private static Long parseId(String value) {
+    String trimmed = value.trim();
+    if (trimmed.isEmpty()) {
+      return null;
+    }
+    try {
+      return Long.valueOf(trimmed);
+    } catch (NumberFormatException e) {
+      throw new LineFormatException("requestId: must be a number");
+    }
+  }
+
+}
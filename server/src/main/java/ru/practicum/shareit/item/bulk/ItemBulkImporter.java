@@ -0,0 +1,199 @@
+package ru.practicum.shareit.item.bulk;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import javax.persistence.EntityManager;
+import javax.validation.ConstraintViolation;
+import javax.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.exeption.ItemRequestNotFoundException;
+import ru.practicum.shareit.item.dto.ItemDTO;
+import ru.practicum.shareit.item.dto.ItemImportErrorDTO;
+import ru.practicum.shareit.item.dto.ItemImportReportDTO;
+import ru.practicum.shareit.item.event.ItemChangedEvent;
+import ru.practicum.shareit.item.mapper.ItemMapper;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.request.ItemRequestRepository;
+import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.user.model.User;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ItemBulkImporter {
+
+  static final int CHUNK_SIZE = 500;
+  static final int MAX_LINE_LENGTH = 16 * 1024;
+  static final int MAX_REPORTED_ERRORS = 1000;
+
+  private final ItemRepository itemRepository;
+  private final ItemRequestRepository requestRepository;
+  private final ObjectMapper objectMapper;
+  private final Validator validator;
+  private final TransactionTemplate transactionTemplate;
+  private final ApplicationEventPublisher eventPublisher;
+  private final EntityManager entityManager;
+
+  public ItemImportReportDTO importItems(User owner, InputStream body, ItemImportFormat format) {
+    Report report = new Report();
+    BoundedLineReader reader = new BoundedLineReader(
+        new InputStreamReader(body, StandardCharsets.UTF_8), MAX_LINE_LENGTH);
+    try {
+      ItemLineParser parser = format == ItemImportFormat.CSV
+          ? readHeader(reader)
+          : new NdjsonItemParser(objectMapper.readerFor(ItemDTO.class));
+      List<ParsedLine> chunk = new ArrayList<>(CHUNK_SIZE);
+      while (parser != null && reader.next()) {
+        ParsedLine line = parse(reader, parser, report);
+        if (line != null) {
+          chunk.add(line);
+        }
+        if (chunk.size() == CHUNK_SIZE) {
+          persist(owner, chunk, report);
+          chunk.clear();
+        }
+      }
+      persist(owner, chunk, report);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    log.info("Imported {} items of user {}, {} lines failed", report.imported, owner.getId(),
+        report.failed);
+    return report.toDto();
+  }
+
+  private CsvItemParser readHeader(BoundedLineReader reader) throws IOException {
+    while (reader.next()) {
+      if (!reader.line().isBlank()) {
+        return CsvItemParser.fromHeader(reader.line());
+      }
+    }
+    return null;
+  }
+
+  private ParsedLine parse(BoundedLineReader reader, ItemLineParser parser, Report report) {
+    if (reader.tooLong()) {
+      report.fail(reader.number(), "Line exceeds " + MAX_LINE_LENGTH + " characters");
+      return null;
+    }
+    if (reader.line().isBlank()) {
+      return null;
+    }
+    ItemDTO item;
+    try {
+      item = parser.parse(reader.line());
+    } catch (LineFormatException e) {
+      report.fail(reader.number(), e.getMessage());
+      return null;
+    }
+    if (item == null) {
+      report.fail(reader.number(), "Empty item");
+      return null;
+    }
+    Set<ConstraintViolation<ItemDTO>> violations = validator.validate(item);
+    if (!violations.isEmpty()) {
+      report.fail(reader.number(), violations.stream()
+          .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+          .sorted()
+          .collect(Collectors.joining("; ")));
+      return null;
+    }
+    item.setId(null);
+    return new ParsedLine(reader.number(), item);
+  }
+
+  private void persist(User owner, List<ParsedLine> chunk, Report report) {
+    if (chunk.isEmpty()) {
+      return;
+    }
+    Map<Long, ItemRequest> requests = requestRepository.findAllById(chunk.stream()
+            .map(line -> line.item.getRequestId())
+            .filter(Objects::nonNull)
+            .collect(Collectors.toSet())).stream()
+        .collect(Collectors.toMap(ItemRequest::getId, Function.identity()));
+
+    List<ParsedLine> lines = new ArrayList<>(chunk.size());
+    List<Item> items = new ArrayList<>(chunk.size());
+    for (ParsedLine line : chunk) {
+      Long requestId = line.item.getRequestId();
+      if (requestId == null) {
+        items.add(ItemMapper.toItem(line.item, owner));
+      } else if (requests.containsKey(requestId)) {
+        items.add(ItemMapper.toItemWithRequest(line.item, owner, requests.get(requestId)));
+      } else {
+        report.fail(line.number, new ItemRequestNotFoundException(requestId.toString())
+            .getMessage());
+        continue;
+      }
+      lines.add(line);
+    }
+    if (items.isEmpty()) {
+      return;
+    }
+    try {
+      transactionTemplate.executeWithoutResult(status -> itemRepository.saveAll(items)
+          .forEach(item -> eventPublisher.publishEvent(new ItemChangedEvent(item, null))));
+      report.imported += items.size();
+    } catch (DataAccessException e) {
+      log.warn("Failed to import chunk of {} items: {}", items.size(), e.getMessage());
+      lines.forEach(line -> report.fail(line.number, e.getMostSpecificCause().getMessage()));
+    } finally {
+      entityManager.clear();
+    }
+  }
+
+  private static class ParsedLine {
+
+    private final long number;
+    private final ItemDTO item;
+
+    private ParsedLine(long number, ItemDTO item) {
+      this.number = number;
+      this.item = item;
+    }
+
+  }
+
+  private static class Report {
+
+    private long imported;
+    private long failed;
+    private final List<ItemImportErrorDTO> errors = new ArrayList<>();
+
+    private void fail(long line, String error) {
+      failed++;
+      if (errors.size() < MAX_REPORTED_ERRORS) {
+        errors.add(ItemImportErrorDTO.builder().line(line).error(error).build());
+      }
+    }
+
+    private ItemImportReportDTO toDto() {
+      errors.sort(Comparator.comparingLong(ItemImportErrorDTO::getLine));
+      return ItemImportReportDTO.builder()
+          .imported(imported)
+          .failed(failed)
+          .errors(errors)
+          .build();
+    }
+
+  }
+
+}
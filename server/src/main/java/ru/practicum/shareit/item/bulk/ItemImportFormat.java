@@ -0,0 +1,35 @@
+package ru.practicum.shareit.item.bulk;
+
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import ru.practicum.shareit.exeption.ValidateException;
+
+public enum ItemImportFormat {
+
+  NDJSON(ItemImportFormat.NDJSON_VALUE),
+  CSV(ItemImportFormat.CSV_VALUE);
+
+  public static final String NDJSON_VALUE = "application/x-ndjson";
+  public static final String CSV_VALUE = "text/csv";
+
+  private final MediaType mediaType;
+
+  ItemImportFormat(String mediaType) {
+    this.mediaType = MediaType.parseMediaType(mediaType);
+  }
+
+  public static ItemImportFormat of(String contentType) {
+    try {
+      MediaType requested = MediaType.parseMediaType(contentType);
+      for (ItemImportFormat format : values()) {
+        if (format.mediaType.isCompatibleWith(requested)) {
+          return format;
+        }
+      }
+    } catch (InvalidMediaTypeException e) {
+      throw new ValidateException();
+    }
+    throw new ValidateException();
+  }
+
+}
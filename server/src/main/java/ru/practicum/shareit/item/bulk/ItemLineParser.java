@@ -0,0 +1,9 @@
+package ru.practicum.shareit.item.bulk;
+
+import ru.practicum.shareit.item.dto.ItemDTO;
+
+interface ItemLineParser {
+
+  ItemDTO parse(String line);
+
+}
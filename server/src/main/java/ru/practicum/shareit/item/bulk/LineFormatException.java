@@ -0,0 +1,9 @@
+package ru.practicum.shareit.item.bulk;
+
+class LineFormatException extends RuntimeException {
+
+  LineFormatException(String message) {
+    super(message);
+  }
+
+}
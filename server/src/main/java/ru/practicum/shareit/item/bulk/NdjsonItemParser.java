@@ -0,0 +1,24 @@
+package ru.practicum.shareit.item.bulk;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectReader;
+import ru.practicum.shareit.item.dto.ItemDTO;
+
+class NdjsonItemParser implements ItemLineParser {
+
+  private final ObjectReader reader;
+
+  NdjsonItemParser(ObjectReader reader) {
+    this.reader = reader;
+  }
+
+  @Override
+  public ItemDTO parse(String line) {
+    try {
+      return reader.readValue(line);
+    } catch (JsonProcessingException e) {
+      throw new LineFormatException("Malformed JSON: " + e.getOriginalMessage());
+    }
+  }
+
+}
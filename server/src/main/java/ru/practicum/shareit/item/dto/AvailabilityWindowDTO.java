@@ -0,0 +1,14 @@
+package ru.practicum.shareit.item.dto;
+
+import java.time.LocalDateTime;
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class AvailabilityWindowDTO {
+
+  private LocalDateTime start;
+  private LocalDateTime end;
+
+}
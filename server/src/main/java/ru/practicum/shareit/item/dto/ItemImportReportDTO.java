@@ -0,0 +1,15 @@
+package ru.practicum.shareit.item.dto;
+
+import java.util.List;
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class ItemImportReportDTO {
+
+  private long imported;
+  private long failed;
+  private List<ItemImportErrorDTO> errors;
+
+}
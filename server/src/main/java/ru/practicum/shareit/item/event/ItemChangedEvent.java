@@ -0,0 +1,19 @@
+package ru.practicum.shareit.item.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import ru.practicum.shareit.item.model.Item;
+
+@Getter
+@AllArgsConstructor
+public class ItemChangedEvent {
+
+  private final Item item;
+  private final Item previous;
+  private final boolean remote;
+
+  public ItemChangedEvent(Item item, Item previous) {
+    this(item, previous, false);
+  }
+
+}
@@ -62,4 +62,13 @@ public class ItemMapper {
         .build();
   }
 
+  public static Item toSnapshot(Item item) {
+    return Item.builder()
+        .id(item.getId())
+        .name(item.getName())
+        .description(item.getDescription())
+        .available(item.isAvailable())
+        .build();
+  }
+
 }
@@ -6,9 +6,12 @@ import javax.persistence.FetchType;
 import javax.persistence.GeneratedValue;
 import javax.persistence.GenerationType;
 import javax.persistence.Id;
+import javax.persistence.Index;
 import javax.persistence.JoinColumn;
 import javax.persistence.ManyToOne;
+import javax.persistence.SequenceGenerator;
 import javax.persistence.Table;
+import javax.persistence.Version;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -21,11 +24,14 @@ import ru.practicum.shareit.user.model.User;
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
-@Table(name = "items")
+@Table(name = "items", indexes = {
+    @Index(name = "ix_items_owner", columnList = "user_id, id")
+})
 public class Item {
 
   @Id
-  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "items_seq")
+  @SequenceGenerator(name = "items_seq", sequenceName = "items_seq", allocationSize = 50)
   private Long id;
 
   private String name;
@@ -42,4 +48,7 @@ public class Item {
   @JoinColumn(name = "request_id")
   private ItemRequest request;
 
+  @Version
+  private long version;
+
 }
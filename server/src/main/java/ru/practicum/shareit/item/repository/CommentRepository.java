@@ -1,6 +1,8 @@
 package ru.practicum.shareit.item.repository;
 
+import java.util.Collection;
 import java.util.List;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 import ru.practicum.shareit.item.model.Comment;
@@ -8,6 +10,10 @@ import ru.practicum.shareit.item.model.Comment;
 @Repository
 public interface CommentRepository extends JpaRepository<Comment, Long> {
 
+  @EntityGraph(attributePaths = "user")
   List<Comment> findAllByItemId(Long itemId);
 
+  @EntityGraph(attributePaths = "user")
+  List<Comment> findAllByItemIdIn(Collection<Long> itemIds);
+
 }
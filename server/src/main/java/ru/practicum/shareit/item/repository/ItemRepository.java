@@ -1,5 +1,6 @@
 package ru.practicum.shareit.item.repository;
 
+import java.util.Collection;
 import java.util.List;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -14,21 +15,60 @@ public interface ItemRepository extends JpaRepository<Item, Long> {
 
   List<Item> findItemsByOwnerId(Long userId);
 
-  List<Item> findItemsByOwnerId(Long userId, Pageable pageable);
+  List<Item> findItemsByOwnerIdOrderByIdAsc(Long userId, Pageable pageable);
+
+  List<Item> findItemsByOwnerIdAndIdGreaterThanOrderByIdAsc(Long userId, Long id,
+      Pageable pageable);
 
   @Query("select i.available from Item i where i.id = ?1")
   boolean isItemAvalible(Long id);
 
   @Query("select i from Item i where i.available = true "
-      + "and upper(i.description) like upper(concat('%', ?1, '%')) "
-      + "or upper(i.name) like upper(concat('%', ?1, '%')) "
-      + "group by i.id")
+      + "and (upper(i.description) like upper(concat('%', ?1, '%')) "
+      + "or upper(i.name) like upper(concat('%', ?1, '%'))) "
+      + "order by i.id")
   List<Item> search(String text, Pageable pageable);
 
+  @Query("select i from Item i where i.available = true and i.id > ?2 "
+      + "and (upper(i.description) like upper(concat('%', ?1, '%')) "
+      + "or upper(i.name) like upper(concat('%', ?1, '%'))) "
+      + "order by i.id")
+  List<Item> searchAfter(String text, Long id, Pageable pageable);
+
+  @Query(value = "select i.* from items i "
+      + "where i.is_available and i.search_vector @@ to_tsquery('simple', :query) "
+      + "order by ts_rank(i.search_vector, to_tsquery('simple', :query)) desc, i.id",
+      nativeQuery = true)
+  List<Item> fullTextSearch(@Param("query") String query, Pageable pageable);
+
+  @Query(value = "select i.* from items i "
+      + "where i.is_available and i.search_vector @@ to_tsquery('simple', :query) "
+      + "and i.id > :id order by i.id",
+      nativeQuery = true)
+  List<Item> fullTextSearchAfter(@Param("query") String query, @Param("id") Long id,
+      Pageable pageable);
+
   @Modifying(clearAutomatically = true)
-  @Query("update Item i set i.available = :available where i.id = :id")
-  void updateItemAvailableById(@Param("id") Long id, @Param("available") boolean available);
+  @Query("update Item i set i.available = :available, i.version = i.version + 1 "
+      + "where i.id = :id and i.version = :version")
+  int updateItemAvailableByIdAndVersion(@Param("id") Long id,
+      @Param("available") boolean available, @Param("version") long version);
+
+  @Modifying
+  @Query("update Item i set i.available = true, i.version = i.version + 1 "
+      + "where i.available = false "
+      + "and i.id = (select b.item.id from Booking b where b.id = :bookingId)")
+  int markItemAvailableByBookingId(@Param("bookingId") Long bookingId);
+
+  @Modifying
+  @Query("update Item i set i.available = true, i.version = i.version + 1 "
+      + "where i.available = false and i.id in :ids")
+  int markItemsAvailableByIdIn(@Param("ids") Collection<Long> ids);
 
   List<Item> findAllByRequest_Id(Long requestId);
 
+  List<Item> findAllByAvailableTrueAndIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);
+
+  List<Item> findAllByIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);
+
 }
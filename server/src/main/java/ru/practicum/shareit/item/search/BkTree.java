@@ -0,0 +1,90 @@
+package ru.practicum.shareit.item.search;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+
+class BkTree {
+
+  private Node root;
+  private int size;
+
+  boolean add(String term) {
+    if (root == null) {
+      root = new Node(term);
+      size++;
+      return true;
+    }
+    Node node = root;
+    while (true) {
+      int distance = Levenshtein.distance(term, node.term, Integer.MAX_VALUE);
+      if (distance == 0) {
+        return false;
+      }
+      Node child = node.child(distance);
+      if (child == null) {
+        node.addChild(distance, new Node(term));
+        size++;
+        return true;
+      }
+      node = child;
+    }
+  }
+
+  List<String> search(String term, int maxDistance) {
+    List<String> result = new ArrayList<>();
+    if (root == null) {
+      return result;
+    }
+    Deque<Node> stack = new ArrayDeque<>();
+    stack.push(root);
+    while (!stack.isEmpty()) {
+      Node node = stack.pop();
+      int distance = Levenshtein.distance(term, node.term, Integer.MAX_VALUE);
+      if (distance <= maxDistance) {
+        result.add(node.term);
+      }
+      for (int i = 0; i < node.distances.length; i++) {
+        if (Math.abs(node.distances[i] - distance) <= maxDistance) {
+          stack.push(node.children[i]);
+        }
+      }
+    }
+    return result;
+  }
+
+  int size() {
+    return size;
+  }
+
+  private static final class Node {
+
+    private final String term;
+    private int[] distances = new int[0];
+    private Node[] children = new Node[0];
+
+    private Node(String term) {
+      this.term = term;
+    }
+
+    private Node child(int distance) {
+      for (int i = 0; i < distances.length; i++) {
+        if (distances[i] == distance) {
+          return children[i];
+        }
+      }
+      return null;
+    }
+
+    private void addChild(int distance, Node child) {
+      distances = Arrays.copyOf(distances, distances.length + 1);
+      children = Arrays.copyOf(children, children.length + 1);
+      distances[distances.length - 1] = distance;
+      children[children.length - 1] = child;
+    }
+
+  }
+
+}
@@ -0,0 +1,55 @@
+package ru.practicum.shareit.item.search;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+
+@Component
+@ConditionalOnProperty(name = "shareit.search.engine", havingValue = "fulltext")
+@RequiredArgsConstructor
+public class FullTextItemSearchEngine implements ItemSearchEngine {
+
+  private static final Pattern TOKEN_SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+  private final ItemRepository itemRepository;
+
+  @Override
+  public List<Item> search(String text, Pageable pageable) {
+    String query = toPrefixQuery(text);
+    if (query.isEmpty()) {
+      return Collections.emptyList();
+    }
+    return itemRepository.fullTextSearch(query, pageable);
+  }
+
+  @Override
+  public List<Item> searchAfter(String text, long afterId, int limit) {
+    String query = toPrefixQuery(text);
+    if (query.isEmpty()) {
+      return Collections.emptyList();
+    }
+    return itemRepository.fullTextSearchAfter(query, afterId, PageRequest.of(0, limit));
+  }
+
+  @Override
+  public boolean isRankOrdered() {
+    return true;
+  }
+
+  static String toPrefixQuery(String text) {
+    return Arrays.stream(TOKEN_SEPARATOR.split(text.toLowerCase()))
+        .filter(token -> !token.isEmpty())
+        .map(token -> token + ":*")
+        .collect(Collectors.joining(" & "));
+  }
+
+}
@@ -0,0 +1,59 @@
+package ru.practicum.shareit.item.search;
+
+import java.util.List;
+import javax.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import ru.practicum.shareit.item.event.ItemChangedEvent;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class FuzzyItemSearch {
+
+  private static final int LOAD_BATCH_SIZE = 1000;
+
+  private final ItemRepository itemRepository;
+  private final FuzzyTokenIndex index = new FuzzyTokenIndex();
+
+  @PostConstruct
+  public void load() {
+    long lastId = 0;
+    List<Item> batch;
+    do {
+      batch = itemRepository.findAllByAvailableTrueAndIdGreaterThanOrderByIdAsc(lastId,
+          PageRequest.of(0, LOAD_BATCH_SIZE));
+      for (Item item : batch) {
+        index.put(item.getId(), item.getName());
+        lastId = item.getId();
+      }
+    } while (batch.size() == LOAD_BATCH_SIZE);
+    log.info("Fuzzy search index loaded with {} items", index.size());
+  }
+
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onItemChanged(ItemChangedEvent event) {
+    Item item = event.getItem();
+    if (item.isAvailable()) {
+      index.put(item.getId(), item.getName());
+    } else {
+      index.remove(item.getId());
+    }
+  }
+
+  public List<Item> search(String text, Pageable pageable) {
+    return ItemPages.hydrate(itemRepository,
+        index.search(text, pageable.getOffset(), pageable.getPageSize()));
+  }
+
+  public List<Item> searchAfter(String text, long afterId, int limit) {
+    return ItemPages.hydrate(itemRepository, index.searchAfter(text, afterId, limit));
+  }
+
+}
@@ -0,0 +1,168 @@
+package ru.practicum.shareit.item.search;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+public class FuzzyTokenIndex {
+
+  private static final Pattern TOKEN_SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+  private static final String[] NO_TOKENS = new String[0];
+  private static final long[] EMPTY = new long[0];
+
+  private final BkTree dictionary = new BkTree();
+  private final Map<String, LongPostingList> postings = new HashMap<>();
+  private final Map<Long, String[]> documents = new HashMap<>();
+  private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+  public void put(long id, String name) {
+    String[] tokens = tokenize(name);
+    lock.writeLock().lock();
+    try {
+      String[] previous = documents.put(id, tokens);
+      if (previous != null) {
+        removePostings(id, previous);
+      }
+      for (String token : tokens) {
+        dictionary.add(token);
+        postings.computeIfAbsent(token, key -> new LongPostingList()).add(id);
+      }
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  public void remove(long id) {
+    lock.writeLock().lock();
+    try {
+      String[] previous = documents.remove(id);
+      if (previous != null) {
+        removePostings(id, previous);
+      }
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  public long[] search(String text, long offset, int limit) {
+    long[] result = matchAll(text);
+    int from = (int) Math.min(offset, result.length);
+    return Arrays.copyOfRange(result, from, (int) Math.min(result.length, from + (long) limit));
+  }
+
+  public long[] searchAfter(String text, long afterId, int limit) {
+    return LongPostingList.after(matchAll(text), afterId, limit);
+  }
+
+  public int size() {
+    lock.readLock().lock();
+    try {
+      return documents.size();
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  static int maxDistance(String token) {
+    if (token.length() < 3) {
+      return 0;
+    }
+    return token.length() == 3 ? 1 : 2;
+  }
+
+  private long[] matchAll(String text) {
+    String[] tokens = tokenize(text);
+    if (tokens.length == 0) {
+      return EMPTY;
+    }
+    lock.readLock().lock();
+    try {
+      long[] result = null;
+      for (String token : tokens) {
+        long[] matches = match(token);
+        result = result == null ? matches : intersect(result, matches);
+        if (result.length == 0) {
+          return EMPTY;
+        }
+      }
+      return result;
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  private long[] match(String token) {
+    long[] result = EMPTY;
+    for (String term : dictionary.search(token, maxDistance(token))) {
+      LongPostingList list = postings.get(term);
+      if (list != null) {
+        result = union(result, list.toArray());
+      }
+    }
+    return result;
+  }
+
+  private void removePostings(long id, String[] tokens) {
+    for (String token : tokens) {
+      LongPostingList list = postings.get(token);
+      list.remove(id);
+      if (list.isEmpty()) {
+        postings.remove(token);
+      }
+    }
+  }
+
+  private static long[] union(long[] first, long[] second) {
+    long[] result = new long[first.length + second.length];
+    int i = 0;
+    int j = 0;
+    int count = 0;
+    while (i < first.length || j < second.length) {
+      long next;
+      if (j == second.length || (i < first.length && first[i] < second[j])) {
+        next = first[i++];
+      } else if (i == first.length || second[j] < first[i]) {
+        next = second[j++];
+      } else {
+        next = first[i++];
+        j++;
+      }
+      result[count++] = next;
+    }
+    return Arrays.copyOf(result, count);
+  }
+
+  private static long[] intersect(long[] first, long[] second) {
+    long[] result = new long[Math.min(first.length, second.length)];
+    int i = 0;
+    int j = 0;
+    int count = 0;
+    while (i < first.length && j < second.length) {
+      if (first[i] == second[j]) {
+        result[count++] = first[i];
+        i++;
+        j++;
+      } else if (first[i] < second[j]) {
+        i++;
+      } else {
+        j++;
+      }
+    }
+    return Arrays.copyOf(result, count);
+  }
+
+  private static String[] tokenize(String text) {
+    if (text == null) {
+      return NO_TOKENS;
+    }
+    return Arrays.stream(TOKEN_SEPARATOR.split(text.toLowerCase(Locale.ROOT)))
+        .filter(token -> !token.isEmpty())
+        .distinct()
+        .toArray(String[]::new);
+  }
+
+}
@@ -0,0 +1,113 @@
+package ru.practicum.shareit.item.search;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import javax.annotation.PostConstruct;
+import lombok.AllArgsConstructor;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.dto.ItemBookingStats;
+import ru.practicum.shareit.booking.event.BookingChangedEvent;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.item.event.ItemChangedEvent;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ItemNameSuggester {
+
+  public static final int MAX_SUGGESTIONS = 10;
+  private static final int LOAD_BATCH_SIZE = 1000;
+
+  private final ItemRepository itemRepository;
+  private final BookingRepository bookingRepository;
+  private final ItemNameTrie trie = new ItemNameTrie(MAX_SUGGESTIONS);
+  private final Map<Long, Entry> entries = new HashMap<>();
+
+  @PostConstruct
+  public void load() {
+    long lastId = 0;
+    List<Item> batch;
+    do {
+      batch = itemRepository.findAllByIdGreaterThanOrderByIdAsc(lastId,
+          PageRequest.of(0, LOAD_BATCH_SIZE));
+      if (batch.isEmpty()) {
+        break;
+      }
+      Map<Long, Long> approved = bookingRepository.countBookingsByItemIdInAndStatus(
+              batch.stream().map(Item::getId).collect(Collectors.toList()),
+              BookingStatus.APPROVED.name()).stream()
+          .collect(Collectors.toMap(ItemBookingStats::getItemId, ItemBookingStats::getTotal));
+      for (Item item : batch) {
+        put(item, approved.getOrDefault(item.getId(), 0L));
+        lastId = item.getId();
+      }
+    } while (batch.size() == LOAD_BATCH_SIZE);
+    log.info("Item name suggestions loaded for {} items", entries.size());
+  }
+
+  public List<String> suggest(String prefix, int size) {
+    return trie.suggest(prefix, Math.min(size, MAX_SUGGESTIONS));
+  }
+
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onItemChanged(ItemChangedEvent event) {
+    Item item = event.getItem();
+    synchronized (entries) {
+      Entry previous = entries.get(item.getId());
+      put(item, previous != null ? previous.approvedBookings : 0);
+    }
+  }
+
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onBookingChanged(BookingChangedEvent event) {
+    if (!BookingStatus.APPROVED.name().equals(event.getBooking().getStatus())) {
+      return;
+    }
+    synchronized (entries) {
+      Entry entry = entries.get(event.getBooking().getItem().getId());
+      if (entry == null) {
+        return;
+      }
+      entry.approvedBookings++;
+      if (entry.available) {
+        trie.add(entry.name, 1);
+      }
+    }
+  }
+
+  private void put(Item item, long approvedBookings) {
+    synchronized (entries) {
+      Entry previous = entries.put(item.getId(),
+          new Entry(item.getName(), item.isAvailable(), approvedBookings));
+      if (previous != null && previous.available) {
+        trie.add(previous.name, -previous.score());
+      }
+      if (item.isAvailable()) {
+        trie.add(item.getName(), 1 + approvedBookings);
+      }
+    }
+  }
+
+  @AllArgsConstructor
+  private static final class Entry {
+
+    private final String name;
+    private final boolean available;
+    private long approvedBookings;
+
+    private long score() {
+      return 1 + approvedBookings;
+    }
+
+  }
+
+}
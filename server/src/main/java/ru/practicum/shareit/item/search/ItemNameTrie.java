@@ -0,0 +1,226 @@
+package ru.practicum.shareit.item.search;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+public class ItemNameTrie {
+
+  private static final Comparator<Suggestion> BY_SCORE = Comparator
+      .comparingLong((Suggestion suggestion) -> suggestion.score).reversed()
+      .thenComparing(suggestion -> suggestion.name);
+
+  private final int capacity;
+  private final Node root = new Node("");
+  private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+  public ItemNameTrie(int capacity) {
+    this.capacity = capacity;
+  }
+
+  public void add(String name, long delta) {
+    String key = normalize(name);
+    if (key.isEmpty() || delta == 0) {
+      return;
+    }
+    lock.writeLock().lock();
+    try {
+      Deque<Node> path = new ArrayDeque<>();
+      Node terminal = descend(key, delta > 0, path);
+      if (terminal == null) {
+        return;
+      }
+      terminal.score = Math.max(0, terminal.score + delta);
+      if (terminal.score == 0) {
+        terminal.name = null;
+      } else if (terminal.name == null) {
+        terminal.name = name;
+      }
+      rebuild(path);
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  public List<String> suggest(String prefix, int limit) {
+    String rest = normalize(prefix);
+    if (rest.isEmpty()) {
+      return Collections.emptyList();
+    }
+    lock.readLock().lock();
+    try {
+      Node node = root;
+      while (!rest.isEmpty()) {
+        Node child = node.child(rest.charAt(0));
+        if (child == null) {
+          return Collections.emptyList();
+        }
+        int common = commonPrefixLength(child.label, rest);
+        if (common == rest.length()) {
+          node = child;
+          break;
+        }
+        if (common < child.label.length()) {
+          return Collections.emptyList();
+        }
+        rest = rest.substring(common);
+        node = child;
+      }
+      List<String> result = new ArrayList<>(Math.min(limit, node.top.length));
+      for (int i = 0; i < node.top.length && i < limit; i++) {
+        result.add(node.top[i].name);
+      }
+      return result;
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  private Node descend(String key, boolean create, Deque<Node> path) {
+    Node node = root;
+    String rest = key;
+    path.push(node);
+    while (!rest.isEmpty()) {
+      Node child = node.child(rest.charAt(0));
+      if (child == null) {
+        if (!create) {
+          return null;
+        }
+        Node leaf = new Node(rest);
+        node.addChild(leaf);
+        path.push(leaf);
+        return leaf;
+      }
+      int common = commonPrefixLength(child.label, rest);
+      if (common < child.label.length()) {
+        if (!create) {
+          return null;
+        }
+        Node split = new Node(child.label.substring(0, common));
+        child.label = child.label.substring(common);
+        split.addChild(child);
+        split.top = child.top;
+        node.replaceChild(split);
+        child = split;
+      }
+      rest = rest.substring(common);
+      node = child;
+      path.push(node);
+    }
+    return node;
+  }
+
+  private void rebuild(Deque<Node> path) {
+    while (!path.isEmpty()) {
+      Node node = path.pop();
+      Node parent = path.peek();
+      if (parent != null && node.name == null && node.children.length == 0) {
+        parent.removeChild(node);
+        continue;
+      }
+      if (parent != null && node.name == null && node.children.length == 1) {
+        Node child = node.children[0];
+        node.label = node.label + child.label;
+        node.keys = child.keys;
+        node.children = child.children;
+        node.name = child.name;
+        node.score = child.score;
+      }
+      node.top = collectTop(node);
+    }
+  }
+
+  private Suggestion[] collectTop(Node node) {
+    List<Suggestion> candidates = new ArrayList<>();
+    if (node.name != null) {
+      candidates.add(new Suggestion(node.name, node.score));
+    }
+    for (Node child : node.children) {
+      candidates.addAll(Arrays.asList(child.top));
+    }
+    candidates.sort(BY_SCORE);
+    return candidates.subList(0, Math.min(capacity, candidates.size()))
+        .toArray(new Suggestion[0]);
+  }
+
+  private static int commonPrefixLength(String first, String second) {
+    int length = Math.min(first.length(), second.length());
+    int i = 0;
+    while (i < length && first.charAt(i) == second.charAt(i)) {
+      i++;
+    }
+    return i;
+  }
+
+  private static String normalize(String text) {
+    return text == null ? "" : text.trim().toLowerCase(Locale.ROOT);
+  }
+
+  private static final class Suggestion {
+
+    private final String name;
+    private final long score;
+
+    private Suggestion(String name, long score) {
+      this.name = name;
+      this.score = score;
+    }
+
+  }
+
+  private static final class Node {
+
+    private static final Suggestion[] NO_SUGGESTIONS = new Suggestion[0];
+
+    private String label;
+    private char[] keys = new char[0];
+    private Node[] children = new Node[0];
+    private String name;
+    private long score;
+    private Suggestion[] top = NO_SUGGESTIONS;
+
+    private Node(String label) {
+      this.label = label;
+    }
+
+    private Node child(char key) {
+      int index = Arrays.binarySearch(keys, key);
+      return index < 0 ? null : children[index];
+    }
+
+    private void addChild(Node child) {
+      int index = -Arrays.binarySearch(keys, child.label.charAt(0)) - 1;
+      keys = Arrays.copyOf(keys, keys.length + 1);
+      children = Arrays.copyOf(children, children.length + 1);
+      System.arraycopy(keys, index, keys, index + 1, keys.length - index - 1);
+      System.arraycopy(children, index, children, index + 1, children.length - index - 1);
+      keys[index] = child.label.charAt(0);
+      children[index] = child;
+    }
+
+    private void replaceChild(Node child) {
+      children[Arrays.binarySearch(keys, child.label.charAt(0))] = child;
+    }
+
+    private void removeChild(Node child) {
+      int index = Arrays.binarySearch(keys, child.label.charAt(0));
+      char[] newKeys = new char[keys.length - 1];
+      Node[] newChildren = new Node[children.length - 1];
+      System.arraycopy(keys, 0, newKeys, 0, index);
+      System.arraycopy(children, 0, newChildren, 0, index);
+      System.arraycopy(keys, index + 1, newKeys, index, keys.length - index - 1);
+      System.arraycopy(children, index + 1, newChildren, index, children.length - index - 1);
+      keys = newKeys;
+      children = newChildren;
+    }
+
+  }
+
+}
@@ -0,0 +1,31 @@
+package ru.practicum.shareit.item.search;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+
+final class ItemPages {
+
+  private ItemPages() {
+  }
+
+  static List<Item> hydrate(ItemRepository itemRepository, long[] ids) {
+    if (ids.length == 0) {
+      return Collections.emptyList();
+    }
+    List<Long> page = Arrays.stream(ids).boxed().collect(Collectors.toList());
+    Map<Long, Item> items = itemRepository.findAllById(page).stream()
+        .collect(Collectors.toMap(Item::getId, Function.identity()));
+    return page.stream()
+        .map(items::get)
+        .filter(Objects::nonNull)
+        .collect(Collectors.toList());
+  }
+
+}
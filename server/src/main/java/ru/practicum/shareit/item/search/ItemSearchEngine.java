@@ -0,0 +1,17 @@
+package ru.practicum.shareit.item.search;
+
+import java.util.List;
+import org.springframework.data.domain.Pageable;
+import ru.practicum.shareit.item.model.Item;
+
+public interface ItemSearchEngine {
+
+  List<Item> search(String text, Pageable pageable);
+
+  List<Item> searchAfter(String text, long afterId, int limit);
+
+  default boolean isRankOrdered() {
+    return false;
+  }
+
+}
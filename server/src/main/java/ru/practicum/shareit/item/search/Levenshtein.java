@@ -0,0 +1,36 @@
+package ru.practicum.shareit.item.search;
+
+final class Levenshtein {
+
+  private Levenshtein() {
+  }
+
+  static int distance(String first, String second, int limit) {
+    if (Math.abs(first.length() - second.length()) > limit) {
+      return limit + 1;
+    }
+    int[] previous = new int[second.length() + 1];
+    int[] current = new int[second.length() + 1];
+    for (int j = 0; j <= second.length(); j++) {
+      previous[j] = j;
+    }
+    for (int i = 1; i <= first.length(); i++) {
+      current[0] = i;
+      int rowMin = current[0];
+      for (int j = 1; j <= second.length(); j++) {
+        int cost = first.charAt(i - 1) == second.charAt(j - 1) ? 0 : 1;
+        current[j] = Math.min(Math.min(current[j - 1] + 1, previous[j] + 1),
+            previous[j - 1] + cost);
+        rowMin = Math.min(rowMin, current[j]);
+      }
+      if (rowMin > limit) {
+        return limit + 1;
+      }
+      int[] swap = previous;
+      previous = current;
+      current = swap;
+    }
+    return previous[second.length()];
+  }
+
+}
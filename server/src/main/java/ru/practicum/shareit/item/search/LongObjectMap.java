@@ -0,0 +1,105 @@
+package ru.practicum.shareit.item.search;
+
+import java.util.function.LongFunction;
+
+class LongObjectMap<V> {
+
+  private static final int MIN_CAPACITY = 16;
+
+  private long[] keys = new long[MIN_CAPACITY];
+  private Object[] values = new Object[MIN_CAPACITY];
+  private int mask = MIN_CAPACITY - 1;
+  private int size;
+
+  @SuppressWarnings("unchecked")
+  V get(long key) {
+    int slot = slot(key);
+    while (values[slot] != null) {
+      if (keys[slot] == key) {
+        return (V) values[slot];
+      }
+      slot = (slot + 1) & mask;
+    }
+    return null;
+  }
+
+  @SuppressWarnings("unchecked")
+  V computeIfAbsent(long key, LongFunction<V> factory) {
+    int slot = slot(key);
+    while (values[slot] != null) {
+      if (keys[slot] == key) {
+        return (V) values[slot];
+      }
+      slot = (slot + 1) & mask;
+    }
+    V value = factory.apply(key);
+    keys[slot] = key;
+    values[slot] = value;
+    if (++size * 2 > keys.length) {
+      resize(keys.length * 2);
+    }
+    return value;
+  }
+
+  void remove(long key) {
+    int gap = slot(key);
+    while (values[gap] != null && keys[gap] != key) {
+      gap = (gap + 1) & mask;
+    }
+    if (values[gap] == null) {
+      return;
+    }
+    for (int slot = (gap + 1) & mask; values[slot] != null; slot = (slot + 1) & mask) {
+      if (((slot - slot(keys[slot])) & mask) >= ((slot - gap) & mask)) {
+        keys[gap] = keys[slot];
+        values[gap] = values[slot];
+        gap = slot;
+      }
+    }
+    values[gap] = null;
+    size--;
+  }
+
+  int size() {
+    return size;
+  }
+
+  @SuppressWarnings("unchecked")
+  void forEach(Visitor<V> visitor) {
+    for (int slot = 0; slot < keys.length; slot++) {
+      if (values[slot] != null) {
+        visitor.visit(keys[slot], (V) values[slot]);
+      }
+    }
+  }
+
+  private int slot(long key) {
+    long hash = key * 0x9E3779B97F4A7C15L;
+    return (int) (hash ^ (hash >>> 32)) & mask;
+  }
+
+  private void resize(int capacity) {
+    long[] oldKeys = keys;
+    Object[] oldValues = values;
+    keys = new long[capacity];
+    values = new Object[capacity];
+    mask = capacity - 1;
+    for (int i = 0; i < oldKeys.length; i++) {
+      if (oldValues[i] != null) {
+        int slot = slot(oldKeys[i]);
+        while (values[slot] != null) {
+          slot = (slot + 1) & mask;
+        }
+        keys[slot] = oldKeys[i];
+        values[slot] = oldValues[i];
+      }
+    }
+  }
+
+  interface Visitor<V> {
+
+    void visit(long key, V value);
+
+  }
+
+}
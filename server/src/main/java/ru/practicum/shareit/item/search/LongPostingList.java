@@ -0,0 +1,92 @@
+package ru.practicum.shareit.item.search;
+
+import java.util.Arrays;
+
+class LongPostingList {
+
+  private long[] ids = new long[4];
+  private int size;
+
+  void add(long id) {
+    if (size == 0 || ids[size - 1] < id) {
+      ensureCapacity();
+      ids[size++] = id;
+      return;
+    }
+    int position = Arrays.binarySearch(ids, 0, size, id);
+    if (position >= 0) {
+      return;
+    }
+    int insertAt = -position - 1;
+    ensureCapacity();
+    System.arraycopy(ids, insertAt, ids, insertAt + 1, size - insertAt);
+    ids[insertAt] = id;
+    size++;
+  }
+
+  void remove(long id) {
+    int position = Arrays.binarySearch(ids, 0, size, id);
+    if (position < 0) {
+      return;
+    }
+    System.arraycopy(ids, position + 1, ids, position, size - position - 1);
+    size--;
+  }
+
+  boolean isEmpty() {
+    return size == 0;
+  }
+
+  int size() {
+    return size;
+  }
+
+  long get(int index) {
+    return ids[index];
+  }
+
+  int indexAfter(long id) {
+    int position = Arrays.binarySearch(ids, 0, size, id);
+    return position >= 0 ? position + 1 : -position - 1;
+  }
+
+  long[] toArray() {
+    return Arrays.copyOf(ids, size);
+  }
+
+  long[] toArrayAfter(long id) {
+    return Arrays.copyOfRange(ids, indexAfter(id), size);
+  }
+
+  long[] retainAll(long[] candidates, int length) {
+    long[] result = new long[Math.min(length, size)];
+    int count = 0;
+    int i = 0;
+    int j = 0;
+    while (i < length && j < size) {
+      if (candidates[i] == ids[j]) {
+        result[count++] = candidates[i];
+        i++;
+        j++;
+      } else if (candidates[i] < ids[j]) {
+        i++;
+      } else {
+        j++;
+      }
+    }
+    return Arrays.copyOf(result, count);
+  }
+
+  static long[] after(long[] sorted, long afterId, int limit) {
+    int position = Arrays.binarySearch(sorted, afterId);
+    int from = position >= 0 ? position + 1 : -position - 1;
+    return Arrays.copyOfRange(sorted, from, Math.min(sorted.length, from + limit));
+  }
+
+  private void ensureCapacity() {
+    if (size == ids.length) {
+      ids = Arrays.copyOf(ids, ids.length * 2);
+    }
+  }
+
+}
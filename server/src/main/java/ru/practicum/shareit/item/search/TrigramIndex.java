@@ -0,0 +1,210 @@
+package ru.practicum.shareit.item.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.PriorityQueue;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+public class TrigramIndex {
+
+  private static final char FIELD_SEPARATOR = '\0';
+  private static final long[] EMPTY = new long[0];
+
+  private final LongObjectMap<LongPostingList> postings = new LongObjectMap<>();
+  private final ReadWriteLock lock = new ReentrantReadWriteLock();
+  private int size;
+
+  public void put(long id, String name, String description) {
+    long[] trigrams = trigrams(document(name, description));
+    lock.writeLock().lock();
+    try {
+      for (long trigram : trigrams) {
+        postings.computeIfAbsent(trigram, key -> new LongPostingList()).add(id);
+      }
+      size++;
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  public void replace(long id, String previousName, String previousDescription, String name,
+      String description) {
+    long[] previous = trigrams(document(previousName, previousDescription));
+    long[] current = trigrams(document(name, description));
+    lock.writeLock().lock();
+    try {
+      int i = 0;
+      int j = 0;
+      while (i < previous.length || j < current.length) {
+        if (j == current.length || i < previous.length && previous[i] < current[j]) {
+          removePosting(previous[i++], id);
+        } else if (i == previous.length || current[j] < previous[i]) {
+          postings.computeIfAbsent(current[j++], key -> new LongPostingList()).add(id);
+        } else {
+          i++;
+          j++;
+        }
+      }
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  public void remove(long id, String name, String description) {
+    long[] trigrams = trigrams(document(name, description));
+    lock.writeLock().lock();
+    try {
+      for (long trigram : trigrams) {
+        removePosting(trigram, id);
+      }
+      size--;
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  public long[] candidates(String text, long afterId, int limit) {
+    String query = normalize(text);
+    if (query.isEmpty() || query.indexOf(FIELD_SEPARATOR) >= 0 || limit <= 0) {
+      return EMPTY;
+    }
+    lock.readLock().lock();
+    try {
+      return query.length() < 3 ? scan(query, afterId, limit) : lookup(query, afterId, limit);
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  public int size() {
+    lock.readLock().lock();
+    try {
+      return size;
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  public static boolean matches(String text, String name, String description) {
+    String query = normalize(text);
+    return normalize(name).contains(query) || normalize(description).contains(query);
+  }
+
+  public static boolean isExact(String text) {
+    return normalize(text).length() < 3;
+  }
+
+  private void removePosting(long trigram, long id) {
+    LongPostingList list = postings.get(trigram);
+    if (list == null) {
+      return;
+    }
+    list.remove(id);
+    if (list.isEmpty()) {
+      postings.remove(trigram);
+    }
+  }
+
+  private long[] lookup(String query, long afterId, int limit) {
+    List<LongPostingList> lists = new ArrayList<>();
+    for (long trigram : trigrams(query)) {
+      LongPostingList list = postings.get(trigram);
+      if (list == null) {
+        return EMPTY;
+      }
+      lists.add(list);
+    }
+    lists.sort(Comparator.comparingInt(LongPostingList::size));
+
+    long[] candidates = lists.get(0).toArrayAfter(afterId);
+    for (int i = 1; i < lists.size() && candidates.length > 0; i++) {
+      candidates = lists.get(i).retainAll(candidates, candidates.length);
+    }
+    return candidates.length > limit ? Arrays.copyOf(candidates, limit) : candidates;
+  }
+
+  private long[] scan(String query, long afterId, int limit) {
+    List<LongPostingList> lists = new ArrayList<>();
+    postings.forEach((trigram, list) -> {
+      if (contains(trigram, query)) {
+        lists.add(list);
+      }
+    });
+    int[] positions = new int[lists.size()];
+    PriorityQueue<Integer> heads = new PriorityQueue<>(Math.max(1, lists.size()),
+        Comparator.comparingLong(i -> lists.get(i).get(positions[i])));
+    for (int i = 0; i < lists.size(); i++) {
+      positions[i] = lists.get(i).indexAfter(afterId);
+      if (positions[i] < lists.get(i).size()) {
+        heads.add(i);
+      }
+    }
+    long[] result = new long[Math.min(limit, 64)];
+    int count = 0;
+    while (count < limit && !heads.isEmpty()) {
+      int head = heads.poll();
+      long id = lists.get(head).get(positions[head]++);
+      if (count == 0 || result[count - 1] != id) {
+        if (count == result.length) {
+          result = Arrays.copyOf(result, Math.min(limit, count * 2));
+        }
+        result[count++] = id;
+      }
+      if (positions[head] < lists.get(head).size()) {
+        heads.add(head);
+      }
+    }
+    return Arrays.copyOf(result, count);
+  }
+
+  private static boolean contains(long trigram, String query) {
+    char first = (char) (trigram >>> 32);
+    char second = (char) (trigram >>> 16);
+    char third = (char) trigram;
+    if (query.length() == 1) {
+      char only = query.charAt(0);
+      return first == only || second == only || third == only;
+    }
+    return first == query.charAt(0) && second == query.charAt(1)
+        || second == query.charAt(0) && third == query.charAt(1);
+  }
+
+  private static long[] trigrams(String text) {
+    if (text.length() < 3) {
+      return EMPTY;
+    }
+    long[] result = new long[text.length() - 2];
+    int count = 0;
+    for (int i = 0; i + 3 <= text.length(); i++) {
+      char first = text.charAt(i);
+      char second = text.charAt(i + 1);
+      char third = text.charAt(i + 2);
+      if (second == FIELD_SEPARATOR) {
+        continue;
+      }
+      result[count++] = ((long) first << 32) | ((long) second << 16) | third;
+    }
+    Arrays.sort(result, 0, count);
+    int distinct = 0;
+    for (int i = 0; i < count; i++) {
+      if (distinct == 0 || result[distinct - 1] != result[i]) {
+        result[distinct++] = result[i];
+      }
+    }
+    return Arrays.copyOf(result, distinct);
+  }
+
+  private static String document(String name, String description) {
+    return FIELD_SEPARATOR + normalize(name) + FIELD_SEPARATOR + normalize(description)
+        + FIELD_SEPARATOR;
+  }
+
+  private static String normalize(String text) {
+    return text == null ? "" : text.toLowerCase(Locale.ROOT);
+  }
+
+}
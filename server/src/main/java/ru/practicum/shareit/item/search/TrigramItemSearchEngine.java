@@ -0,0 +1,99 @@
+package ru.practicum.shareit.item.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import javax.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import ru.practicum.shareit.item.event.ItemChangedEvent;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "shareit.search.engine", havingValue = "trigram",
+    matchIfMissing = true)
+@RequiredArgsConstructor
+public class TrigramItemSearchEngine implements ItemSearchEngine {
+
+  private static final int LOAD_BATCH_SIZE = 1000;
+
+  private final ItemRepository itemRepository;
+  private final TrigramIndex index = new TrigramIndex();
+
+  @PostConstruct
+  public void load() {
+    long lastId = 0;
+    List<Item> batch;
+    do {
+      batch = itemRepository.findAllByAvailableTrueAndIdGreaterThanOrderByIdAsc(lastId,
+          PageRequest.of(0, LOAD_BATCH_SIZE));
+      for (Item item : batch) {
+        index.put(item.getId(), item.getName(), item.getDescription());
+        lastId = item.getId();
+      }
+    } while (batch.size() == LOAD_BATCH_SIZE);
+    log.info("Trigram search index loaded with {} items", index.size());
+  }
+
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onItemChanged(ItemChangedEvent event) {
+    Item item = event.getItem();
+    Item previous = event.getPrevious();
+    boolean indexed = previous != null && previous.isAvailable();
+    if (indexed && item.isAvailable()) {
+      index.replace(item.getId(), previous.getName(), previous.getDescription(), item.getName(),
+          item.getDescription());
+    } else if (indexed) {
+      index.remove(item.getId(), previous.getName(), previous.getDescription());
+    } else if (item.isAvailable()) {
+      index.put(item.getId(), item.getName(), item.getDescription());
+    }
+  }
+
+  @Override
+  public List<Item> search(String text, Pageable pageable) {
+    return find(text, 0, pageable.getOffset(), pageable.getPageSize());
+  }
+
+  @Override
+  public List<Item> searchAfter(String text, long afterId, int limit) {
+    return find(text, afterId, 0, limit);
+  }
+
+  private List<Item> find(String text, long afterId, long skip, int limit) {
+    List<Item> page = new ArrayList<>(limit);
+    int wanted = TrigramIndex.isExact(text) ? (int) Math.min(Integer.MAX_VALUE, skip + limit)
+        : Integer.MAX_VALUE;
+    long[] candidates = index.candidates(text, afterId, wanted);
+    int position = 0;
+    while (position < candidates.length) {
+      int batch = (int) Math.min(Math.min(LOAD_BATCH_SIZE, skip + limit - page.size()),
+          candidates.length - position);
+      long[] ids = Arrays.copyOfRange(candidates, position, position + batch);
+      position += batch;
+      for (Item item : ItemPages.hydrate(itemRepository, ids)) {
+        if (!item.isAvailable()
+            || !TrigramIndex.matches(text, item.getName(), item.getDescription())) {
+          continue;
+        }
+        if (skip > 0) {
+          skip--;
+          continue;
+        }
+        page.add(item);
+        if (page.size() == limit) {
+          return page;
+        }
+      }
+    }
+    return page;
+  }
+
+}
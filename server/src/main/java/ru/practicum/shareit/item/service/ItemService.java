@@ -1,24 +1,46 @@
 package ru.practicum.shareit.item.service;
 
+import java.io.InputStream;
+import java.time.LocalDateTime;
 import java.util.List;
 import org.springframework.data.domain.Pageable;
+import ru.practicum.shareit.item.bulk.ItemImportFormat;
+import ru.practicum.shareit.item.dto.AvailabilityWindowDTO;
 import ru.practicum.shareit.item.dto.CommentDTO;
 import ru.practicum.shareit.item.dto.CommentRequestDTO;
 import ru.practicum.shareit.item.dto.ItemDTO;
 import ru.practicum.shareit.item.dto.ItemFullDTO;
+import ru.practicum.shareit.item.dto.ItemImportReportDTO;
+import ru.practicum.shareit.utils.PageCursor;
 
 public interface ItemService {
 
   ItemDTO add(Long userId, ItemDTO item);
 
+  ItemImportReportDTO importItems(Long userId, InputStream body, ItemImportFormat format);
+
   ItemDTO edit(Long userId, Long itemId, ItemDTO item);
 
   ItemFullDTO getById(Long userId, Long id);
 
   List<ItemFullDTO> getUserItems(Long userId, Pageable pageable);
 
+  List<ItemFullDTO> getUserItems(Long userId, PageCursor cursor, int size);
+
   List<ItemDTO> search(String text, Pageable pageable);
 
+  List<ItemDTO> search(String text, PageCursor cursor, int size);
+
+  boolean isSearchRankOrdered();
+
+  List<ItemDTO> fuzzySearch(String text, Pageable pageable);
+
+  List<ItemDTO> fuzzySearch(String text, PageCursor cursor, int size);
+
+  List<String> suggest(String prefix, int size);
+
+  List<AvailabilityWindowDTO> getAvailability(Long itemId, LocalDateTime from, LocalDateTime to);
+
   CommentDTO comment(Long userId, Long itemId, CommentRequestDTO text);
 
 }
@@ -1,35 +1,52 @@
 package ru.practicum.shareit.item.service;
 
+import java.io.InputStream;
 import java.time.LocalDateTime;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.dto.ItemBookingFlags;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.BookingStatus;
 import ru.practicum.shareit.exeption.ItemNotFoundException;
 import ru.practicum.shareit.exeption.ItemRequestNotFoundException;
 import ru.practicum.shareit.exeption.UserNotFoundException;
 import ru.practicum.shareit.exeption.ValidateException;
+import ru.practicum.shareit.item.availability.ItemAvailabilityCalendar;
+import ru.practicum.shareit.item.bulk.ItemBulkImporter;
+import ru.practicum.shareit.item.bulk.ItemImportFormat;
+import ru.practicum.shareit.item.dto.AvailabilityWindowDTO;
 import ru.practicum.shareit.item.dto.CommentDTO;
 import ru.practicum.shareit.item.dto.CommentRequestDTO;
 import ru.practicum.shareit.item.dto.ItemDTO;
 import ru.practicum.shareit.item.dto.ItemFullDTO;
+import ru.practicum.shareit.item.dto.ItemImportReportDTO;
+import ru.practicum.shareit.item.event.ItemChangedEvent;
 import ru.practicum.shareit.item.mapper.CommentMapper;
 import ru.practicum.shareit.item.mapper.ItemMapper;
 import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.CommentRepository;
 import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.search.FuzzyItemSearch;
+import ru.practicum.shareit.item.search.ItemNameSuggester;
+import ru.practicum.shareit.item.search.ItemSearchEngine;
 import ru.practicum.shareit.request.ItemRequestRepository;
 import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.user.UserRepository;
 import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.utils.PageCursor;
 
 @Service
 @RequiredArgsConstructor
@@ -40,28 +57,53 @@ public class ItemServiceImpl implements ItemService {
   private final CommentRepository commentRepository;
   private final BookingRepository bookingRepository;
   private final ItemRequestRepository requestRepository;
+  private final ItemSearchEngine itemSearchEngine;
+  private final ItemNameSuggester itemNameSuggester;
+  private final FuzzyItemSearch fuzzyItemSearch;
+  private final ItemAvailabilityCalendar itemAvailabilityCalendar;
+  private final ItemBulkImporter itemBulkImporter;
+  private final ApplicationEventPublisher eventPublisher;
+  private final TransactionTemplate transactionTemplate;
 
   @Override
   public ItemDTO add(Long userId, ItemDTO item) {
+    return transactionTemplate.execute(status -> doAdd(userId, item));
+  }
+
+  @Override
+  public ItemDTO edit(Long userId, Long itemId, ItemDTO item) {
+    return transactionTemplate.execute(status -> doEdit(userId, itemId, item));
+  }
+
+  private ItemDTO doAdd(Long userId, ItemDTO item) {
     User user = userRepository.findById(userId)
         .orElseThrow(() -> new UserNotFoundException(userId.toString()));
 
+    Item result;
     if (item.getRequestId() != null) {
       ItemRequest itemRequest = requestRepository.findById(item.getRequestId())
           .orElseThrow(() -> new ItemRequestNotFoundException(item.getRequestId().toString()));
-      return ItemMapper.toItemDto(
-          itemRepository.save(ItemMapper.toItemWithRequest(item, user, itemRequest)));
+      result = itemRepository.save(ItemMapper.toItemWithRequest(item, user, itemRequest));
+    } else {
+      result = itemRepository.save(ItemMapper.toItem(item, user));
     }
-
-    return ItemMapper.toItemDto(itemRepository.save(ItemMapper.toItem(item, user)));
+    eventPublisher.publishEvent(new ItemChangedEvent(result, null));
+    return ItemMapper.toItemDto(result);
   }
 
   @Override
-  public ItemDTO edit(Long userId, Long itemId, ItemDTO item) {
+  public ItemImportReportDTO importItems(Long userId, InputStream body, ItemImportFormat format) {
+    User user = userRepository.findById(userId)
+        .orElseThrow(() -> new UserNotFoundException(userId.toString()));
+    return itemBulkImporter.importItems(user, body, format);
+  }
+
+  private ItemDTO doEdit(Long userId, Long itemId, ItemDTO item) {
     Item result = itemRepository.getById(itemId);
     if (!Objects.equals(userId, result.getOwner().getId())) {
       throw new UserNotFoundException(userId.toString());
     }
+    Item previous = ItemMapper.toSnapshot(result);
     if (Objects.nonNull(item.getName())) {
       result.setName(item.getName());
     }
@@ -72,7 +114,9 @@ public class ItemServiceImpl implements ItemService {
       result.setAvailable(item.getAvailable());
     }
 
-    return ItemMapper.toItemDto(itemRepository.save(result));
+    Item saved = itemRepository.save(result);
+    eventPublisher.publishEvent(new ItemChangedEvent(saved, previous));
+    return ItemMapper.toItemDto(saved);
   }
 
   @Override
@@ -80,33 +124,20 @@ public class ItemServiceImpl implements ItemService {
     Item item = itemRepository.findById(id)
         .orElseThrow(() -> new ItemNotFoundException(id.toString()));
 
-    List<Booking> bookingList = bookingRepository.findBookingsByItemId(item.getId());
-    Booking lastBooking = null;
-    Booking nextBooking = null;
-    if (bookingList.size() == 1) {
-      lastBooking = getNextBooking(bookingList);
-    } else if (bookingList.stream().map(Booking::getBooker)
-        .map(User::getId)
-        .noneMatch(it -> it.equals(userId))
-    ) {
-      lastBooking = getLastBooking(bookingList);
-      nextBooking = getNextBooking(bookingList);
-
-    }
-    List<Comment> comments = commentRepository.findAllByItemId(item.getId());
-    List<CommentDTO> commentsDTO = comments.stream()
-        .map(CommentMapper::toCommentDTO)
-        .collect(Collectors.toList());
-    return ItemMapper.toItemFullDTO(item, commentsDTO, lastBooking, nextBooking);
+    return toItemFullDTOs(userId, List.of(item)).get(0);
   }
 
   @Override
   public List<ItemFullDTO> getUserItems(Long userId, Pageable pageable) {
-    List<Item> items = itemRepository.findItemsByOwnerId(userId, pageable);
-    return items.stream()
-        .map(item -> getById(userId, item.getId()))
-        .sorted(Comparator.comparing(ItemFullDTO::getId))
-        .collect(Collectors.toList());
+    return toSortedItemFullDTOs(userId,
+        itemRepository.findItemsByOwnerIdOrderByIdAsc(userId, pageable));
+  }
+
+  @Override
+  public List<ItemFullDTO> getUserItems(Long userId, PageCursor cursor, int size) {
+    return toSortedItemFullDTOs(userId,
+        itemRepository.findItemsByOwnerIdAndIdGreaterThanOrderByIdAsc(userId, cursor.getId(),
+            PageRequest.of(0, size)));
   }
 
   @Override
@@ -114,10 +145,55 @@ public class ItemServiceImpl implements ItemService {
     if (text.isEmpty()) {
       return Collections.emptyList();
     }
-    return itemRepository.search(text, pageable).stream()
-        .distinct()
-        .map(ItemMapper::toItemDto)
-        .collect(Collectors.toList());
+    return toItemDTOs(itemSearchEngine.search(text, pageable));
+  }
+
+  @Override
+  public List<ItemDTO> search(String text, PageCursor cursor, int size) {
+    if (text.isEmpty()) {
+      return Collections.emptyList();
+    }
+    return toItemDTOs(itemSearchEngine.searchAfter(text, cursor.getId(), size));
+  }
+
+  @Override
+  public boolean isSearchRankOrdered() {
+    return itemSearchEngine.isRankOrdered();
+  }
+
+  @Override
+  public List<ItemDTO> fuzzySearch(String text, Pageable pageable) {
+    if (text.isEmpty()) {
+      return Collections.emptyList();
+    }
+    return toItemDTOs(fuzzyItemSearch.search(text, pageable));
+  }
+
+  @Override
+  public List<ItemDTO> fuzzySearch(String text, PageCursor cursor, int size) {
+    if (text.isEmpty()) {
+      return Collections.emptyList();
+    }
+    return toItemDTOs(fuzzyItemSearch.searchAfter(text, cursor.getId(), size));
+  }
+
+  @Override
+  public List<String> suggest(String prefix, int size) {
+    return itemNameSuggester.suggest(prefix, size);
+  }
+
+  @Override
+  public List<AvailabilityWindowDTO> getAvailability(Long itemId, LocalDateTime from,
+      LocalDateTime to) {
+    if (!from.isBefore(to)) {
+      throw new ValidateException();
+    }
+    Item item = itemRepository.findById(itemId)
+        .orElseThrow(() -> new ItemNotFoundException(itemId.toString()));
+    if (!item.isAvailable()) {
+      return Collections.emptyList();
+    }
+    return itemAvailabilityCalendar.freeWindows(itemId, from, to);
   }
 
   @Override
@@ -140,20 +216,71 @@ public class ItemServiceImpl implements ItemService {
     return CommentMapper.toCommentDTO(comment);
   }
 
-  private Booking getNextBooking(List<Booking> bookingList) {
-    return bookingList.stream()
-        .filter(booking -> booking.getStatus().equals(BookingStatus.APPROVED.name()))
-        .sorted(Comparator.comparing(Booking::getEnd))
-        .filter(booking -> booking.getEnd().isAfter(LocalDateTime.now()))
-        .findFirst()
+  private List<ItemFullDTO> toSortedItemFullDTOs(Long userId, List<Item> items) {
+    if (items.isEmpty()) {
+      return Collections.emptyList();
+    }
+    return toItemFullDTOs(userId, items).stream()
+        .sorted(Comparator.comparing(ItemFullDTO::getId))
+        .collect(Collectors.toList());
+  }
+
+  private List<ItemDTO> toItemDTOs(List<Item> items) {
+    return items.stream()
+        .distinct()
+        .map(ItemMapper::toItemDto)
+        .collect(Collectors.toList());
+  }
+
+  private List<ItemFullDTO> toItemFullDTOs(Long userId, List<Item> items) {
+    List<Long> itemIds = items.stream()
+        .map(Item::getId)
+        .collect(Collectors.toList());
+    LocalDateTime now = LocalDateTime.now();
+
+    Map<Long, ItemBookingFlags> flags = bookingRepository.findBookingFlagsByItemIdIn(itemIds,
+            userId).stream()
+        .collect(Collectors.toMap(ItemBookingFlags::getItemId, Function.identity()));
+    Map<Long, List<Booking>> bookings = bookingRepository.findLastAndNextBookingsByItemIdIn(
+            itemIds, BookingStatus.APPROVED.name(), now).stream()
+        .collect(Collectors.groupingBy(booking -> booking.getItem().getId()));
+    Map<Long, List<Comment>> comments = commentRepository.findAllByItemIdIn(itemIds).stream()
+        .collect(Collectors.groupingBy(comment -> comment.getItem().getId()));
+
+    return items.stream()
+        .map(item -> toItemFullDTO(item, flags.get(item.getId()),
+            bookings.getOrDefault(item.getId(), Collections.emptyList()),
+            comments.getOrDefault(item.getId(), Collections.emptyList()), now))
+        .collect(Collectors.toList());
+  }
+
+  private ItemFullDTO toItemFullDTO(Item item, ItemBookingFlags flags, List<Booking> bookings,
+      List<Comment> comments, LocalDateTime now) {
+    Booking lastBooking = null;
+    Booking nextBooking = null;
+    if (flags != null && !flags.isBookedMoreThanOnce()) {
+      lastBooking = getNextBooking(bookings, now);
+    } else if (flags != null && !flags.isBookedByUser()) {
+      lastBooking = getLastBooking(bookings, now);
+      nextBooking = getNextBooking(bookings, now);
+    }
+    List<CommentDTO> commentsDTO = comments.stream()
+        .map(CommentMapper::toCommentDTO)
+        .collect(Collectors.toList());
+    return ItemMapper.toItemFullDTO(item, commentsDTO, lastBooking, nextBooking);
+  }
+
+  private Booking getNextBooking(List<Booking> bookings, LocalDateTime now) {
+    return bookings.stream()
+        .filter(booking -> booking.getEnd().isAfter(now))
+        .min(Comparator.comparing(Booking::getId))
         .orElse(null);
   }
 
-  private Booking getLastBooking(List<Booking> bookingList) {
-    return bookingList.stream()
-        .filter(booking -> booking.getStatus().equals(BookingStatus.APPROVED.name()))
-        .filter(booking -> booking.getEnd().isBefore(LocalDateTime.now()))
-        .max(Comparator.comparing(Booking::getStart))
+  private Booking getLastBooking(List<Booking> bookings, LocalDateTime now) {
+    return bookings.stream()
+        .filter(booking -> booking.getEnd().isBefore(now))
+        .min(Comparator.comparing(Booking::getId))
         .orElse(null);
   }
 
@@ -5,6 +5,7 @@ import javax.validation.Valid;
 import lombok.AllArgsConstructor;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
@@ -16,6 +17,7 @@ import org.springframework.web.bind.annotation.RestController;
 import ru.practicum.shareit.request.dto.ItemRequestDTO;
 import ru.practicum.shareit.request.dto.RequestDTO;
 import ru.practicum.shareit.request.service.ItemRequestService;
+import ru.practicum.shareit.utils.PageCursor;
 
 @RestController
 @RequestMapping(path = "/requests")
@@ -38,13 +40,18 @@ public class ItemRequestController {
   }
 
   @GetMapping("/all")
-  public List<ItemRequestDTO> getAllRequests(
+  public ResponseEntity<List<ItemRequestDTO>> getAllRequests(
       @RequestHeader(REQUEST_HEADER_USER_ID) Long userId,
       @RequestParam(required = false, defaultValue = "0") final Integer from,
-      @RequestParam(required = false, defaultValue = "10") final Integer size
+      @RequestParam(required = false, defaultValue = "10") final Integer size,
+      @RequestParam(required = false) final String cursor
   ) {
-    return itemRequestService.getAll(userId,
-        PageRequest.of(from, size, Sort.by("created").descending()));
+    List<ItemRequestDTO> result = cursor != null
+        ? itemRequestService.getAll(userId, PageCursor.decode(cursor), size)
+        : itemRequestService.getAll(userId,
+            PageRequest.of(from, size, Sort.by("created").descending()));
+    return PageCursor.withNextCursor(result, size,
+        request -> PageCursor.of(request.getCreated(), request.getId()));
   }
 
   @GetMapping("/{requestId}")
@@ -1,5 +1,6 @@
 package ru.practicum.shareit.request;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -10,9 +11,15 @@ import ru.practicum.shareit.request.model.ItemRequest;
 @Repository
 public interface ItemRequestRepository extends JpaRepository<ItemRequest, Long> {
 
-  @Query("select i from ItemRequest i where i.requestor.id != ?1 order by i.created DESC")
+  @Query("select i from ItemRequest i where i.requestor.id != ?1 order by i.created DESC, i.id DESC")
   List<ItemRequest> findAllWithoutRequestorId(Long userId, Pageable pageable);
 
   List<ItemRequest> findAllByRequestorId(Long requestorId);
 
+  @Query("select i from ItemRequest i where i.requestor.id != ?1 "
+      + "and i.created <= ?2 and (i.created < ?2 or (i.created = ?2 and i.id < ?3)) "
+      + "order by i.created DESC, i.id DESC")
+  List<ItemRequest> findPageWithoutRequestorId(Long userId, LocalDateTime created, Long id,
+      Pageable pageable);
+
 }
@@ -4,6 +4,7 @@ import java.util.List;
 import org.springframework.data.domain.Pageable;
 import ru.practicum.shareit.request.dto.ItemRequestDTO;
 import ru.practicum.shareit.request.dto.RequestDTO;
+import ru.practicum.shareit.utils.PageCursor;
 
 public interface ItemRequestService {
 
@@ -13,6 +14,8 @@ public interface ItemRequestService {
 
   List<ItemRequestDTO> getAll(Long userId, Pageable pageable);
 
+  List<ItemRequestDTO> getAll(Long userId, PageCursor cursor, int size);
+
   ItemRequestDTO get(Long userId, Long id);
 
 }
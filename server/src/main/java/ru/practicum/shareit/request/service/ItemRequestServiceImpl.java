@@ -3,6 +3,7 @@ package ru.practicum.shareit.request.service;
 import java.util.List;
 import java.util.stream.Collectors;
 import lombok.AllArgsConstructor;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import ru.practicum.shareit.exeption.ItemRequestNotFoundException;
@@ -14,6 +15,7 @@ import ru.practicum.shareit.request.mapper.ItemRequestMapper;
 import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.user.UserRepository;
 import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.utils.PageCursor;
 
 @Service
 @AllArgsConstructor
@@ -50,6 +52,15 @@ public class ItemRequestServiceImpl implements ItemRequestService {
         .collect(Collectors.toList());
   }
 
+  @Override
+  public List<ItemRequestDTO> getAll(Long userId, PageCursor cursor, int size) {
+    List<ItemRequest> itemRequests = itemRequestRepository.findPageWithoutRequestorId(userId,
+        cursor.requireTimestamp(), cursor.getId(), PageRequest.of(0, size));
+    return itemRequests.stream()
+        .map(ItemRequestMapper::toItemRequestDTO)
+        .collect(Collectors.toList());
+  }
+
   @Override
   public ItemRequestDTO get(Long userId, Long id) {
     userRepository.findById(userId)
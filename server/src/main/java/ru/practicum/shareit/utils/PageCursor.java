@@ -0,0 +1,75 @@
+package ru.practicum.shareit.utils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import org.springframework.http.ResponseEntity;
+import ru.practicum.shareit.exeption.InvalidCursorException;
+
+@Getter
+@EqualsAndHashCode
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public class PageCursor {
+
+  public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+  private static final String SEPARATOR = "|";
+
+  private final LocalDateTime timestamp;
+  private final long id;
+
+  public static PageCursor of(LocalDateTime timestamp, long id) {
+    return new PageCursor(timestamp, id);
+  }
+
+  public static PageCursor of(long id) {
+    return new PageCursor(null, id);
+  }
+
+  public static PageCursor decode(String token) {
+    try {
+      String value = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+      int separator = value.indexOf(SEPARATOR);
+      if (separator < 0) {
+        throw new InvalidCursorException(token);
+      }
+      long id = Long.parseLong(value.substring(separator + 1));
+      if (separator == 0) {
+        return of(id);
+      }
+      return of(LocalDateTime.parse(value.substring(0, separator)), id);
+    } catch (IllegalArgumentException | DateTimeParseException e) {
+      throw new InvalidCursorException(token);
+    }
+  }
+
+  public LocalDateTime requireTimestamp() {
+    if (timestamp == null) {
+      throw new InvalidCursorException(encode());
+    }
+    return timestamp;
+  }
+
+  public String encode() {
+    String value = (timestamp == null ? "" : timestamp.toString()) + SEPARATOR + id;
+    return Base64.getUrlEncoder().withoutPadding()
+        .encodeToString(value.getBytes(StandardCharsets.UTF_8));
+  }
+
+  public static <T> ResponseEntity<List<T>> withNextCursor(List<T> page, int size,
+      Function<T, PageCursor> cursorOf) {
+    ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+    if (!page.isEmpty() && page.size() >= size) {
+      response.header(NEXT_CURSOR_HEADER, cursorOf.apply(page.get(page.size() - 1)).encode());
+    }
+    return response.body(page);
+  }
+
+}
@@ -0,0 +1,52 @@
+ALTER TABLE users ALTER COLUMN id DROP IDENTITY IF EXISTS;
+
+SELECT setval('users_seq', GREATEST((SELECT last_value FROM users_seq),
+                                (SELECT COALESCE(MAX(id), 0) + 50 FROM users)));
+
+ALTER TABLE users ALTER COLUMN id SET DEFAULT nextval('users_seq');
+
+ALTER TABLE requests ALTER COLUMN id DROP IDENTITY IF EXISTS;
+
+SELECT setval('requests_seq', GREATEST((SELECT last_value FROM requests_seq),
+                                (SELECT COALESCE(MAX(id), 0) + 50 FROM requests)));
+
+ALTER TABLE requests ALTER COLUMN id SET DEFAULT nextval('requests_seq');
+
+ALTER TABLE items ALTER COLUMN id DROP IDENTITY IF EXISTS;
+
+SELECT setval('items_seq', GREATEST((SELECT last_value FROM items_seq),
+                                (SELECT COALESCE(MAX(id), 0) + 50 FROM items)));
+
+ALTER TABLE items ALTER COLUMN id SET DEFAULT nextval('items_seq');
+
+ALTER TABLE bookings ALTER COLUMN id DROP IDENTITY IF EXISTS;
+
+SELECT setval('bookings_seq', GREATEST((SELECT last_value FROM bookings_seq),
+                                (SELECT COALESCE(MAX(id), 0) + 50 FROM bookings)));
+
+ALTER TABLE bookings ALTER COLUMN id SET DEFAULT nextval('bookings_seq');
+
+ALTER TABLE comments ALTER COLUMN id DROP IDENTITY IF EXISTS;
+
+SELECT setval('comments_seq', GREATEST((SELECT last_value FROM comments_seq),
+                                (SELECT COALESCE(MAX(id), 0) + 50 FROM comments)));
+
+ALTER TABLE comments ALTER COLUMN id SET DEFAULT nextval('comments_seq');
+
+ALTER TABLE items
+    ADD COLUMN IF NOT EXISTS search_vector tsvector GENERATED ALWAYS AS (
+        setweight(to_tsvector('simple', coalesce(name, '')), 'A') ||
+        setweight(to_tsvector('simple', coalesce(description, '')), 'B')
+        ) STORED;
+
+CREATE INDEX IF NOT EXISTS ix_items_search_vector ON items USING GIN (search_vector) WHERE is_available;
+
+CREATE EXTENSION IF NOT EXISTS btree_gist;
+
+ALTER TABLE bookings DROP CONSTRAINT IF EXISTS ex_bookings_item_period;
+
+ALTER TABLE bookings
+    ADD CONSTRAINT ex_bookings_item_period EXCLUDE USING gist (
+        item_id WITH =,
+        tsrange(start_date, end_date) WITH &&
+        ) WHERE (status IN ('WAITING', 'APPROVED'));
@@ -1,13 +1,17 @@
+CREATE SEQUENCE IF NOT EXISTS users_seq START WITH 1 INCREMENT BY 50;
+
 CREATE TABLE IF NOT EXISTS users
 (
-    id    BIGINT GENERATED ALWAYS AS IDENTITY PRIMARY KEY,
+    id    BIGINT PRIMARY KEY,
     name  varchar(100),
     email varchar(320)
 );
 
+CREATE SEQUENCE IF NOT EXISTS requests_seq START WITH 1 INCREMENT BY 50;
+
 CREATE TABLE IF NOT EXISTS requests
 (
-    id           BIGINT GENERATED ALWAYS AS IDENTITY PRIMARY KEY,
+    id           BIGINT PRIMARY KEY,
     description  varchar(255),
     requestor_id bigint,
     created      timestamp without time zone,
@@ -15,35 +19,57 @@ CREATE TABLE IF NOT EXISTS requests
     UNIQUE (id)
 );
 
+CREATE INDEX IF NOT EXISTS ix_requests_created ON requests (created DESC, id DESC);
+
+CREATE SEQUENCE IF NOT EXISTS items_seq START WITH 1 INCREMENT BY 50;
+
 CREATE TABLE IF NOT EXISTS items
 (
-    id           BIGINT GENERATED ALWAYS AS IDENTITY PRIMARY KEY,
+    id           BIGINT PRIMARY KEY,
     name         varchar(100),
     description  varchar(255),
     is_available boolean,
     user_id      BIGINT,
     request_id   BIGINT,
+    version      BIGINT NOT NULL DEFAULT 0,
     CONSTRAINT fk_items_to_users FOREIGN KEY (user_id) REFERENCES users (id),
     CONSTRAINT fk_items_to_requests FOREIGN KEY (request_id) REFERENCES requests (id),
     UNIQUE (id)
 );
 
+CREATE INDEX IF NOT EXISTS ix_items_owner ON items (user_id, id);
+
+CREATE SEQUENCE IF NOT EXISTS bookings_seq START WITH 1 INCREMENT BY 50;
+
 CREATE TABLE IF NOT EXISTS bookings
 (
-    id         BIGINT GENERATED ALWAYS AS IDENTITY PRIMARY KEY,
+    id         BIGINT PRIMARY KEY,
     start_date timestamp without time zone,
     end_date   timestamp without time zone,
     status     varchar(10),
     item_id    bigint,
     booker_id  bigint,
+    version    bigint NOT NULL DEFAULT 0,
     CONSTRAINT fk_bookings_to_users FOREIGN KEY (booker_id) REFERENCES users (id),
     CONSTRAINT fk_bookings_to_items FOREIGN KEY (item_id) REFERENCES items (id),
     UNIQUE (id)
 );
 
+CREATE INDEX IF NOT EXISTS ix_bookings_item_status_start ON bookings (item_id, status, start_date);
+
+CREATE INDEX IF NOT EXISTS ix_bookings_item_status_end ON bookings (item_id, status, end_date);
+
+CREATE INDEX IF NOT EXISTS ix_bookings_booker_start ON bookings (booker_id, start_date DESC, id DESC);
+
+CREATE INDEX IF NOT EXISTS ix_bookings_item_start ON bookings (item_id, start_date DESC, id DESC);
+
+CREATE INDEX IF NOT EXISTS ix_bookings_item_booker ON bookings (item_id, booker_id);
+
+CREATE SEQUENCE IF NOT EXISTS comments_seq START WITH 1 INCREMENT BY 50;
+
 CREATE TABLE IF NOT EXISTS comments
 (
-    id        BIGINT GENERATED ALWAYS AS IDENTITY PRIMARY KEY,
+    id        BIGINT PRIMARY KEY,
     text      varchar(255),
     item_id   bigint,
     author_id bigint,
@@ -52,3 +78,22 @@ CREATE TABLE IF NOT EXISTS comments
     CONSTRAINT fk_comments_to_users FOREIGN KEY (author_id) REFERENCES users (id),
     UNIQUE (id)
 );
+
+CREATE TABLE IF NOT EXISTS entity_changes
+(
+    id                   BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    origin               varchar(36) NOT NULL,
+    changed_at           timestamp without time zone NOT NULL DEFAULT LOCALTIMESTAMP,
+    entity               varchar(10) NOT NULL,
+    entity_id            BIGINT      NOT NULL,
+    item_id              BIGINT      NOT NULL,
+    status               varchar(10),
+    name                 varchar(100),
+    description          varchar(255),
+    is_available         boolean,
+    previous_name        varchar(100),
+    previous_description varchar(255),
+    previous_available   boolean
+);
+
+CREATE INDEX IF NOT EXISTS ix_entity_changes_changed_at ON entity_changes (changed_at);
@@ -0,0 +1,115 @@
+package ru.practicum.shareit.benchmark;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+import javax.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import ru.practicum.shareit.ShareItServer;
+import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.dto.BookingDTO;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.user.UserRepository;
+import ru.practicum.shareit.user.model.User;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BookingApprovalBenchmark {
+
+  private ConfigurableApplicationContext context;
+  private BookingService bookingService;
+  private BookingRepository bookingRepository;
+  private Statistics statistics;
+  private User owner;
+  private User booker;
+  private Item item;
+  private LocalDateTime start;
+  private Booking booking;
+  private long statementsBefore;
+  private long statements;
+  private long approvals;
+
+  @Setup
+  public void setUp() {
+    context = SpringApplication.run(ShareItServer.class, "--server.port=0",
+        "--logging.level.ru.practicum.shareit=info",
+        "--spring.jpa.properties.hibernate.generate_statistics=true",
+        "--logging.level.org.hibernate.engine.internal.StatisticalLoggingSessionEventListener=warn");
+    bookingService = context.getBean(BookingService.class);
+    bookingRepository = context.getBean(BookingRepository.class);
+    statistics = context.getBean(EntityManagerFactory.class).unwrap(SessionFactory.class)
+        .getStatistics();
+    UserRepository userRepository = context.getBean(UserRepository.class);
+    owner = userRepository.save(User.builder().name("owner").email("owner@bench.ru").build());
+    booker = userRepository.save(User.builder().name("booker").email("booker@bench.ru").build());
+    item = context.getBean(ItemRepository.class).save(Item.builder()
+        .name("Дрель")
+        .description("Ударная")
+        .available(true)
+        .owner(owner)
+        .build());
+    start = LocalDateTime.now().plusDays(1);
+  }
+
+  @Setup(Level.Invocation)
+  public void newBooking() {
+    start = start.plusHours(1);
+    booking = bookingRepository.save(Booking.builder()
+        .start(start)
+        .end(start.plusMinutes(30))
+        .status(BookingStatus.WAITING.name())
+        .item(item)
+        .booker(booker)
+        .build());
+    statementsBefore = statistics.getPrepareStatementCount();
+  }
+
+  @TearDown(Level.Invocation)
+  public void countStatements() {
+    statements += statistics.getPrepareStatementCount() - statementsBefore;
+    approvals++;
+  }
+
+  @TearDown
+  public void tearDown() {
+    System.out.printf("%nStatements per approval: %.2f%n", (double) statements / approvals);
+    context.close();
+  }
+
+  @Benchmark
+  public BookingDTO approve() {
+    return bookingService.updateBooking(owner.getId(), booking.getId(), Boolean.TRUE);
+  }
+
+  public static void main(String[] args) throws RunnerException {
+    new Runner(new OptionsBuilder()
+        .include(BookingApprovalBenchmark.class.getSimpleName())
+        .build()).run();
+  }
+
+}
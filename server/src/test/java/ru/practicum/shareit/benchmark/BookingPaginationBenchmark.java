@@ -0,0 +1,133 @@
+package ru.practicum.shareit.benchmark;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BookingPaginationBenchmark {
+
+  private static final int PAGE_SIZE = 10;
+  private static final int BOOKINGS = 120_000;
+
+  @Param({"1", "10000"})
+  private int page;
+
+  private Connection connection;
+  private PreparedStatement offsetQuery;
+  private PreparedStatement keysetQuery;
+  private Timestamp cursorStart;
+  private long cursorId;
+
+  @Setup
+  public void setUp() throws SQLException {
+    connection = DriverManager.getConnection("jdbc:h2:mem:pagination;OPTIMIZE_REUSE_RESULTS=FALSE");
+    try (Statement statement = connection.createStatement()) {
+      statement.execute("CREATE TABLE bookings (id BIGINT PRIMARY KEY, "
+          + "start_date TIMESTAMP, end_date TIMESTAMP, status VARCHAR(10), booker_id BIGINT)");
+      statement.execute("CREATE INDEX ix_bookings_booker_start "
+          + "ON bookings (booker_id, start_date DESC, id DESC)");
+    }
+    LocalDateTime start = LocalDateTime.of(2020, 1, 1, 0, 0);
+    try (PreparedStatement insert = connection.prepareStatement(
+        "INSERT INTO bookings VALUES (?, ?, ?, 'APPROVED', ?)")) {
+      for (int id = 1; id <= BOOKINGS; id++) {
+        insert.setLong(1, id);
+        insert.setTimestamp(2, Timestamp.valueOf(start.plusMinutes(id / 3)));
+        insert.setTimestamp(3, Timestamp.valueOf(start.plusMinutes(id / 3 + 60)));
+        insert.setLong(4, id % 10 == 0 ? 2 : 1);
+        insert.addBatch();
+        if (id % 1000 == 0) {
+          insert.executeBatch();
+        }
+      }
+      insert.executeBatch();
+    }
+
+    offsetQuery = connection.prepareStatement("SELECT id, start_date, end_date, status "
+        + "FROM bookings WHERE booker_id = 1 "
+        + "ORDER BY booker_id, start_date DESC, id DESC LIMIT ? OFFSET ?");
+    keysetQuery = connection.prepareStatement("SELECT id, start_date, end_date, status "
+        + "FROM bookings WHERE booker_id = 1 "
+        + "AND start_date <= ? AND (start_date < ? OR (start_date = ? AND id < ?)) "
+        + "ORDER BY booker_id, start_date DESC, id DESC LIMIT ?");
+
+    if (page == 1) {
+      cursorStart = Timestamp.valueOf(LocalDateTime.of(9999, 1, 1, 0, 0));
+      cursorId = Long.MAX_VALUE;
+    } else {
+      offsetQuery.setInt(1, 1);
+      offsetQuery.setInt(2, (page - 1) * PAGE_SIZE - 1);
+      try (ResultSet resultSet = offsetQuery.executeQuery()) {
+        resultSet.next();
+        cursorId = resultSet.getLong(1);
+        cursorStart = resultSet.getTimestamp(2);
+      }
+    }
+  }
+
+  @TearDown
+  public void tearDown() throws SQLException {
+    connection.close();
+  }
+
+  @Benchmark
+  public long offsetPage() throws SQLException {
+    offsetQuery.setInt(1, PAGE_SIZE);
+    offsetQuery.setInt(2, (page - 1) * PAGE_SIZE);
+    return consume(offsetQuery);
+  }
+
+  @Benchmark
+  public long keysetPage() throws SQLException {
+    keysetQuery.setTimestamp(1, cursorStart);
+    keysetQuery.setTimestamp(2, cursorStart);
+    keysetQuery.setTimestamp(3, cursorStart);
+    keysetQuery.setLong(4, cursorId);
+    keysetQuery.setInt(5, PAGE_SIZE);
+    return consume(keysetQuery);
+  }
+
+  public static void main(String[] args) throws RunnerException {
+    new Runner(new OptionsBuilder()
+        .include(BookingPaginationBenchmark.class.getSimpleName())
+        .build()).run();
+  }
+
+  private static long consume(PreparedStatement query) throws SQLException {
+    long sum = 0;
+    try (ResultSet resultSet = query.executeQuery()) {
+      while (resultSet.next()) {
+        sum += resultSet.getLong(1);
+      }
+    }
+    return sum;
+  }
+
+}
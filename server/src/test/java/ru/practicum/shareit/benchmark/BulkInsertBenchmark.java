@@ -0,0 +1,120 @@
+package ru.practicum.shareit.benchmark;
+
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.h2.tools.Server;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.ShareItServer;
+import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.user.UserRepository;
+import ru.practicum.shareit.user.model.User;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 8, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BulkInsertBenchmark {
+
+  private static final int ROWS = 1000;
+
+  private Server tcpServer;
+  private ConfigurableApplicationContext context;
+  private TransactionTemplate transactionTemplate;
+  private ItemRepository itemRepository;
+  private BookingRepository bookingRepository;
+  private User owner;
+  private User booker;
+  private Item item;
+  private LocalDateTime start;
+
+  @Setup
+  public void setUp() throws SQLException {
+    tcpServer = Server.createTcpServer("-tcpPort", "0", "-ifNotExists").start();
+    context = SpringApplication.run(ShareItServer.class, "--server.port=0",
+        "--logging.level.ru.practicum.shareit=info", "--spring.jpa.hibernate.ddl-auto=create-drop",
+        "--spring.datasource.url=jdbc:h2:tcp://localhost:" + tcpServer.getPort() + "/mem:bulk;DB_CLOSE_DELAY=-1");
+    transactionTemplate = context.getBean(TransactionTemplate.class);
+    itemRepository = context.getBean(ItemRepository.class);
+    bookingRepository = context.getBean(BookingRepository.class);
+    UserRepository userRepository = context.getBean(UserRepository.class);
+    owner = userRepository.save(User.builder().name("owner").email("owner@bench.ru").build());
+    booker = userRepository.save(User.builder().name("booker").email("booker@bench.ru").build());
+    item = itemRepository.save(newItem(0));
+    start = LocalDateTime.now().plusDays(1);
+  }
+
+  @TearDown
+  public void tearDown() {
+    context.close();
+    tcpServer.stop();
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(ROWS)
+  public int insertItems() {
+    List<Item> items = new ArrayList<>(ROWS);
+    for (int i = 0; i < ROWS; i++) {
+      items.add(newItem(i));
+    }
+    return transactionTemplate.execute(status -> itemRepository.saveAll(items).size());
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(ROWS)
+  public int insertBookings() {
+    List<Booking> bookings = new ArrayList<>(ROWS);
+    for (int i = 0; i < ROWS; i++) {
+      start = start.plusHours(1);
+      bookings.add(Booking.builder()
+          .start(start)
+          .end(start.plusMinutes(30))
+          .status(BookingStatus.WAITING.name())
+          .item(item)
+          .booker(booker)
+          .build());
+    }
+    return transactionTemplate.execute(status -> bookingRepository.saveAll(bookings).size());
+  }
+
+  public static void main(String[] args) throws RunnerException {
+    new Runner(new OptionsBuilder()
+        .include(BulkInsertBenchmark.class.getSimpleName())
+        .build()).run();
+  }
+
+  private Item newItem(int number) {
+    return Item.builder()
+        .name("Дрель " + number)
+        .description("Ударная")
+        .available(true)
+        .owner(owner)
+        .build();
+  }
+
+}
@@ -0,0 +1,69 @@
+package ru.practicum.shareit.benchmark;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import ru.practicum.shareit.item.search.ItemNameTrie;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class ItemNameTrieBenchmark {
+
+  private static final String[] WORDS = {"дрель", "отвертка", "пила", "молоток", "лестница",
+      "шуруповерт", "перфоратор", "стремянка", "ключ", "рубанок"};
+
+  @Param({"1000000"})
+  private int items;
+
+  private ItemNameTrie trie;
+  private Random random;
+
+  @Setup
+  public void setUp() {
+    random = new Random(42);
+    trie = new ItemNameTrie(10);
+    for (int i = 0; i < items; i++) {
+      trie.add(WORDS[random.nextInt(WORDS.length)] + " " + random.nextInt(items),
+          1 + random.nextInt(100));
+    }
+  }
+
+  @Benchmark
+  public Object shortPrefix() {
+    return trie.suggest("др", 10);
+  }
+
+  @Benchmark
+  public Object longPrefix() {
+    return trie.suggest("шуруповерт 12", 10);
+  }
+
+  @Benchmark
+  public void update() {
+    trie.add(WORDS[random.nextInt(WORDS.length)] + " " + random.nextInt(items), 1);
+  }
+
+  public static void main(String[] args) throws RunnerException {
+    new Runner(new OptionsBuilder()
+        .include(ItemNameTrieBenchmark.class.getSimpleName())
+        .build()).run();
+  }
+
+}
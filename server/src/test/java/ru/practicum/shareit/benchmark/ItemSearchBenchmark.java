@@ -0,0 +1,96 @@
+package ru.practicum.shareit.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.shareit.ShareItServer;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.search.ItemSearchEngine;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ItemSearchBenchmark {
+
+  private static final String[] WORDS = {"дрель", "отвертка", "пила", "молоток", "лестница",
+      "шуруповерт", "перфоратор", "стремянка", "ключ", "рубанок", "аккумуляторная", "ударная",
+      "электрическая", "садовая", "набор", "бита", "уровень", "рулетка", "тиски", "болгарка"};
+
+  @Param({"10000", "100000", "1000000"})
+  private int items;
+
+  @Param({"like", "fulltext"})
+  private String engine;
+
+  private ConfigurableApplicationContext context;
+  private ItemSearchEngine searchEngine;
+  private String selectiveQuery;
+
+  @Setup
+  public void setUp() {
+    context = SpringApplication.run(ShareItServer.class, "--server.port=0",
+        "--logging.level.ru.practicum.shareit=info",
+        "--spring.jpa.hibernate.ddl-auto=create-drop",
+        "--spring.datasource.url=" + System.getProperty("spring.datasource.url",
+            "jdbc:postgresql://localhost:5432/share"),
+        "--spring.datasource.username=" + System.getProperty("spring.datasource.username",
+            "postgres"),
+        "--spring.datasource.password=" + System.getProperty("spring.datasource.password",
+            "postgres"),
+        "--shareit.search.engine=" + engine);
+    JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+    jdbcTemplate.update("insert into users (name, email) values ('owner', 'owner@bench.ru')");
+    jdbcTemplate.update("insert into items (name, description, is_available, user_id, version) "
+            + "select w.words[1 + g % 20] || ' ' || g, "
+            + "w.words[1 + g * 7 % 20] || ' ' || w.words[1 + g * 13 % 20], "
+            + "g % 10 <> 0, (select min(id) from users), 0 "
+            + "from generate_series(1, ?) g, (select ?::text[] as words) w",
+        items, WORDS);
+    jdbcTemplate.execute("analyze items");
+    searchEngine = context.getBean(ItemSearchEngine.class);
+    selectiveQuery = String.valueOf(items / 2 + 1);
+  }
+
+  @TearDown
+  public void tearDown() {
+    context.close();
+  }
+
+  @Benchmark
+  public List<Item> selectiveSearch() {
+    return searchEngine.search(selectiveQuery, PageRequest.of(0, 10));
+  }
+
+  @Benchmark
+  public List<Item> commonWordSearch() {
+    return searchEngine.search("рубанок", PageRequest.of(0, 10));
+  }
+
+  public static void main(String[] args) throws RunnerException {
+    new Runner(new OptionsBuilder()
+        .include(ItemSearchBenchmark.class.getSimpleName())
+        .build()).run();
+  }
+
+}
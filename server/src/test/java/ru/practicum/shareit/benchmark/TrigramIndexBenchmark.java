@@ -0,0 +1,81 @@
+package ru.practicum.shareit.benchmark;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import ru.practicum.shareit.item.search.TrigramIndex;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class TrigramIndexBenchmark {
+
+  private static final String[] WORDS = {"дрель", "отвертка", "пила", "молоток", "лестница",
+      "шуруповерт", "перфоратор", "стремянка", "ключ", "рубанок", "аккумуляторная", "ударная",
+      "электрическая", "садовая", "набор", "бита", "уровень", "рулетка", "тиски", "болгарка"};
+
+  @Param({"10000", "100000", "1000000"})
+  private int items;
+
+  private TrigramIndex index;
+
+  @Setup
+  public void setUp() {
+    Random random = new Random(42);
+    Runtime runtime = Runtime.getRuntime();
+    System.gc();
+    long before = runtime.totalMemory() - runtime.freeMemory();
+
+    index = new TrigramIndex();
+    for (long id = 1; id <= items; id++) {
+      index.put(id, word(random) + " " + id, word(random) + " " + word(random) + " " + word(random));
+    }
+
+    System.gc();
+    long after = runtime.totalMemory() - runtime.freeMemory();
+    System.out.printf("%nTrigram index with %d items retains ~%d MB%n", items,
+        (after - before) / (1024 * 1024));
+  }
+
+  @Benchmark
+  public long[] substringLookup() {
+    return index.candidates("уляторн", 0, 10);
+  }
+
+  @Benchmark
+  public long[] selectiveLookup() {
+    return index.candidates("рубанок 4242", 0, 10);
+  }
+
+  @Benchmark
+  public long[] shortQueryScan() {
+    return index.candidates("ре", 0, 10);
+  }
+
+  public static void main(String[] args) throws RunnerException {
+    new Runner(new OptionsBuilder()
+        .include(TrigramIndexBenchmark.class.getSimpleName())
+        .build()).run();
+  }
+
+  private static String word(Random random) {
+    return WORDS[random.nextInt(WORDS.length)];
+  }
+
+}
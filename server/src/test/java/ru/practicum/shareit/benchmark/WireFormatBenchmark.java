@@ -0,0 +1,99 @@
+package ru.practicum.shareit.benchmark;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import ru.practicum.shareit.booking.dto.BookingDTO;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.utils.BaseDTO;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WireFormatBenchmark {
+
+  @Param({"10", "100", "1000"})
+  private int bookings;
+
+  @Param({"json", "cbor"})
+  private String format;
+
+  private final JsonFactory jsonFactory = new JsonFactory();
+  private ObjectMapper mapper;
+  private List<BookingDTO> payload;
+  private byte[] wire;
+
+  @Setup
+  public void setUp() throws IOException {
+    mapper = "cbor".equals(format)
+        ? Jackson2ObjectMapperBuilder.json().factory(new CBORFactory()).build()
+        : Jackson2ObjectMapperBuilder.json().build();
+    payload = new ArrayList<>(bookings);
+    LocalDateTime start = LocalDateTime.of(2030, 1, 1, 10, 0);
+    for (int i = 0; i < bookings; i++) {
+      payload.add(BookingDTO.builder()
+          .id((long) i)
+          .start(start.plusHours(i))
+          .end(start.plusHours(i).plusMinutes(30))
+          .status(BookingStatus.APPROVED.name())
+          .booker(BaseDTO.builder().id(2L).build())
+          .item(BaseDTO.builder().id(3L).name("Дрель ударная").build())
+          .build());
+    }
+    wire = mapper.writeValueAsBytes(payload);
+    System.out.printf("%nBytes on the wire: %d%n", wire.length);
+  }
+
+  @Benchmark
+  public byte[] serverWrite() throws IOException {
+    return mapper.writeValueAsBytes(payload);
+  }
+
+  @Benchmark
+  public byte[] gatewayRelay() throws IOException {
+    if (!"cbor".equals(format)) {
+      return wire;
+    }
+    ByteArrayOutputStream out = new ByteArrayOutputStream(wire.length * 2);
+    try (JsonParser parser = mapper.getFactory().createParser(wire);
+        JsonGenerator generator = jsonFactory.createGenerator(out)) {
+      while (parser.nextToken() != null) {
+        generator.copyCurrentEvent(parser);
+      }
+    }
+    return out.toByteArray();
+  }
+
+  public static void main(String[] args) throws RunnerException {
+    new Runner(new OptionsBuilder()
+        .include(WireFormatBenchmark.class.getSimpleName())
+        .build()).run();
+  }
+
+}
@@ -1,13 +1,23 @@
 package ru.practicum.shareit.controller;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.CoreMatchers.is;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.util.List;
 import org.junit.jupiter.api.Test;
@@ -15,21 +25,30 @@ import org.mockito.Mockito;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
 import org.springframework.test.context.ContextConfiguration;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 import ru.practicum.shareit.booking.BookingController;
 import ru.practicum.shareit.booking.dto.BookingDTO;
+import ru.practicum.shareit.booking.dto.BookingDecisionDTO;
+import ru.practicum.shareit.booking.dto.BookingDecisionResultDTO;
 import ru.practicum.shareit.booking.dto.BookingRequestDTO;
+import ru.practicum.shareit.booking.dto.RequestBookingStatus;
+import ru.practicum.shareit.booking.export.BookingExportFormat;
 import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.config.CborConfig;
 import ru.practicum.shareit.exeption.BookingNotFoundException;
 import ru.practicum.shareit.exeption.ErrorHandlingControllerAdvice;
 import ru.practicum.shareit.exeption.ItemNotAvalibleException;
 import ru.practicum.shareit.exeption.ItemNotFoundException;
 import ru.practicum.shareit.exeption.UserNotFoundException;
+import ru.practicum.shareit.utils.PageCursor;
 
 @WebMvcTest(controllers = BookingController.class)
-@ContextConfiguration(classes = {BookingController.class, ErrorHandlingControllerAdvice.class})
+@ContextConfiguration(classes = {BookingController.class, ErrorHandlingControllerAdvice.class,
+    CborConfig.class})
 public class BookingControllerTest {
 
   @Autowired
@@ -268,6 +287,106 @@ public class BookingControllerTest {
     response.andExpect(status().isOk());
   }
 
+  @Test
+  void getUserItemBookingsUsesOffsetPage() throws Exception {
+    when(bookingService.getBookingStatusByOwner(anyLong(), any(), any()))
+        .thenReturn(List.of(getDefaultDTO()));
+    when(bookingService.getBookingsByUser(anyLong(), any(), any()))
+        .thenReturn(List.of(getDefaultDTO()));
+
+    mockMvc.perform(MockMvcRequestBuilders.get(URL.concat("/owner"))
+            .param("from", "20")
+            .param("size", "10")
+            .header("X-Sharer-User-Id", 1L))
+        .andExpect(status().isOk());
+    mockMvc.perform(MockMvcRequestBuilders.get(URL)
+            .param("from", "20")
+            .param("size", "10")
+            .header("X-Sharer-User-Id", 1L))
+        .andExpect(status().isOk());
+
+    verify(bookingService).getBookingStatusByOwner(1L, RequestBookingStatus.ALL,
+        PageRequest.of(2, 10));
+    verify(bookingService).getBookingsByUser(1L, RequestBookingStatus.ALL,
+        PageRequest.of(2, 10));
+  }
+
+  @Test
+  void getUserItemBookingsAsCbor() throws Exception {
+    ObjectMapper cbor = Jackson2ObjectMapperBuilder.json().factory(new CBORFactory()).build();
+    when(bookingService.getBookingStatusByOwner(anyLong(), any(), any()))
+        .thenReturn(List.of(getDefaultDTO()));
+
+    byte[] body = mockMvc.perform(MockMvcRequestBuilders.get(URL.concat("/owner"))
+            .header("Accept", "application/cbor")
+            .header("X-Sharer-User-Id", 1L))
+        .andExpect(status().isOk())
+        .andExpect(content().contentType("application/cbor"))
+        .andReturn().getResponse().getContentAsByteArray();
+
+    assertThat(cbor.readTree(body).get(0).get("id").asLong()).isEqualTo(getDefaultDTO().getId());
+  }
+
+  @Test
+  void bookingFromCbor() throws Exception {
+    ObjectMapper cbor = Jackson2ObjectMapperBuilder.json().factory(new CBORFactory()).build();
+    when(bookingService.book(anyLong(), any()))
+        .thenReturn(getDefaultDTO());
+
+    var response = mockMvc.perform(MockMvcRequestBuilders.post(URL)
+        .header("Content-Type", "application/cbor")
+        .header("X-Sharer-User-Id", 1L)
+        .content(cbor.writeValueAsBytes(getDefault())));
+
+    response.andExpect(status().isOk())
+        .andExpect(content().contentType("application/json"));
+  }
+
+  @Test
+  void getUserBookingsByCursor() throws Exception {
+    var expected = getDefaultDTO();
+    var cursor = PageCursor.of(expected.getStart().plusDays(1), 5L);
+
+    when(bookingService.getBookingsByUser(anyLong(), any(), any(PageCursor.class), anyInt()))
+        .thenReturn(List.of(expected));
+
+    var response = mockMvc.perform(MockMvcRequestBuilders.get(URL)
+        .param("size", "1")
+        .param("cursor", cursor.encode())
+        .header("X-Sharer-User-Id", 1L));
+
+    response.andExpect(status().isOk())
+        .andExpect(header().string(PageCursor.NEXT_CURSOR_HEADER,
+            PageCursor.of(expected.getStart(), expected.getId()).encode()));
+    verify(bookingService).getBookingsByUser(1L, RequestBookingStatus.ALL, cursor, 1);
+  }
+
+  @Test
+  void getUserItemBookingsLastPageHasNoCursor() throws Exception {
+    when(bookingService.getBookingStatusByOwner(anyLong(), any(), any(PageCursor.class),
+        anyInt()))
+        .thenReturn(List.of(getDefaultDTO()));
+
+    var response = mockMvc.perform(MockMvcRequestBuilders.get(URL.concat("/owner"))
+        .param("size", "2")
+        .param("cursor", PageCursor.of(LocalDateTime.now(), 5L).encode())
+        .header("X-Sharer-User-Id", 1L));
+
+    response.andExpect(status().isOk())
+        .andExpect(header().doesNotExist(PageCursor.NEXT_CURSOR_HEADER));
+  }
+
+  @Test
+  void getUserBookingsInvalidCursor() throws Exception {
+    var response = mockMvc.perform(MockMvcRequestBuilders.get(URL)
+        .param("cursor", "not a cursor")
+        .header("X-Sharer-User-Id", 1L));
+
+    response.andExpect(status().isBadRequest());
+    verify(bookingService, never()).getBookingsByUser(anyLong(), any(), any(PageCursor.class),
+        anyInt());
+  }
+
   private BookingRequestDTO getDefault() {
     return BookingRequestDTO.builder()
         .itemId(1L)
@@ -285,4 +404,57 @@ public class BookingControllerTest {
         .build();
   }
 
+  @Test
+  void changeBookings() throws Exception {
+    var decisions = List.of(
+        BookingDecisionDTO.builder().bookingId(1L).approved(true).build(),
+        BookingDecisionDTO.builder().bookingId(2L).approved(false).build());
+    when(bookingService.updateBookings(1L, decisions))
+        .thenReturn(List.of(
+            BookingDecisionResultDTO.builder()
+                .bookingId(1L)
+                .booking(BookingDTO.builder().id(1L).status("APPROVED").build())
+                .build(),
+            BookingDecisionResultDTO.builder()
+                .bookingId(2L)
+                .error("Booking c id = 2 не найден!")
+                .build()));
+
+    var response = mockMvc.perform(MockMvcRequestBuilders.patch(URL.concat("/batch"))
+        .header("Content-Type", "application/json")
+        .header("X-Sharer-User-Id", 1L)
+        .content(mapper.writeValueAsString(decisions)));
+
+    response.andExpect(status().isOk())
+        .andExpect(jsonPath("$[0].booking.status", is("APPROVED")))
+        .andExpect(jsonPath("$[1].error", is("Booking c id = 2 не найден!")));
+  }
+
+  @Test
+  void exportUserItemBookings() throws Exception {
+    when(bookingService.exportBookingsByOwner(1L, BookingExportFormat.CSV))
+        .thenReturn(out -> out.write("id\n1\n".getBytes(StandardCharsets.UTF_8)));
+
+    var result = mockMvc.perform(MockMvcRequestBuilders.get(URL.concat("/owner/export"))
+            .header("X-Sharer-User-Id", 1L)
+            .param("format", "CSV"))
+        .andExpect(request().asyncStarted())
+        .andReturn();
+
+    mockMvc.perform(asyncDispatch(result))
+        .andExpect(status().isOk())
+        .andExpect(header().string("Content-Type", "text/csv"))
+        .andExpect(content().string("id\n1\n"));
+  }
+
+  @Test
+  void exportUserItemBookingsUnknownUser() throws Exception {
+    when(bookingService.exportBookingsByOwner(1L, BookingExportFormat.NDJSON))
+        .thenThrow(new UserNotFoundException("1"));
+
+    mockMvc.perform(MockMvcRequestBuilders.get(URL.concat("/owner/export"))
+            .header("X-Sharer-User-Id", 1L))
+        .andExpect(status().isNotFound());
+  }
+
 }
@@ -2,12 +2,19 @@ package ru.practicum.shareit.controller;
 
 import static org.hamcrest.CoreMatchers.is;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import java.time.LocalDateTime;
 import java.util.Collections;
 import java.util.List;
 import org.junit.jupiter.api.Test;
@@ -17,16 +24,23 @@ import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.test.context.ContextConfiguration;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import ru.practicum.shareit.config.ETagFilterConfig;
 import ru.practicum.shareit.exeption.ErrorHandlingControllerAdvice;
 import ru.practicum.shareit.exeption.ItemNotFoundException;
 import ru.practicum.shareit.exeption.UserNotFoundException;
 import ru.practicum.shareit.item.ItemController;
+import ru.practicum.shareit.item.bulk.ItemImportFormat;
+import ru.practicum.shareit.item.dto.AvailabilityWindowDTO;
 import ru.practicum.shareit.item.dto.ItemDTO;
 import ru.practicum.shareit.item.dto.ItemFullDTO;
+import ru.practicum.shareit.item.dto.ItemImportErrorDTO;
+import ru.practicum.shareit.item.dto.ItemImportReportDTO;
 import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.utils.PageCursor;
 
 @WebMvcTest(controllers = ItemController.class)
-@ContextConfiguration(classes = {ItemController.class, ErrorHandlingControllerAdvice.class})
+@ContextConfiguration(classes = {ItemController.class, ErrorHandlingControllerAdvice.class,
+    ETagFilterConfig.class})
 public class ItemControllerTest {
 
   @Autowired
@@ -152,6 +166,43 @@ public class ItemControllerTest {
     response.andExpect(status().isOk());
   }
 
+  @Test
+  void getByIdNotModified() throws Exception {
+    when(itemService.getById(anyLong(), anyLong()))
+        .thenReturn(ItemFullDTO.builder()
+            .id(1L)
+            .name("test")
+            .description("test")
+            .available(Boolean.TRUE)
+            .comments(Collections.emptyList())
+            .build());
+
+    String etag = mockMvc.perform(MockMvcRequestBuilders.get(URL.concat("/{itemId}"), 1L)
+            .header("X-Sharer-User-Id", 1L))
+        .andExpect(status().isOk())
+        .andExpect(header().exists("ETag"))
+        .andReturn().getResponse().getHeader("ETag");
+
+    mockMvc.perform(MockMvcRequestBuilders.get(URL.concat("/{itemId}"), 1L)
+            .header("X-Sharer-User-Id", 1L)
+            .header("If-None-Match", etag))
+        .andExpect(status().isNotModified());
+  }
+
+  @Test
+  void suggest() throws Exception {
+    when(itemService.suggest(anyString(), anyInt()))
+        .thenReturn(List.of("Дрель", "Дрезина"));
+
+    var response = mockMvc.perform(MockMvcRequestBuilders.get(URL.concat("/suggest"))
+        .param("prefix", "др")
+        .param("size", "5"));
+
+    response.andExpect(status().isOk())
+        .andExpect(jsonPath("$[0]", is("Дрель")))
+        .andExpect(jsonPath("$[1]", is("Дрезина")));
+  }
+
   @Test
   void getUsersItems() throws Exception {
     var item = ItemFullDTO.builder()
@@ -185,6 +236,85 @@ public class ItemControllerTest {
     response.andExpect(status().isOk());
   }
 
+  @Test
+  void rankOrderedSearchHasNoCursor() throws Exception {
+    when(itemService.search(any(), any()))
+        .thenReturn(List.of(getDefaultItem()));
+    when(itemService.isSearchRankOrdered())
+        .thenReturn(true);
+
+    mockMvc.perform(MockMvcRequestBuilders.get(URL.concat("/search"))
+            .param("text", "test")
+            .param("size", "1")
+            .header("X-Sharer-User-Id", 1L))
+        .andExpect(status().isOk())
+        .andExpect(header().doesNotExist(PageCursor.NEXT_CURSOR_HEADER));
+  }
+
+  @Test
+  void fuzzySearch() throws Exception {
+    var item = getDefaultItem();
+    when(itemService.fuzzySearch(any(), any()))
+        .thenReturn(List.of(item));
+
+    var response = mockMvc.perform(MockMvcRequestBuilders.get(URL.concat("/search"))
+        .param("text", "tset")
+        .param("fuzzy", "1")
+        .header("X-Sharer-User-Id", 1L));
+
+    response.andExpect(status().isOk())
+        .andExpect(jsonPath("$[0].id").value(item.getId()));
+    verify(itemService, never()).search(any(), any());
+  }
+
+  @Test
+  void getAvailability() throws Exception {
+    var from = LocalDateTime.parse("2030-01-01T00:00:00");
+    var window = AvailabilityWindowDTO.builder()
+        .start(from)
+        .end(from.plusDays(1))
+        .build();
+    when(itemService.getAvailability(1L, from, from.plusDays(2)))
+        .thenReturn(List.of(window));
+
+    var response = mockMvc.perform(MockMvcRequestBuilders.get(URL.concat("/1/availability"))
+        .param("from", "2030-01-01T00:00:00")
+        .param("to", "2030-01-03T00:00"));
+
+    response.andExpect(status().isOk())
+        .andExpect(jsonPath("$[0].start").value("2030-01-01T00:00:00"))
+        .andExpect(jsonPath("$[0].end").value("2030-01-02T00:00:00"));
+  }
+
+  @Test
+  void importItems() throws Exception {
+    when(itemService.importItems(eq(1L), any(), eq(ItemImportFormat.CSV)))
+        .thenReturn(ItemImportReportDTO.builder()
+            .imported(1)
+            .failed(1)
+            .errors(List.of(ItemImportErrorDTO.builder().line(3).error("bad").build()))
+            .build());
+
+    var response = mockMvc.perform(MockMvcRequestBuilders.post(URL.concat("/bulk"))
+        .header("Content-Type", "text/csv;charset=UTF-8")
+        .header("X-Sharer-User-Id", 1L)
+        .content("name,description,available\ntest,test,true\n"));
+
+    response.andExpect(status().isOk())
+        .andExpect(jsonPath("$.imported", is(1)))
+        .andExpect(jsonPath("$.errors[0].line", is(3)));
+  }
+
+  @Test
+  void importItemsUnsupportedType() throws Exception {
+    var response = mockMvc.perform(MockMvcRequestBuilders.post(URL.concat("/bulk"))
+        .header("Content-Type", "application/xml")
+        .header("X-Sharer-User-Id", 1L)
+        .content("<items/>"));
+
+    response.andExpect(status().isUnsupportedMediaType());
+  }
+
   private ItemDTO getDefaultItem() {
     return ItemDTO.builder()
         .id(1L)
@@ -0,0 +1,183 @@
+package ru.practicum.shareit.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase.Replace;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.dto.ItemBookingFlags;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.user.UserRepository;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.utils.PageCursor;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = Replace.NONE)
+public class BookingRepositoryTest {
+
+  @Autowired
+  private BookingRepository bookingRepository;
+
+  @Autowired
+  private UserRepository userRepository;
+
+  @Autowired
+  private ItemRepository itemRepository;
+
+  @Test
+  void findLastAndNextBookings() {
+    User owner = saveUser("owner@test.ru");
+    User booker = saveUser("booker@test.ru");
+    Item item = saveItem(owner);
+    Item other = saveItem(owner);
+    LocalDateTime now = LocalDateTime.now();
+
+    for (int i = 10; i > 1; i--) {
+      saveBooking(item, booker, now.minusDays(i + 1), now.minusDays(i), BookingStatus.APPROVED);
+    }
+    Booking last = saveBooking(item, booker, now.minusDays(2), now.minusDays(1),
+        BookingStatus.APPROVED);
+    saveBooking(item, booker, now.minusHours(20), now.minusHours(10), BookingStatus.REJECTED);
+    Booking next = saveBooking(item, booker, now.plusDays(1), now.plusDays(2),
+        BookingStatus.APPROVED);
+    saveBooking(item, booker, now.plusDays(3), now.plusDays(4), BookingStatus.APPROVED);
+    saveBooking(item, booker, now.plusHours(1), now.plusHours(2), BookingStatus.WAITING);
+    Booking otherNext = saveBooking(other, booker, now.plusDays(5), now.plusDays(6),
+        BookingStatus.APPROVED);
+
+    var result = bookingRepository.findLastAndNextBookingsByItemIdIn(
+        List.of(item.getId(), other.getId()), BookingStatus.APPROVED.name(), now);
+
+    assertThat(result)
+        .extracting(Booking::getId)
+        .containsExactlyInAnyOrder(last.getId(), next.getId(), otherNext.getId());
+  }
+
+  @Test
+  void findBookingFlags() {
+    User owner = saveUser("owner@test.ru");
+    User booker = saveUser("booker@test.ru");
+    Item item = saveItem(owner);
+    Item once = saveItem(owner);
+    Item never = saveItem(owner);
+    LocalDateTime now = LocalDateTime.now();
+    saveBooking(item, booker, now.plusDays(1), now.plusDays(2), BookingStatus.APPROVED);
+    saveBooking(item, booker, now.plusDays(3), now.plusDays(4), BookingStatus.WAITING);
+    saveBooking(once, booker, now.plusDays(1), now.plusDays(2), BookingStatus.APPROVED);
+    bookingRepository.flush();
+
+    var result = bookingRepository.findBookingFlagsByItemIdIn(
+        List.of(item.getId(), once.getId(), never.getId()), booker.getId());
+    var ownerResult = bookingRepository.findBookingFlagsByItemIdIn(List.of(item.getId()),
+        owner.getId());
+
+    assertThat(result)
+        .usingRecursiveFieldByFieldElementComparator()
+        .containsExactlyInAnyOrder(new ItemBookingFlags(item.getId(), true, true),
+            new ItemBookingFlags(once.getId(), false, true));
+    assertThat(ownerResult)
+        .usingRecursiveFieldByFieldElementComparator()
+        .containsExactly(new ItemBookingFlags(item.getId(), true, false));
+  }
+
+  @Test
+  void findBookingPagesByCursor() {
+    User owner = saveUser("owner@test.ru");
+    User booker = saveUser("booker@test.ru");
+    Item item = saveItem(owner);
+    LocalDateTime start = LocalDateTime.now().plusDays(1).withNano(0);
+    List<Long> expected = new ArrayList<>();
+    for (int i = 0; i < 7; i++) {
+      expected.add(saveBooking(item, booker, start.plusHours(i / 2), start.plusDays(1),
+          BookingStatus.WAITING).getId());
+    }
+    expected.sort(Comparator.<Long>naturalOrder().reversed());
+
+    List<Long> bookerPages = new ArrayList<>();
+    List<Long> ownerPages = new ArrayList<>();
+    PageCursor bookerCursor = PageCursor.of(start.plusYears(1), Long.MAX_VALUE);
+    PageCursor ownerCursor = bookerCursor;
+    List<Booking> page;
+    do {
+      page = bookingRepository.findBookingPageByBookerIdAndStatus(booker.getId(),
+          BookingStatus.WAITING.name(), bookerCursor.getTimestamp(), bookerCursor.getId(),
+          PageRequest.of(0, 3));
+      page.forEach(booking -> bookerPages.add(booking.getId()));
+      if (!page.isEmpty()) {
+        Booking last = page.get(page.size() - 1);
+        bookerCursor = PageCursor.of(last.getStart(), last.getId());
+      }
+    } while (page.size() == 3);
+    do {
+      page = bookingRepository.findBookingPageByOwnerId(owner.getId(),
+          ownerCursor.getTimestamp(), ownerCursor.getId(), PageRequest.of(0, 3));
+      page.forEach(booking -> ownerPages.add(booking.getId()));
+      if (!page.isEmpty()) {
+        Booking last = page.get(page.size() - 1);
+        ownerCursor = PageCursor.of(last.getStart(), last.getId());
+      }
+    } while (page.size() == 3);
+
+    assertThat(bookerPages).containsExactlyElementsOf(expected);
+    assertThat(ownerPages).containsExactlyElementsOf(expected);
+  }
+
+  @Test
+  void updateBookingStatusesChecksVersion() {
+    User owner = saveUser("batch-owner@test.ru");
+    User booker = saveUser("batch-booker@test.ru");
+    Item item = saveItem(owner);
+    LocalDateTime now = LocalDateTime.now();
+    Booking first = saveBooking(item, booker, now.plusDays(1), now.plusDays(2),
+        BookingStatus.WAITING);
+    Booking second = saveBooking(item, booker, now.plusDays(3), now.plusDays(4),
+        BookingStatus.WAITING);
+    bookingRepository.flush();
+    first.setStatus(BookingStatus.APPROVED.name());
+    second.setStatus(BookingStatus.REJECTED.name());
+    second.setVersion(second.getVersion() + 1);
+
+    int[] counts = bookingRepository.updateBookingStatuses(List.of(first, second));
+
+    assertThat(counts).containsExactly(1, 0);
+  }
+
+  private Booking saveBooking(Item item, User booker, LocalDateTime start, LocalDateTime end,
+      BookingStatus status) {
+    return bookingRepository.save(Booking.builder()
+        .start(start)
+        .end(end)
+        .status(status.name())
+        .item(item)
+        .booker(booker)
+        .build());
+  }
+
+  private Item saveItem(User owner) {
+    return itemRepository.save(Item.builder()
+        .name("test")
+        .description("test")
+        .available(Boolean.TRUE)
+        .owner(owner)
+        .build());
+  }
+
+  private User saveUser(String email) {
+    return userRepository.save(User.builder()
+        .name("test")
+        .email(email)
+        .build());
+  }
+
+}
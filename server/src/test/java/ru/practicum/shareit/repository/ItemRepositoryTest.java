@@ -0,0 +1,53 @@
+package ru.practicum.shareit.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase.Replace;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.user.UserRepository;
+import ru.practicum.shareit.user.model.User;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = Replace.NONE)
+public class ItemRepositoryTest {
+
+  @Autowired
+  private ItemRepository itemRepository;
+
+  @Autowired
+  private UserRepository userRepository;
+
+  @Test
+  void searchSkipsUnavailableItems() {
+    User owner = userRepository.save(User.builder()
+        .name("test")
+        .email("test@test.ru")
+        .build());
+    Item byName = saveItem(owner, "Дрель", "ударная", true);
+    Item byDescription = saveItem(owner, "Шуруповерт", "почти дрель", true);
+    saveItem(owner, "Дрель", "сломана", false);
+    saveItem(owner, "Отвертка", "крестовая", true);
+
+    var result = itemRepository.search("дРеЛь", PageRequest.of(0, 10));
+
+    assertThat(result)
+        .extracting(Item::getId)
+        .containsExactly(byName.getId(), byDescription.getId());
+  }
+
+  private Item saveItem(User owner, String name, String description, boolean available) {
+    return itemRepository.save(Item.builder()
+        .name(name)
+        .description(description)
+        .available(available)
+        .owner(owner)
+        .build());
+  }
+
+}
@@ -0,0 +1,61 @@
+package ru.practicum.shareit.search;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.item.search.FuzzyTokenIndex;
+
+public class FuzzyTokenIndexTest {
+
+  @Test
+  void searchToleratesTypos() {
+    FuzzyTokenIndex index = new FuzzyTokenIndex();
+    index.put(1L, "Drill");
+    index.put(2L, "Дрель аккумуляторная");
+    index.put(3L, "Screwdriver");
+
+    assertThat(index.search("drel", 0, 10)).containsExactly(1L);
+    assertThat(index.search("дрел", 0, 10)).containsExactly(2L);
+    assertThat(index.search("акумуляторная дрель", 0, 10)).containsExactly(2L);
+    assertThat(index.search("scrwedriver", 0, 10)).containsExactly(3L);
+    assertThat(index.search("hammer", 0, 10)).isEmpty();
+  }
+
+  @Test
+  void shortTokensRequireCloserMatch() {
+    FuzzyTokenIndex index = new FuzzyTokenIndex();
+    index.put(1L, "saw");
+    index.put(2L, "ax");
+
+    assertThat(index.search("sow", 0, 10)).containsExactly(1L);
+    assertThat(index.search("sx", 0, 10)).isEmpty();
+    assertThat(index.search("ax", 0, 10)).containsExactly(2L);
+  }
+
+  @Test
+  void putReplacesTokensAndRemoveDropsItem() {
+    FuzzyTokenIndex index = new FuzzyTokenIndex();
+    index.put(1L, "Drill");
+    index.put(2L, "Drill press");
+    index.put(1L, "Hammer");
+
+    assertThat(index.search("dril", 0, 10)).containsExactly(2L);
+    assertThat(index.search("hamer", 0, 10)).containsExactly(1L);
+
+    index.remove(2L);
+    assertThat(index.search("dril", 0, 10)).isEmpty();
+    assertThat(index.size()).isEqualTo(1);
+  }
+
+  @Test
+  void searchPagesByOffsetAndLimit() {
+    FuzzyTokenIndex index = new FuzzyTokenIndex();
+    for (long id = 1; id <= 5; id++) {
+      index.put(id, "ladder " + id);
+    }
+
+    assertThat(index.search("ladde", 1, 2)).containsExactly(2L, 3L);
+    assertThat(index.search("ladde", 10, 2)).isEmpty();
+  }
+
+}
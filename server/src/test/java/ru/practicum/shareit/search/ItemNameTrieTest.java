@@ -0,0 +1,62 @@
+package ru.practicum.shareit.search;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.item.search.ItemNameTrie;
+
+public class ItemNameTrieTest {
+
+  @Test
+  void suggestRanksByScore() {
+    ItemNameTrie trie = new ItemNameTrie(10);
+    trie.add("Дрель", 1);
+    trie.add("Дрель ударная", 5);
+    trie.add("Дрезина", 3);
+    trie.add("Пила", 10);
+
+    assertThat(trie.suggest("др", 10)).containsExactly("Дрель ударная", "Дрезина", "Дрель");
+    assertThat(trie.suggest("ДРЕЛ", 10)).containsExactly("Дрель ударная", "Дрель");
+    assertThat(trie.suggest("дрель у", 10)).containsExactly("Дрель ударная");
+    assertThat(trie.suggest("д", 1)).containsExactly("Дрель ударная");
+    assertThat(trie.suggest("молоток", 10)).isEmpty();
+    assertThat(trie.suggest("", 10)).isEmpty();
+  }
+
+  @Test
+  void suggestKeepsOnlyCapacityPerNode() {
+    ItemNameTrie trie = new ItemNameTrie(2);
+    trie.add("a1", 1);
+    trie.add("a2", 2);
+    trie.add("a3", 3);
+
+    assertThat(trie.suggest("a", 10)).containsExactly("a3", "a2");
+  }
+
+  @Test
+  void negativeDeltaRemovesNameAndRestoresRanking() {
+    ItemNameTrie trie = new ItemNameTrie(10);
+    trie.add("Дрель", 2);
+    trie.add("Дрезина", 1);
+    trie.add("Дрель", -2);
+
+    assertThat(trie.suggest("др", 10)).containsExactly("Дрезина");
+
+    trie.add("Дрезина", -1);
+    assertThat(trie.suggest("д", 10)).isEmpty();
+
+    trie.add("Дрель", 1);
+    assertThat(trie.suggest("дрель", 10)).containsExactly("Дрель");
+  }
+
+  @Test
+  void removingUnknownNameIsIgnored() {
+    ItemNameTrie trie = new ItemNameTrie(10);
+    trie.add("Дрель", 1);
+    trie.add("Дре", -1);
+    trie.add("Пила", -1);
+
+    assertThat(trie.suggest("д", 10)).containsExactly("Дрель");
+  }
+
+}
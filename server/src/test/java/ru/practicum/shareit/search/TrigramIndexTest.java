@@ -0,0 +1,115 @@
+package ru.practicum.shareit.search;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.item.search.TrigramIndex;
+
+public class TrigramIndexTest {
+
+  @Test
+  void searchBySubstringOfNameOrDescription() {
+    TrigramIndex index = new TrigramIndex();
+    index.put(1L, "Дрель", "Простая дрель");
+    index.put(2L, "Отвертка", "Аккумуляторная отвертка");
+    index.put(3L, "Шуруповерт", "почти ДРЕЛЬ");
+
+    assertThat(index.candidates("дРеЛ", 0, 10)).containsExactly(1L, 3L);
+    assertThat(index.candidates("кумулятор", 0, 10)).containsExactly(2L);
+    assertThat(index.candidates("ре", 0, 10)).containsExactly(1L, 3L);
+    assertThat(index.candidates("молоток", 0, 10)).isEmpty();
+  }
+
+  @Test
+  void searchDoesNotMatchAcrossFields() {
+    TrigramIndex index = new TrigramIndex();
+    index.put(1L, "abc", "def");
+
+    assertThat(index.candidates("cde", 0, 10)).isEmpty();
+    assertThat(index.candidates("cd", 0, 10)).isEmpty();
+    assertThat(index.candidates("bc", 0, 10)).containsExactly(1L);
+  }
+
+  @Test
+  void shortQueriesMatchShortFields() {
+    TrigramIndex index = new TrigramIndex();
+    index.put(1L, "a", "");
+    index.put(2L, "xy", null);
+
+    assertThat(index.candidates("a", 0, 10)).containsExactly(1L);
+    assertThat(index.candidates("xy", 0, 10)).containsExactly(2L);
+    assertThat(index.candidates("y", 0, 10)).containsExactly(2L);
+  }
+
+  @Test
+  void candidatesAreVerifiedWithMatches() {
+    TrigramIndex index = new TrigramIndex();
+    index.put(1L, "abc bcd", "");
+
+    assertThat(index.candidates("abcd", 0, 10)).containsExactly(1L);
+    assertThat(TrigramIndex.matches("abcd", "abc bcd", "")).isFalse();
+    assertThat(TrigramIndex.matches("BC B", "abc bcd", "")).isTrue();
+  }
+
+  @Test
+  void replaceAppliesDeltaAndRemoveDropsItem() {
+    TrigramIndex index = new TrigramIndex();
+    index.put(1L, "Дрель", "дрель");
+    index.replace(1L, "Дрель", "дрель", "Пила", "пила");
+
+    assertThat(index.candidates("дрель", 0, 10)).isEmpty();
+    assertThat(index.candidates("пила", 0, 10)).containsExactly(1L);
+
+    index.remove(1L, "Пила", "пила");
+    assertThat(index.candidates("пила", 0, 10)).isEmpty();
+    assertThat(index.candidates("п", 0, 10)).isEmpty();
+    assertThat(index.size()).isZero();
+  }
+
+  @Test
+  void removingEveryItemEmptiesTheIndex() {
+    TrigramIndex index = new TrigramIndex();
+    for (long id = 1; id <= 1000; id++) {
+      index.put(id, "item " + id, "description " + id * 7);
+    }
+    assertThat(index.candidates("item 500", 0, 10)).containsExactly(500L);
+
+    for (long id = 1; id <= 1000; id += 2) {
+      index.remove(id, "item " + id, "description " + id * 7);
+    }
+    assertThat(index.candidates("item", 0, 3)).containsExactly(2L, 4L, 6L);
+
+    for (long id = 2; id <= 1000; id += 2) {
+      index.remove(id, "item " + id, "description " + id * 7);
+    }
+    assertThat(index.candidates("i", 0, 10)).isEmpty();
+    assertThat(index.size()).isZero();
+  }
+
+  @Test
+  void candidatesStartAfterCursor() {
+    TrigramIndex index = new TrigramIndex();
+    for (long id = 10; id > 0; id--) {
+      index.put(id, "item " + id, "description");
+    }
+
+    assertThat(index.candidates("item", 0, 3)).containsExactly(1L, 2L, 3L);
+    assertThat(index.candidates("item", 9, 3)).containsExactly(10L);
+    assertThat(index.candidates("item", 10, 3)).isEmpty();
+  }
+
+  @Test
+  void shortQueriesMergePostingsFromCursor() {
+    TrigramIndex index = new TrigramIndex();
+    for (long id = 1; id <= 20; id++) {
+      index.put(id, id % 2 == 0 ? "пила " + id : "дрель " + id, "ручная");
+    }
+
+    assertThat(index.candidates("и", 4, 3)).containsExactly(6L, 8L, 10L);
+    assertThat(index.candidates("р", 17, 10)).containsExactly(18L, 19L, 20L);
+    assertThat(index.candidates("ру", 0, 2)).containsExactly(1L, 2L);
+    assertThat(TrigramIndex.isExact("ру")).isTrue();
+    assertThat(TrigramIndex.isExact("руч")).isFalse();
+  }
+
+}
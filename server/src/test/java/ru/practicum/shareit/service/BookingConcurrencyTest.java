@@ -0,0 +1,188 @@
+package ru.practicum.shareit.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.IntConsumer;
+import java.util.stream.Collectors;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.dto.BookingRequestDTO;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.exeption.BookingConflictException;
+import ru.practicum.shareit.exeption.ValidateException;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.user.UserRepository;
+import ru.practicum.shareit.user.model.User;
+
+@Slf4j
+@SpringBootTest
+public class BookingConcurrencyTest {
+
+  private static final int THREADS = 16;
+  private static final int BOOKINGS_PER_THREAD = 10;
+
+  @Autowired
+  private BookingService bookingService;
+
+  @Autowired
+  private BookingRepository bookingRepository;
+
+  @Autowired
+  private UserRepository userRepository;
+
+  @Autowired
+  private ItemRepository itemRepository;
+
+  @Test
+  void concurrentApprovalsApproveOnce() throws Exception {
+    User owner = saveUser("approve-owner");
+    User booker = saveUser("approve-booker");
+    Item item = saveItem(owner);
+    LocalDateTime start = LocalDateTime.now().plusDays(1);
+    Booking booking = saveBooking(item, booker, start, start.plusHours(1));
+
+    List<Throwable> errors = runConcurrently(THREADS,
+        i -> bookingService.updateBooking(owner.getId(), booking.getId(), Boolean.TRUE));
+
+    assertThat(errors).hasSize(THREADS - 1)
+        .allMatch(ValidateException.class::isInstance);
+    Booking result = bookingRepository.findById(booking.getId()).orElseThrow();
+    assertThat(result.getStatus()).isEqualTo(BookingStatus.APPROVED.name());
+    assertThat(result.getVersion()).isEqualTo(1L);
+  }
+
+  @Test
+  void concurrentOverlappingBookingsReserveOnce() throws Exception {
+    User owner = saveUser("book-owner");
+    Item item = saveItem(owner);
+    List<User> bookers = new ArrayList<>();
+    for (int i = 0; i < THREADS; i++) {
+      bookers.add(saveUser("book-booker-" + i));
+    }
+    LocalDateTime start = LocalDateTime.now().plusDays(1);
+
+    List<Throwable> errors = runConcurrently(THREADS,
+        i -> bookingService.book(bookers.get(i).getId(), BookingRequestDTO.builder()
+            .itemId(item.getId())
+            .start(start.plusMinutes(i))
+            .end(start.plusHours(2))
+            .build()));
+
+    assertThat(errors).hasSize(THREADS - 1)
+        .allMatch(BookingConflictException.class::isInstance);
+  }
+
+  @Test
+  void approvalThroughputUnderContention() throws Exception {
+    User owner = saveUser("throughput-owner");
+    User booker = saveUser("throughput-booker");
+    Item hot = saveItem(owner);
+    List<Item> spread = new ArrayList<>();
+    for (int i = 0; i < THREADS; i++) {
+      spread.add(saveItem(owner));
+    }
+    int total = THREADS * BOOKINGS_PER_THREAD;
+    LocalDateTime start = LocalDateTime.now().plusDays(1);
+    List<Booking> hotBookings = new ArrayList<>();
+    List<Booking> spreadBookings = new ArrayList<>();
+    for (int i = 0; i < total; i++) {
+      LocalDateTime from = start.plusHours(i);
+      hotBookings.add(saveBooking(hot, booker, from, from.plusMinutes(30)));
+      spreadBookings.add(saveBooking(spread.get(i % THREADS), booker, from,
+          from.plusMinutes(30)));
+    }
+
+    long hotTime = System.nanoTime();
+    List<Throwable> hotErrors = runConcurrently(THREADS, i -> approveSlice(owner,
+        hotBookings, i));
+    hotTime = System.nanoTime() - hotTime;
+
+    long spreadTime = System.nanoTime();
+    List<Throwable> spreadErrors = runConcurrently(THREADS, i -> approveSlice(owner,
+        spreadBookings, i));
+    spreadTime = System.nanoTime() - spreadTime;
+
+    assertThat(hotErrors).isEmpty();
+    assertThat(spreadErrors).isEmpty();
+    assertThat(bookingRepository.findAllById(hotBookings.stream()
+        .map(Booking::getId)
+        .collect(Collectors.toList())))
+        .hasSize(total)
+        .allMatch(booking -> BookingStatus.APPROVED.name().equals(booking.getStatus()));
+    log.info("Approvals on one item: {} ops/s, spread over {} items: {} ops/s",
+        total * 1_000_000_000L / hotTime, THREADS, total * 1_000_000_000L / spreadTime);
+  }
+
+  private void approveSlice(User owner, List<Booking> bookings, int thread) {
+    for (int i = thread; i < bookings.size(); i += THREADS) {
+      bookingService.updateBooking(owner.getId(), bookings.get(i).getId(), Boolean.TRUE);
+    }
+  }
+
+  private List<Throwable> runConcurrently(int threads, IntConsumer task)
+      throws InterruptedException {
+    ExecutorService executor = Executors.newFixedThreadPool(threads);
+    CountDownLatch gate = new CountDownLatch(1);
+    List<Future<?>> futures = new ArrayList<>();
+    for (int i = 0; i < threads; i++) {
+      int thread = i;
+      futures.add(executor.submit(() -> {
+        gate.await();
+        task.accept(thread);
+        return null;
+      }));
+    }
+    gate.countDown();
+    List<Throwable> errors = new ArrayList<>();
+    for (Future<?> future : futures) {
+      try {
+        future.get();
+      } catch (ExecutionException e) {
+        errors.add(e.getCause());
+      }
+    }
+    executor.shutdown();
+    return errors;
+  }
+
+  private User saveUser(String name) {
+    return userRepository.save(User.builder()
+        .name(name)
+        .email(name + "@concurrency.test")
+        .build());
+  }
+
+  private Item saveItem(User owner) {
+    return itemRepository.save(Item.builder()
+        .name("Дрель")
+        .description("Ударная")
+        .available(true)
+        .owner(owner)
+        .build());
+  }
+
+  private Booking saveBooking(Item item, User booker, LocalDateTime start, LocalDateTime end) {
+    return bookingRepository.save(Booking.builder()
+        .start(start)
+        .end(end)
+        .status(BookingStatus.WAITING.name())
+        .item(item)
+        .booker(booker)
+        .build());
+  }
+
+}
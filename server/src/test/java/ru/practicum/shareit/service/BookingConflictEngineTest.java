@@ -0,0 +1,107 @@
+package ru.practicum.shareit.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.conflict.BookingConflictEngine;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.exeption.BookingConflictException;
+
+public class BookingConflictEngineTest {
+
+  private static final LocalDateTime START = LocalDateTime.parse("2030-01-01T00:00:00");
+
+  private final BookingRepository bookingRepository = mock(BookingRepository.class);
+  private final BookingConflictEngine engine = new BookingConflictEngine(bookingRepository);
+
+  @Test
+  void reserveRejectsOverlapConfirmedByDatabase() {
+    when(bookingRepository.findActiveBookingsByItemId(anyLong(), any(), any()))
+        .thenReturn(List.of(booking(1L, START, START.plusDays(2))));
+    when(bookingRepository.existsOverlappingBooking(anyLong(), any(), any(), any()))
+        .thenReturn(Boolean.TRUE);
+
+    assertThrows(BookingConflictException.class,
+        () -> engine.reserve(1L, START.plusDays(1), START.plusDays(3),
+            () -> booking(2L, START.plusDays(1), START.plusDays(3))));
+    assertThrows(BookingConflictException.class,
+        () -> engine.reserve(1L, START.minusDays(1), START.plusDays(5),
+            () -> booking(3L, START.minusDays(1), START.plusDays(5))));
+
+    Booking before = engine.reserve(1L, START.minusDays(1), START,
+        () -> booking(4L, START.minusDays(1), START));
+    Booking after = engine.reserve(1L, START.plusDays(2), START.plusDays(3),
+        () -> booking(5L, START.plusDays(2), START.plusDays(3)));
+
+    assertThat(before.getId()).isEqualTo(4L);
+    assertThat(after.getId()).isEqualTo(5L);
+    verify(bookingRepository, times(1)).findActiveBookingsByItemId(anyLong(), any(), any());
+  }
+
+  @Test
+  void reserveReloadsStaleIntervals() {
+    when(bookingRepository.findActiveBookingsByItemId(anyLong(), any(), any()))
+        .thenReturn(List.of(booking(1L, START, START.plusDays(2))), List.of());
+    when(bookingRepository.existsOverlappingBooking(anyLong(), any(), any(), any()))
+        .thenReturn(Boolean.FALSE);
+
+    Booking result = engine.reserve(1L, START, START.plusDays(2),
+        () -> booking(2L, START, START.plusDays(2)));
+
+    assertThat(result.getId()).isEqualTo(2L);
+    verify(bookingRepository, times(2)).findActiveBookingsByItemId(anyLong(), any(), any());
+  }
+
+  @Test
+  void releaseFreesInterval() {
+    when(bookingRepository.findActiveBookingsByItemId(anyLong(), any(), any()))
+        .thenReturn(List.of());
+
+    engine.reserve(1L, START, START.plusDays(2), () -> booking(1L, START, START.plusDays(2)));
+    engine.release(1L, 1L);
+    engine.reserve(1L, START, START.plusDays(2), () -> booking(2L, START, START.plusDays(2)));
+
+    verify(bookingRepository, times(0)).existsOverlappingBooking(anyLong(), any(), any(), any());
+  }
+
+  @Test
+  void reserveTranslatesExclusionConstraintViolation() {
+    when(bookingRepository.findActiveBookingsByItemId(anyLong(), any(), any()))
+        .thenReturn(List.of());
+
+    assertThrows(BookingConflictException.class,
+        () -> engine.reserve(1L, START, START.plusDays(2), () -> {
+          throw new DataIntegrityViolationException("insert",
+              new SQLException("conflicting key value violates exclusion constraint "
+                  + "\"ex_bookings_item_period\""));
+        }));
+    assertThrows(DataIntegrityViolationException.class,
+        () -> engine.reserve(1L, START, START.plusDays(2), () -> {
+          throw new DataIntegrityViolationException("insert",
+              new SQLException("violates foreign key constraint \"fk_bookings_to_users\""));
+        }));
+
+    verify(bookingRepository, times(2)).findActiveBookingsByItemId(anyLong(), any(), any());
+  }
+
+  private static Booking booking(Long id, LocalDateTime start, LocalDateTime end) {
+    return Booking.builder()
+        .id(id)
+        .start(start)
+        .end(end)
+        .build();
+  }
+
+}
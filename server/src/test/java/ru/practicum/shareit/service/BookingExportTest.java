@@ -0,0 +1,125 @@
+package ru.practicum.shareit.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.dto.BookingDTO;
+import ru.practicum.shareit.booking.export.BookingExportFormat;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.exeption.UserNotFoundException;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.user.UserRepository;
+import ru.practicum.shareit.user.model.User;
+
+@SpringBootTest
+public class BookingExportTest {
+
+  private static final int BOOKINGS = 1200;
+
+  @Autowired
+  private BookingService bookingService;
+
+  @Autowired
+  private BookingRepository bookingRepository;
+
+  @Autowired
+  private UserRepository userRepository;
+
+  @Autowired
+  private ItemRepository itemRepository;
+
+  @Autowired
+  private ObjectMapper mapper;
+
+  @Test
+  void exportNdjsonStreamsWholeHistory() throws IOException {
+    User owner = saveUser("export-owner");
+    User booker = saveUser("export-booker");
+    Item item = saveItem(owner, "Дрель");
+    LocalDateTime start = LocalDateTime.now().minusDays(10);
+    List<Booking> bookings = new ArrayList<>();
+    for (int i = 0; i < BOOKINGS; i++) {
+      LocalDateTime from = start.plusHours(i);
+      bookings.add(Booking.builder()
+          .start(from)
+          .end(from.plusMinutes(30))
+          .status(BookingStatus.APPROVED.name())
+          .item(item)
+          .booker(booker)
+          .build());
+    }
+    bookingRepository.saveAll(bookings);
+
+    String[] lines = export(owner, BookingExportFormat.NDJSON).split("\n");
+
+    assertThat(lines).hasSize(BOOKINGS);
+    BookingDTO first = mapper.readValue(lines[0], BookingDTO.class);
+    BookingDTO last = mapper.readValue(lines[BOOKINGS - 1], BookingDTO.class);
+    assertThat(first.getStart()).isAfter(last.getStart());
+    assertThat(first.getItem().getName()).isEqualTo("Дрель");
+    assertThat(first.getBooker().getId()).isEqualTo(booker.getId());
+  }
+
+  @Test
+  void exportCsvQuotesFields() throws IOException {
+    User owner = saveUser("csv-export-owner");
+    User booker = saveUser("csv-export-booker");
+    Item item = saveItem(owner, "Пила, \"Дружба\"");
+    LocalDateTime start = LocalDateTime.of(2030, 1, 1, 10, 0);
+    Booking booking = bookingRepository.save(Booking.builder()
+        .start(start)
+        .end(start.plusHours(1))
+        .status(BookingStatus.WAITING.name())
+        .item(item)
+        .booker(booker)
+        .build());
+
+    assertThat(export(owner, BookingExportFormat.CSV)).isEqualTo(
+        "id,start,end,status,bookerId,itemId,itemName\n"
+            + booking.getId() + ",2030-01-01T10:00,2030-01-01T11:00,WAITING," + booker.getId()
+            + "," + item.getId() + ",\"Пила, \"\"Дружба\"\"\"\n");
+  }
+
+  @Test
+  void exportForUnknownUser() {
+    assertThrows(UserNotFoundException.class,
+        () -> bookingService.exportBookingsByOwner(999_999L, BookingExportFormat.NDJSON));
+  }
+
+  private String export(User owner, BookingExportFormat format) throws IOException {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    bookingService.exportBookingsByOwner(owner.getId(), format).writeTo(out);
+    return out.toString(StandardCharsets.UTF_8);
+  }
+
+  private User saveUser(String name) {
+    return userRepository.save(User.builder()
+        .name(name)
+        .email(name + "@export.test")
+        .build());
+  }
+
+  private Item saveItem(User owner, String name) {
+    return itemRepository.save(Item.builder()
+        .name(name)
+        .description("Описание")
+        .available(true)
+        .owner(owner)
+        .build());
+  }
+
+}
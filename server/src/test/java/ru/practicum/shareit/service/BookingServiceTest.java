@@ -5,6 +5,7 @@ import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyBoolean;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -19,12 +20,16 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.dto.BookingDecisionDTO;
+import ru.practicum.shareit.booking.dto.BookingDecisionResultDTO;
 import ru.practicum.shareit.booking.dto.BookingRequestDTO;
 import ru.practicum.shareit.booking.dto.RequestBookingStatus;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.BookingStatus;
 import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.exeption.BookingConflictException;
 import ru.practicum.shareit.exeption.BookingNotFoundException;
+import ru.practicum.shareit.exeption.ConcurrentUpdateException;
 import ru.practicum.shareit.exeption.ItemNotAvalibleException;
 import ru.practicum.shareit.exeption.ItemNotFoundException;
 import ru.practicum.shareit.exeption.UserNotFoundException;
@@ -148,7 +153,7 @@ public class BookingServiceTest {
         .thenReturn(Optional.of(getDefaultItem()));
     when(itemRepository.isItemAvalible(anyLong()))
         .thenReturn(Boolean.TRUE);
-    when(bookingRepository.save(any()))
+    when(bookingRepository.saveAndFlush(any()))
         .thenReturn(getDefaultBooking());
 
     var result = bookingService.book(2L, bookingRequestDTO);
@@ -163,7 +168,51 @@ public class BookingServiceTest {
     verify(userRepository, times(1)).findById(anyLong());
     verify(itemRepository, times(1)).findById(anyLong());
     verify(itemRepository, times(1)).isItemAvalible(anyLong());
-    verify(bookingRepository, times(1)).save(any());
+    verify(bookingRepository, times(1)).saveAndFlush(any());
+  }
+
+  @Test
+  void bookingOverlapConflict() {
+    Item item = getDefaultItem();
+    item.setId(7L);
+    BookingRequestDTO bookingRequestDTO = BookingRequestDTO.builder()
+        .itemId(item.getId())
+        .start(LocalDateTime.parse("2031-01-01T00:00:00"))
+        .end(LocalDateTime.parse("2031-01-10T00:00:00"))
+        .build();
+    BookingRequestDTO overlapping = BookingRequestDTO.builder()
+        .itemId(item.getId())
+        .start(LocalDateTime.parse("2031-01-09T00:00:00"))
+        .end(LocalDateTime.parse("2031-01-12T00:00:00"))
+        .build();
+    BookingRequestDTO adjacent = BookingRequestDTO.builder()
+        .itemId(item.getId())
+        .start(LocalDateTime.parse("2031-01-10T00:00:00"))
+        .end(LocalDateTime.parse("2031-01-12T00:00:00"))
+        .build();
+    Booking saved = getDefaultBooking();
+    saved.setId(70L);
+    Booking savedAdjacent = getDefaultBooking();
+    savedAdjacent.setId(71L);
+
+    when(userRepository.findById(anyLong()))
+        .thenReturn(Optional.of(getDefaultUser()));
+    when(itemRepository.findById(anyLong()))
+        .thenReturn(Optional.of(item));
+    when(itemRepository.isItemAvalible(anyLong()))
+        .thenReturn(Boolean.TRUE);
+    when(bookingRepository.saveAndFlush(any()))
+        .thenReturn(saved, savedAdjacent);
+    when(bookingRepository.existsOverlappingBooking(eq(item.getId()), any(), any(), any()))
+        .thenReturn(Boolean.TRUE);
+
+    bookingService.book(2L, bookingRequestDTO);
+    assertThrows(BookingConflictException.class, () -> bookingService.book(2L, overlapping));
+    bookingService.book(2L, adjacent);
+
+    verify(bookingRepository, times(2)).saveAndFlush(any());
+    verify(bookingRepository, times(1)).findActiveBookingsByItemId(eq(item.getId()), any(),
+        any());
   }
 
   @Test
@@ -205,7 +254,7 @@ public class BookingServiceTest {
         () -> bookingService.updateBooking(1L, 1L, Boolean.TRUE));
 
     verify(userRepository, times(1)).findById(anyLong());
-    verify(bookingRepository, times(1)).findById(anyLong());
+    verify(bookingRepository, times(2)).findById(anyLong());
   }
 
   @Test
@@ -223,7 +272,7 @@ public class BookingServiceTest {
         () -> bookingService.updateBooking(1L, 1L, Boolean.TRUE));
 
     verify(userRepository, times(1)).findById(anyLong());
-    verify(bookingRepository, times(1)).findById(anyLong());
+    verify(bookingRepository, times(2)).findById(anyLong());
     verify(itemRepository, times(1)).findById(anyLong());
   }
 
@@ -242,7 +291,7 @@ public class BookingServiceTest {
         () -> bookingService.updateBooking(2L, 1L, Boolean.TRUE));
 
     verify(userRepository, times(1)).findById(anyLong());
-    verify(bookingRepository, times(1)).findById(anyLong());
+    verify(bookingRepository, times(2)).findById(anyLong());
     verify(itemRepository, times(1)).findById(anyLong());
   }
 
@@ -256,6 +305,10 @@ public class BookingServiceTest {
         .thenReturn(Optional.of(booking));
     when(itemRepository.findById(anyLong()))
         .thenReturn(Optional.of(getDefaultItem()));
+    when(itemRepository.updateItemAvailableByIdAndVersion(anyLong(), anyBoolean(), anyLong()))
+        .thenReturn(1);
+    when(bookingRepository.updateBookingStatusByIdAndVersion(anyLong(), any(), anyLong()))
+        .thenReturn(1);
 
     var result = bookingService.updateBooking(1L, 1L, Boolean.TRUE);
     assertThat(result).isNotNull();
@@ -267,10 +320,146 @@ public class BookingServiceTest {
     assertThat(result.getBooker()).isNotNull();
 
     verify(userRepository, times(1)).findById(anyLong());
-    verify(bookingRepository, times(2)).findById(anyLong());
+    verify(bookingRepository, times(3)).findById(anyLong());
     verify(itemRepository, times(1)).findById(anyLong());
-    verify(itemRepository, times(1)).updateItemAvailableById(anyLong(), anyBoolean());
-    verify(bookingRepository, times(1)).updateBookingStatusById(anyLong(), any());
+    verify(itemRepository, times(1))
+        .updateItemAvailableByIdAndVersion(anyLong(), anyBoolean(), anyLong());
+    verify(bookingRepository, times(1))
+        .updateBookingStatusByIdAndVersion(anyLong(), any(), anyLong());
+  }
+
+  @Test
+  void updateBookingApproveWaitingInOneStatement() {
+    Booking booking = getDefaultBooking();
+    booking.setStatus(BookingStatus.APPROVED.name());
+
+    when(bookingRepository.updateBookingStatusByIdAndOwnerId(2L, 1L,
+        BookingStatus.WAITING.name(), BookingStatus.APPROVED.name()))
+        .thenReturn(1);
+    when(itemRepository.markItemAvailableByBookingId(2L))
+        .thenReturn(0);
+    when(bookingRepository.findWithItemById(2L))
+        .thenReturn(Optional.of(booking));
+
+    var result = bookingService.updateBooking(1L, 2L, Boolean.TRUE);
+    assertThat(result.getId()).isEqualTo(2L);
+    assertThat(result.getStatus()).isEqualTo(BookingStatus.APPROVED.name());
+
+    verify(userRepository, times(0)).findById(anyLong());
+    verify(bookingRepository, times(0)).findById(anyLong());
+    verify(itemRepository, times(0)).findById(anyLong());
+    verify(bookingRepository, times(0))
+        .updateBookingStatusByIdAndVersion(anyLong(), any(), anyLong());
+  }
+
+  @Test
+  void updateBookings() {
+    Item item = getDefaultItem();
+    Item foreign = getDefaultItem();
+    foreign.setId(3L);
+    foreign.setOwner(User.builder().id(5L).build());
+    Booking approve = getBooking(10L, item, BookingStatus.WAITING);
+    Booking reject = getBooking(11L, item, BookingStatus.WAITING);
+    Booking approved = getBooking(12L, item, BookingStatus.APPROVED);
+    Booking stale = getBooking(13L, item, BookingStatus.WAITING);
+    Booking notOwned = getBooking(14L, foreign, BookingStatus.WAITING);
+
+    when(userRepository.findById(1L))
+        .thenReturn(Optional.of(getDefaultUser()));
+    when(bookingRepository.findAllWithItemByIdIn(any()))
+        .thenReturn(List.of(approve, reject, approved, stale, notOwned));
+    when(bookingRepository.updateBookingStatuses(any()))
+        .thenReturn(new int[]{1, 1, 0});
+
+    var result = bookingService.updateBookings(1L, List.of(
+        decision(10L, true), decision(11L, false), decision(12L, false), decision(13L, true),
+        decision(14L, true), decision(15L, true), decision(10L, false)));
+
+    assertThat(result).extracting(BookingDecisionResultDTO::getBookingId)
+        .containsExactly(10L, 11L, 12L, 13L, 14L, 15L, 10L);
+    assertThat(result.get(0).getBooking().getStatus()).isEqualTo(BookingStatus.APPROVED.name());
+    assertThat(result.get(1).getBooking().getStatus()).isEqualTo(BookingStatus.REJECTED.name());
+    assertThat(result.subList(2, 7)).allSatisfy(r -> {
+      assertThat(r.getBooking()).isNull();
+      assertThat(r.getError()).isNotBlank();
+    });
+    verify(bookingRepository, times(1)).findAllWithItemByIdIn(any());
+    verify(bookingRepository, times(1)).updateBookingStatuses(List.of(approve, reject, stale));
+    verify(itemRepository, times(0)).markItemsAvailableByIdIn(any());
+  }
+
+  @Test
+  void updateBookingsRejectsOverlappingReactivations() {
+    Item item = getDefaultItem();
+    item.setId(40L);
+    Booking first = getBooking(40L, item, BookingStatus.REJECTED);
+    Booking second = getBooking(41L, item, BookingStatus.REJECTED);
+    second.setStart(first.getStart().plusHours(6));
+
+    when(userRepository.findById(1L))
+        .thenReturn(Optional.of(getDefaultUser()));
+    when(bookingRepository.findAllWithItemByIdIn(any()))
+        .thenReturn(List.of(first, second));
+    when(bookingRepository.updateBookingStatuses(any()))
+        .thenReturn(new int[]{1});
+
+    var result = bookingService.updateBookings(1L, List.of(
+        decision(40L, true), decision(41L, true)));
+
+    assertThat(result.get(0).getBooking().getStatus()).isEqualTo(BookingStatus.APPROVED.name());
+    assertThat(result.get(1).getBooking()).isNull();
+    assertThat(result.get(1).getError()).isNotBlank();
+    verify(bookingRepository, times(1)).updateBookingStatuses(List.of(first));
+  }
+
+  @Test
+  void updateBookingsDoesNotReserveStaleRows() {
+    Item item = getDefaultItem();
+    item.setId(41L);
+    Booking stale = getBooking(50L, item, BookingStatus.REJECTED);
+    Booking retry = getBooking(50L, item, BookingStatus.REJECTED);
+    retry.setVersion(1L);
+
+    when(userRepository.findById(1L))
+        .thenReturn(Optional.of(getDefaultUser()));
+    when(bookingRepository.findAllWithItemByIdIn(any()))
+        .thenReturn(List.of(stale), List.of(retry));
+    when(bookingRepository.existsOverlappingBooking(eq(41L), any(), any(), any()))
+        .thenReturn(Boolean.TRUE);
+    when(bookingRepository.updateBookingStatuses(any()))
+        .thenReturn(new int[]{0}, new int[]{1});
+
+    var lost = bookingService.updateBookings(1L, List.of(decision(50L, true)));
+    var result = bookingService.updateBookings(1L, List.of(decision(50L, true)));
+
+    assertThat(lost.get(0).getError()).isNotBlank();
+    assertThat(result.get(0).getBooking().getStatus()).isEqualTo(BookingStatus.APPROVED.name());
+    verify(bookingRepository, times(0)).existsOverlappingBooking(eq(41L), any(), any(), any());
+  }
+
+  @Test
+  void updateBookingsValidatesBatch() {
+    assertThrows(ValidateException.class,
+        () -> bookingService.updateBookings(1L, Collections.emptyList()));
+    assertThrows(ValidateException.class,
+        () -> bookingService.updateBookings(1L, List.of(decision(null, true))));
+  }
+
+  @Test
+  void updateBookingConcurrentModification() {
+    when(userRepository.findById(anyLong()))
+        .thenReturn(Optional.of(getDefaultUser()));
+    when(bookingRepository.findById(anyLong()))
+        .thenReturn(Optional.of(getDefaultBooking()));
+    when(itemRepository.findById(anyLong()))
+        .thenReturn(Optional.of(getDefaultItem()));
+    when(itemRepository.updateItemAvailableByIdAndVersion(anyLong(), anyBoolean(), anyLong()))
+        .thenReturn(1);
+    when(bookingRepository.updateBookingStatusByIdAndVersion(anyLong(), any(), anyLong()))
+        .thenReturn(0);
+
+    assertThrows(ConcurrentUpdateException.class,
+        () -> bookingService.updateBooking(1L, 1L, Boolean.TRUE));
   }
 
   @Test
@@ -283,6 +472,8 @@ public class BookingServiceTest {
         .thenReturn(Optional.of(booking));
     when(itemRepository.findById(anyLong()))
         .thenReturn(Optional.of(getDefaultItem()));
+    when(bookingRepository.updateBookingStatusByIdAndVersion(anyLong(), any(), anyLong()))
+        .thenReturn(1);
 
     var result = bookingService.updateBooking(1L, 1L, Boolean.FALSE);
     assertThat(result).isNotNull();
@@ -294,9 +485,10 @@ public class BookingServiceTest {
     assertThat(result.getBooker()).isNotNull();
 
     verify(userRepository, times(1)).findById(anyLong());
-    verify(bookingRepository, times(2)).findById(anyLong());
+    verify(bookingRepository, times(3)).findById(anyLong());
     verify(itemRepository, times(1)).findById(anyLong());
-    verify(bookingRepository, times(1)).updateBookingStatusById(anyLong(), any());
+    verify(bookingRepository, times(1))
+        .updateBookingStatusByIdAndVersion(anyLong(), any(), anyLong());
   }
 
   @Test
@@ -391,7 +583,7 @@ public class BookingServiceTest {
 
     when(userRepository.findById(anyLong()))
         .thenReturn(Optional.of(getDefaultUser()));
-    when(bookingRepository.findBookingByBookerIdOrderByStartDesc(anyLong(), any()))
+    when(bookingRepository.findBookingByBookerIdOrderByStartDescIdDesc(anyLong(), any()))
         .thenReturn(List.of(booking));
 
     var result = bookingService.getBookingsByUser(1L, RequestBookingStatus.ALL, null);
@@ -406,7 +598,8 @@ public class BookingServiceTest {
     assertThat(result.get(0).getBooker()).isNotNull();
 
     verify(userRepository, times(1)).findById(anyLong());
-    verify(bookingRepository, times(1)).findBookingByBookerIdOrderByStartDesc(anyLong(), any());
+    verify(bookingRepository, times(1)).findBookingByBookerIdOrderByStartDescIdDesc(
+        anyLong(), any());
   }
 
   @Test
@@ -415,7 +608,8 @@ public class BookingServiceTest {
 
     when(userRepository.findById(anyLong()))
         .thenReturn(Optional.of(getDefaultUser()));
-    when(bookingRepository.findBookingByBookerIdAndStatusOrderByStartDesc(anyLong(), any(), any()))
+    when(bookingRepository.findBookingByBookerIdAndStatusOrderByStartDescIdDesc(
+        anyLong(), any(), any()))
         .thenReturn(List.of(booking));
 
     var result = bookingService.getBookingsByUser(1L, RequestBookingStatus.WAITING, null);
@@ -430,7 +624,8 @@ public class BookingServiceTest {
     assertThat(result.get(0).getBooker()).isNotNull();
 
     verify(userRepository, times(1)).findById(anyLong());
-    verify(bookingRepository, times(1)).findBookingByBookerIdAndStatusOrderByStartDesc(anyLong(),
+    verify(bookingRepository, times(1)).findBookingByBookerIdAndStatusOrderByStartDescIdDesc(
+        anyLong(),
         any(), any());
   }
 
@@ -440,7 +635,8 @@ public class BookingServiceTest {
 
     when(userRepository.findById(anyLong()))
         .thenReturn(Optional.of(getDefaultUser()));
-    when(bookingRepository.findBookingByBookerIdAndStatusOrderByStartDesc(anyLong(), any(), any()))
+    when(bookingRepository.findBookingByBookerIdAndStatusOrderByStartDescIdDesc(
+        anyLong(), any(), any()))
         .thenReturn(List.of(booking));
 
     var result = bookingService.getBookingsByUser(1L, RequestBookingStatus.REJECTED, null);
@@ -455,7 +651,8 @@ public class BookingServiceTest {
     assertThat(result.get(0).getBooker()).isNotNull();
 
     verify(userRepository, times(1)).findById(anyLong());
-    verify(bookingRepository, times(1)).findBookingByBookerIdAndStatusOrderByStartDesc(anyLong(),
+    verify(bookingRepository, times(1)).findBookingByBookerIdAndStatusOrderByStartDescIdDesc(
+        anyLong(),
         any(), any());
   }
 
@@ -564,7 +761,7 @@ public class BookingServiceTest {
         .thenReturn(Optional.of(getDefaultUser()));
     when(itemRepository.findItemsByOwnerId(anyLong()))
         .thenReturn(List.of(getDefaultItem()));
-    when(bookingRepository.findBookingsByItem_OwnerIdOrderByStartDesc(anyLong(), any()))
+    when(bookingRepository.findBookingsByItem_OwnerIdOrderByStartDescIdDesc(anyLong(), any()))
         .thenReturn(List.of(booking));
 
     var result = bookingService.getBookingStatusByOwner(1L, RequestBookingStatus.ALL, null);
@@ -580,7 +777,7 @@ public class BookingServiceTest {
 
     verify(userRepository, times(1)).findById(anyLong());
     verify(itemRepository, times(1)).findItemsByOwnerId(anyLong());
-    verify(bookingRepository, times(1)).findBookingsByItem_OwnerIdOrderByStartDesc(anyLong(),
+    verify(bookingRepository, times(1)).findBookingsByItem_OwnerIdOrderByStartDescIdDesc(anyLong(),
         any());
   }
 
@@ -592,7 +789,8 @@ public class BookingServiceTest {
         .thenReturn(Optional.of(getDefaultUser()));
     when(itemRepository.findItemsByOwnerId(anyLong()))
         .thenReturn(List.of(getDefaultItem()));
-    when(bookingRepository.findBookingsByItem_OwnerIdAndStatusOrderByStartDesc(anyLong(), any(),
+    when(bookingRepository.findBookingsByItem_OwnerIdAndStatusOrderByStartDescIdDesc(
+        anyLong(), any(),
         any()))
         .thenReturn(List.of(booking));
 
@@ -609,7 +807,7 @@ public class BookingServiceTest {
 
     verify(userRepository, times(1)).findById(anyLong());
     verify(itemRepository, times(1)).findItemsByOwnerId(anyLong());
-    verify(bookingRepository, times(1)).findBookingsByItem_OwnerIdAndStatusOrderByStartDesc(
+    verify(bookingRepository, times(1)).findBookingsByItem_OwnerIdAndStatusOrderByStartDescIdDesc(
         anyLong(), any(), any());
   }
 
@@ -621,7 +819,8 @@ public class BookingServiceTest {
         .thenReturn(Optional.of(getDefaultUser()));
     when(itemRepository.findItemsByOwnerId(anyLong()))
         .thenReturn(List.of(getDefaultItem()));
-    when(bookingRepository.findBookingsByItem_OwnerIdAndStatusOrderByStartDesc(anyLong(), any(),
+    when(bookingRepository.findBookingsByItem_OwnerIdAndStatusOrderByStartDescIdDesc(
+        anyLong(), any(),
         any()))
         .thenReturn(List.of(booking));
 
@@ -638,7 +837,7 @@ public class BookingServiceTest {
 
     verify(userRepository, times(1)).findById(anyLong());
     verify(itemRepository, times(1)).findItemsByOwnerId(anyLong());
-    verify(bookingRepository, times(1)).findBookingsByItem_OwnerIdAndStatusOrderByStartDesc(
+    verify(bookingRepository, times(1)).findBookingsByItem_OwnerIdAndStatusOrderByStartDescIdDesc(
         anyLong(), any(), any());
   }
 
@@ -677,7 +876,8 @@ public class BookingServiceTest {
         .thenReturn(Optional.of(getDefaultUser()));
     when(itemRepository.findItemsByOwnerId(anyLong()))
         .thenReturn(List.of(getDefaultItem()));
-    when(bookingRepository.findBookingsByItem_OwnerIdAndEndBeforeOrderByStartDesc(anyLong(), any(),
+    when(bookingRepository.findBookingsByItem_OwnerIdAndEndBeforeOrderByStartDescIdDesc(
+        anyLong(), any(),
         any()))
         .thenReturn(List.of(booking));
 
@@ -694,7 +894,8 @@ public class BookingServiceTest {
 
     verify(userRepository, times(1)).findById(anyLong());
     verify(itemRepository, times(1)).findItemsByOwnerId(anyLong());
-    verify(bookingRepository, times(1)).findBookingsByItem_OwnerIdAndEndBeforeOrderByStartDesc(
+    verify(bookingRepository, times(1))
+        .findBookingsByItem_OwnerIdAndEndBeforeOrderByStartDescIdDesc(
         anyLong(), any(), any());
   }
 
@@ -706,7 +907,8 @@ public class BookingServiceTest {
         .thenReturn(Optional.of(getDefaultUser()));
     when(itemRepository.findItemsByOwnerId(anyLong()))
         .thenReturn(List.of(getDefaultItem()));
-    when(bookingRepository.findBookingsByItem_OwnerIdAndStartAfterOrderByStartDesc(anyLong(), any(),
+    when(bookingRepository.findBookingsByItem_OwnerIdAndStartAfterOrderByStartDescIdDesc(
+        anyLong(), any(),
         any()))
         .thenReturn(List.of(booking));
 
@@ -723,7 +925,8 @@ public class BookingServiceTest {
 
     verify(userRepository, times(1)).findById(anyLong());
     verify(itemRepository, times(1)).findItemsByOwnerId(anyLong());
-    verify(bookingRepository, times(1)).findBookingsByItem_OwnerIdAndStartAfterOrderByStartDesc(
+    verify(bookingRepository, times(1))
+        .findBookingsByItem_OwnerIdAndStartAfterOrderByStartDescIdDesc(
         anyLong(), any(), any());
   }
 
@@ -754,6 +957,24 @@ public class BookingServiceTest {
         .build();
   }
 
+  private Booking getBooking(Long id, Item item, BookingStatus status) {
+    return Booking.builder()
+        .id(id)
+        .start(LocalDateTime.parse("2030-01-01T00:00:00").plusDays(id))
+        .end(LocalDateTime.parse("2030-01-01T12:00:00").plusDays(id))
+        .item(item)
+        .booker(getDefaultUser())
+        .status(status.name())
+        .build();
+  }
+
+  private BookingDecisionDTO decision(Long bookingId, boolean approved) {
+    return BookingDecisionDTO.builder()
+        .bookingId(bookingId)
+        .approved(approved)
+        .build();
+  }
+
   private Booking getDefaultBooking() {
     return Booking.builder()
         .id(2L)
@@ -0,0 +1,129 @@
+package ru.practicum.shareit.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDateTime;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.change.EntityChangeFeed;
+import ru.practicum.shareit.item.dto.ItemDTO;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.search.ItemSearchEngine;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.user.UserRepository;
+import ru.practicum.shareit.user.model.User;
+
+@SpringBootTest(properties = {"shareit.changes.enabled=true",
+    "shareit.changes.poll-interval=3600000", "spring.datasource.url=jdbc:h2:mem:changes"})
+public class EntityChangeFeedTest {
+
+  private static final String INSERT_ITEM_CHANGE = "insert into entity_changes (origin, entity, "
+      + "entity_id, item_id, name, description, is_available, previous_name, "
+      + "previous_description, previous_available) values ('other', 'ITEM', ?, ?, ?, ?, ?, ?, ?, ?)";
+
+  @Autowired
+  private EntityChangeFeed changeFeed;
+
+  @Autowired
+  private ItemService itemService;
+
+  @Autowired
+  private ItemSearchEngine searchEngine;
+
+  @Autowired
+  private UserRepository userRepository;
+
+  @Autowired
+  private ItemRepository itemRepository;
+
+  @Autowired
+  private BookingRepository bookingRepository;
+
+  @Autowired
+  private JdbcTemplate jdbcTemplate;
+
+  @Test
+  void localChangesAreRecorded() {
+    User owner = saveUser("feed-owner");
+
+    ItemDTO item = itemService.add(owner.getId(), ItemDTO.builder()
+        .name("Стамеска")
+        .description("Полукруглая")
+        .available(true)
+        .build());
+    itemService.edit(owner.getId(), item.getId(), ItemDTO.builder().available(false).build());
+
+    assertThat(jdbcTemplate.queryForList("select previous_available from entity_changes "
+        + "where entity = 'ITEM' and entity_id = ? order by id", Boolean.class, item.getId()))
+        .containsExactly(null, true);
+  }
+
+  @Test
+  void remoteItemChangesAreReplayedOnce() {
+    User owner = saveUser("remote-owner");
+    Item item = itemRepository.save(Item.builder()
+        .name("Киянка")
+        .description("Резиновая")
+        .available(true)
+        .owner(owner)
+        .build());
+    assertThat(searchEngine.search("киянк", PageRequest.of(0, 10))).isEmpty();
+
+    jdbcTemplate.update(INSERT_ITEM_CHANGE, item.getId(), item.getId(), "Киянка", "Резиновая",
+        true, null, null, null);
+    changeFeed.poll();
+    changeFeed.poll();
+    assertThat(searchEngine.search("киянк", PageRequest.of(0, 10)))
+        .extracting(Item::getId)
+        .containsExactly(item.getId());
+
+    jdbcTemplate.update(INSERT_ITEM_CHANGE, item.getId(), item.getId(), "Киянка", "Резиновая",
+        false, "Киянка", "Резиновая", true);
+    changeFeed.poll();
+    assertThat(searchEngine.search("киянк", PageRequest.of(0, 10))).isEmpty();
+  }
+
+  @Test
+  void remoteBookingChangesInvalidateAvailability() {
+    User owner = saveUser("calendar-owner");
+    User booker = saveUser("calendar-booker");
+    Item item = itemRepository.save(Item.builder()
+        .name("Домкрат")
+        .description("Гидравлический")
+        .available(true)
+        .owner(owner)
+        .build());
+    LocalDateTime from = LocalDateTime.now().plusDays(1);
+    LocalDateTime to = from.plusDays(10);
+    assertThat(itemService.getAvailability(item.getId(), from, to)).hasSize(1);
+
+    Booking booking = bookingRepository.save(Booking.builder()
+        .start(from.plusDays(2))
+        .end(from.plusDays(3))
+        .item(item)
+        .booker(booker)
+        .status(BookingStatus.APPROVED.name())
+        .build());
+    jdbcTemplate.update("insert into entity_changes (origin, entity, entity_id, item_id, status) "
+        + "values ('other', 'BOOKING', ?, ?, ?)", booking.getId(), item.getId(),
+        booking.getStatus());
+    changeFeed.poll();
+
+    assertThat(itemService.getAvailability(item.getId(), from, to)).hasSize(2);
+  }
+
+  private User saveUser(String name) {
+    return userRepository.save(User.builder()
+        .name(name)
+        .email(name + "@feed.ru")
+        .build());
+  }
+
+}
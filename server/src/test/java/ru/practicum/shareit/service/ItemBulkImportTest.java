@@ -0,0 +1,147 @@
+package ru.practicum.shareit.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import ru.practicum.shareit.exeption.UserNotFoundException;
+import ru.practicum.shareit.exeption.ValidateException;
+import ru.practicum.shareit.item.bulk.ItemImportFormat;
+import ru.practicum.shareit.item.dto.ItemImportErrorDTO;
+import ru.practicum.shareit.item.dto.ItemImportReportDTO;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.request.ItemRequestRepository;
+import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.user.UserRepository;
+import ru.practicum.shareit.user.model.User;
+
+@SpringBootTest
+public class ItemBulkImportTest {
+
+  @Autowired
+  private ItemService itemService;
+
+  @Autowired
+  private UserRepository userRepository;
+
+  @Autowired
+  private ItemRepository itemRepository;
+
+  @Autowired
+  private ItemRequestRepository requestRepository;
+
+  @Test
+  void importNdjsonReportsFailedLines() {
+    User owner = saveUser("ndjson-owner");
+    ItemRequest request = requestRepository.save(ItemRequest.builder()
+        .description("Нужна дрель")
+        .requestor(owner)
+        .build());
+    String body = String.join("\n",
+        "{\"name\":\"Дрель\",\"description\":\"Ударная\",\"available\":true}",
+        "{\"name\":\"Пила\",",
+        "",
+        "{\"name\":\"\",\"description\":\"Без имени\",\"available\":true}",
+        "{\"name\":\"Отвертка\",\"description\":\"Крестовая\",\"available\":false,"
+            + "\"requestId\":" + request.getId() + "}",
+        "{\"name\":\"Молоток\",\"description\":\"Тяжёлый\",\"available\":true,"
+            + "\"requestId\":999999}",
+        "x".repeat(20_000),
+        "{\"id\":42,\"name\":\"Лобзик\",\"description\":\"Электрический\",\"available\":true}");
+
+    ItemImportReportDTO report = itemService.importItems(owner.getId(), stream(body),
+        ItemImportFormat.NDJSON);
+
+    assertThat(report.getImported()).isEqualTo(3);
+    assertThat(report.getFailed()).isEqualTo(4);
+    assertThat(report.getErrors()).extracting(ItemImportErrorDTO::getLine)
+        .containsExactly(2L, 4L, 6L, 7L);
+    assertThat(report.getErrors().get(1).getError()).isEqualTo("name: must not be empty");
+    assertThat(report.getErrors().get(2).getError())
+        .isEqualTo("ItemRequest c id = 999999 не найден!");
+    List<Item> items = ownerItems(owner);
+    assertThat(items).extracting(Item::getName)
+        .containsExactlyInAnyOrder("Дрель", "Отвертка", "Лобзик");
+    assertThat(items).filteredOn(item -> item.getName().equals("Отвертка"))
+        .allMatch(item -> item.getRequest().getId().equals(request.getId()));
+    assertThat(items).extracting(Item::getId).doesNotContain(42L);
+  }
+
+  @Test
+  void importCsvWithQuotedFields() {
+    User owner = saveUser("csv-owner");
+    String body = "Name,Available,Description\r\n"
+        + "Дрель,true,\"Ударная, с кейсом\"\r\n"
+        + "\"Пила \"\"Дружба\"\"\",false,Бензиновая\r\n"
+        + "Молоток,maybe,Тяжёлый\r\n"
+        + "Отвертка,true\r\n";
+
+    ItemImportReportDTO report = itemService.importItems(owner.getId(), stream(body),
+        ItemImportFormat.CSV);
+
+    assertThat(report.getImported()).isEqualTo(2);
+    assertThat(report.getErrors()).extracting(ItemImportErrorDTO::getLine)
+        .containsExactly(4L, 5L);
+    assertThat(ownerItems(owner)).extracting(Item::getDescription)
+        .containsExactlyInAnyOrder("Ударная, с кейсом", "Бензиновая");
+    assertThat(ownerItems(owner)).extracting(Item::getName)
+        .contains("Пила \"Дружба\"");
+  }
+
+  @Test
+  void importCsvManyChunks() {
+    User owner = saveUser("chunk-owner");
+    StringBuilder body = new StringBuilder("name,description,available\n");
+    for (int i = 0; i < 1200; i++) {
+      body.append("Item ").append(i).append(",Описание,true\n");
+    }
+
+    ItemImportReportDTO report = itemService.importItems(owner.getId(),
+        stream(body.toString()), ItemImportFormat.CSV);
+
+    assertThat(report.getImported()).isEqualTo(1200);
+    assertThat(report.getFailed()).isZero();
+    assertThat(ownerItems(owner)).hasSize(1200);
+  }
+
+  @Test
+  void importCsvWithoutRequiredColumns() {
+    User owner = saveUser("header-owner");
+
+    assertThrows(ValidateException.class, () -> itemService.importItems(owner.getId(),
+        stream("name,available\nДрель,true\n"), ItemImportFormat.CSV));
+  }
+
+  @Test
+  void importForUnknownUser() {
+    assertThrows(UserNotFoundException.class, () -> itemService.importItems(999_999L,
+        stream(""), ItemImportFormat.NDJSON));
+  }
+
+  private List<Item> ownerItems(User owner) {
+    return itemRepository.findAll().stream()
+        .filter(item -> item.getOwner().getId().equals(owner.getId()))
+        .collect(Collectors.toList());
+  }
+
+  private User saveUser(String name) {
+    return userRepository.save(User.builder()
+        .name(name)
+        .email(name + "@import.test")
+        .build());
+  }
+
+  private static InputStream stream(String body) {
+    return new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8));
+  }
+
+}
@@ -0,0 +1,110 @@
+package ru.practicum.shareit.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDateTime;
+import javax.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.item.model.Comment;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.CommentRepository;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.user.UserRepository;
+import ru.practicum.shareit.user.model.User;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+public class ItemServiceStatementCountTest {
+
+  @Autowired
+  private ItemService itemService;
+
+  @Autowired
+  private UserRepository userRepository;
+
+  @Autowired
+  private ItemRepository itemRepository;
+
+  @Autowired
+  private BookingRepository bookingRepository;
+
+  @Autowired
+  private CommentRepository commentRepository;
+
+  @Autowired
+  private EntityManagerFactory entityManagerFactory;
+
+  private Statistics statistics;
+
+  @BeforeEach
+  void setUp() {
+    statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+  }
+
+  @Test
+  void getUserItemsStatementCountDoesNotDependOnPageSize() {
+    User owner = saveUser("owner");
+    User booker = saveUser("booker");
+
+    fillItems(owner, booker, 2);
+    long smallPage = countStatements(owner, 2);
+
+    fillItems(owner, booker, 8);
+    long largePage = countStatements(owner, 10);
+
+    assertThat(itemService.getUserItems(owner.getId(), PageRequest.of(0, 10))).hasSize(10);
+    assertThat(largePage).isEqualTo(smallPage);
+  }
+
+  private long countStatements(User owner, int size) {
+    statistics.clear();
+    var result = itemService.getUserItems(owner.getId(), PageRequest.of(0, size));
+    assertThat(result).hasSize(size);
+    assertThat(result).allSatisfy(item -> assertThat(item.getComments()).hasSize(2));
+    return statistics.getPrepareStatementCount();
+  }
+
+  private void fillItems(User owner, User booker, int count) {
+    for (int i = 0; i < count; i++) {
+      Item item = itemRepository.save(Item.builder()
+          .name("item")
+          .description("description")
+          .available(Boolean.TRUE)
+          .owner(owner)
+          .build());
+      for (int j = 1; j <= 3; j++) {
+        bookingRepository.save(Booking.builder()
+            .start(LocalDateTime.now().minusDays(j + 1))
+            .end(LocalDateTime.now().minusDays(j))
+            .status(BookingStatus.APPROVED.name())
+            .item(item)
+            .booker(booker)
+            .build());
+      }
+      for (int j = 0; j < 2; j++) {
+        commentRepository.save(Comment.builder()
+            .text("comment")
+            .item(item)
+            .user(booker)
+            .build());
+      }
+    }
+  }
+
+  private User saveUser(String name) {
+    return userRepository.save(User.builder()
+        .name(name)
+        .email(name + System.nanoTime() + "@test.ru")
+        .build());
+  }
+
+}
@@ -1,9 +1,12 @@
 package ru.practicum.shareit.service;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -15,12 +18,17 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.dto.ItemBookingFlags;
+import ru.practicum.shareit.booking.event.BookingChangedEvent;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.BookingStatus;
 import ru.practicum.shareit.exeption.ItemNotFoundException;
 import ru.practicum.shareit.exeption.UserNotFoundException;
 import ru.practicum.shareit.exeption.ValidateException;
+import ru.practicum.shareit.item.dto.AvailabilityWindowDTO;
 import ru.practicum.shareit.item.dto.CommentRequestDTO;
 import ru.practicum.shareit.item.dto.ItemDTO;
 import ru.practicum.shareit.item.model.Comment;
@@ -39,6 +47,9 @@ public class ItemServiceTest {
   @Autowired
   private ItemService itemService;
 
+  @Autowired
+  private ApplicationEventPublisher eventPublisher;
+
   @MockBean
   private ItemRepository itemRepository;
 
@@ -165,9 +176,11 @@ public class ItemServiceTest {
 
     when(itemRepository.findById(anyLong()))
         .thenReturn(Optional.of(getDefaultItem()));
-    when(bookingRepository.findBookingsByItemId(anyLong()))
+    when(bookingRepository.findBookingFlagsByItemIdIn(any(), anyLong()))
+        .thenReturn(List.of(getItemBookingFlags(false, true)));
+    when(bookingRepository.findLastAndNextBookingsByItemIdIn(any(), any(), any()))
         .thenReturn(List.of(booking));
-    when(commentRepository.findAllByItemId(anyLong()))
+    when(commentRepository.findAllByItemIdIn(any()))
         .thenReturn(List.of(comment));
 
     var result = itemService.getById(1L, 1L);
@@ -185,8 +198,9 @@ public class ItemServiceTest {
     assertThat(result.getComments().get(0).getAuthorName()).isEqualTo(comment.getUser().getName());
 
     verify(itemRepository, times(1)).findById(anyLong());
-    verify(bookingRepository, times(1)).findBookingsByItemId(anyLong());
-    verify(commentRepository, times(1)).findAllByItemId(anyLong());
+    verify(bookingRepository, times(1)).findBookingFlagsByItemIdIn(any(), anyLong());
+    verify(bookingRepository, times(1)).findLastAndNextBookingsByItemIdIn(any(), any(), any());
+    verify(commentRepository, times(1)).findAllByItemIdIn(any());
 
   }
 
@@ -201,9 +215,11 @@ public class ItemServiceTest {
 
     when(itemRepository.findById(anyLong()))
         .thenReturn(Optional.of(getDefaultItem()));
-    when(bookingRepository.findBookingsByItemId(anyLong()))
+    when(bookingRepository.findBookingFlagsByItemIdIn(any(), anyLong()))
+        .thenReturn(List.of(getItemBookingFlags(true, false)));
+    when(bookingRepository.findLastAndNextBookingsByItemIdIn(any(), any(), any()))
         .thenReturn(List.of(booking1, booking2));
-    when(commentRepository.findAllByItemId(anyLong()))
+    when(commentRepository.findAllByItemIdIn(any()))
         .thenReturn(List.of(comment));
 
     var result = itemService.getById(2L, 1L);
@@ -221,8 +237,9 @@ public class ItemServiceTest {
     assertThat(result.getComments().get(0).getAuthorName()).isEqualTo(comment.getUser().getName());
 
     verify(itemRepository, times(1)).findById(anyLong());
-    verify(bookingRepository, times(1)).findBookingsByItemId(anyLong());
-    verify(commentRepository, times(1)).findAllByItemId(anyLong());
+    verify(bookingRepository, times(1)).findBookingFlagsByItemIdIn(any(), anyLong());
+    verify(bookingRepository, times(1)).findLastAndNextBookingsByItemIdIn(any(), any(), any());
+    verify(commentRepository, times(1)).findAllByItemIdIn(any());
 
   }
 
@@ -232,13 +249,13 @@ public class ItemServiceTest {
     Booking booking = getDefaultBooking();
     Comment comment = getDefaultComment();
 
-    when(itemRepository.findItemsByOwnerId(anyLong(), any()))
+    when(itemRepository.findItemsByOwnerIdOrderByIdAsc(anyLong(), any()))
         .thenReturn(List.of(getDefaultItem()));
-    when(itemRepository.findById(anyLong()))
-        .thenReturn(Optional.of(getDefaultItem()));
-    when(bookingRepository.findBookingsByItemId(anyLong()))
+    when(bookingRepository.findBookingFlagsByItemIdIn(any(), anyLong()))
+        .thenReturn(List.of(getItemBookingFlags(false, true)));
+    when(bookingRepository.findLastAndNextBookingsByItemIdIn(any(), any(), any()))
         .thenReturn(List.of(booking));
-    when(commentRepository.findAllByItemId(anyLong()))
+    when(commentRepository.findAllByItemIdIn(any()))
         .thenReturn(List.of(comment));
 
     var result = itemService.getUserItems(2L, null);
@@ -258,10 +275,11 @@ public class ItemServiceTest {
     assertThat(resultItemDTO.getComments().get(0).getAuthorName()).isEqualTo(
         comment.getUser().getName());
 
-    verify(itemRepository, times(1)).findById(anyLong());
-    verify(itemRepository, times(1)).findItemsByOwnerId(anyLong(), any());
-    verify(bookingRepository, times(1)).findBookingsByItemId(anyLong());
-    verify(commentRepository, times(1)).findAllByItemId(anyLong());
+    verify(itemRepository, never()).findById(anyLong());
+    verify(itemRepository, times(1)).findItemsByOwnerIdOrderByIdAsc(anyLong(), any());
+    verify(bookingRepository, times(1)).findBookingFlagsByItemIdIn(any(), anyLong());
+    verify(bookingRepository, times(1)).findLastAndNextBookingsByItemIdIn(any(), any(), any());
+    verify(commentRepository, times(1)).findAllByItemIdIn(any());
 
   }
 
@@ -274,17 +292,125 @@ public class ItemServiceTest {
   @Test
   void search() {
     Item item = getDefaultItem();
-    when(itemRepository.search(any(), any()))
+    when(userRepository.findById(anyLong()))
+        .thenReturn(Optional.of(getDefaultUser()));
+    when(itemRepository.save(any()))
+        .thenReturn(item);
+    when(itemRepository.findAllById(any()))
         .thenReturn(List.of(item));
+    itemService.add(1L, getDefaultItemDTO());
 
-    var result = itemService.search("test", null);
+    var result = itemService.search("eS", PageRequest.of(0, 10));
     assertThat(result).isNotNull();
     assertThat(result).hasSize(1);
     assertThat(result.get(0).getName()).isEqualTo(item.getName());
     assertThat(result.get(0).getDescription()).isEqualTo(item.getDescription());
     assertThat(result.get(0).getAvailable()).isEqualTo(item.isAvailable());
 
-    verify(itemRepository, times(1)).search(any(), any());
+    verify(itemRepository, times(1)).findAllById(List.of(item.getId()));
+    verify(itemRepository, never()).search(any(), any());
+  }
+
+  @Test
+  void searchSkipsUnavailableItem() {
+    Item item = getDefaultItem();
+    item.setId(2L);
+    item.setName("unavailable");
+    item.setAvailable(false);
+    when(userRepository.findById(anyLong()))
+        .thenReturn(Optional.of(getDefaultUser()));
+    when(itemRepository.save(any()))
+        .thenReturn(item);
+    itemService.add(1L, getDefaultItemDTO());
+
+    var result = itemService.search("unavailable", PageRequest.of(0, 10));
+    assertThat(result).isEmpty();
+    verify(itemRepository, never()).findAllById(any());
+  }
+
+  @Test
+  void fuzzySearch() {
+    Item item = getDefaultItem();
+    item.setId(4L);
+    item.setName("Дрель ударная");
+    item.setDescription("Дрель");
+    when(userRepository.findById(anyLong()))
+        .thenReturn(Optional.of(getDefaultUser()));
+    when(itemRepository.save(any()))
+        .thenReturn(item);
+    when(itemRepository.findAllById(any()))
+        .thenReturn(List.of(item));
+    itemService.add(1L, getDefaultItemDTO());
+
+    var result = itemService.fuzzySearch("дрэль", PageRequest.of(0, 10));
+    assertThat(result).hasSize(1);
+    assertThat(result.get(0).getId()).isEqualTo(item.getId());
+    assertThat(itemService.fuzzySearch("", PageRequest.of(0, 10))).isEmpty();
+  }
+
+  @Test
+  void getAvailability() {
+    Item item = getDefaultItem();
+    item.setId(9L);
+    LocalDateTime from = LocalDateTime.parse("2030-01-01T00:00:00");
+    when(itemRepository.findById(item.getId()))
+        .thenReturn(Optional.of(item));
+    when(bookingRepository.findAllByItem_IdAndStatusInOrderByStartAsc(eq(item.getId()), any()))
+        .thenReturn(List.of(
+            getBooking(from.minusDays(2), from.plusDays(1)),
+            getBooking(from.plusDays(3), from.plusDays(5)),
+            getBooking(from.plusDays(4), from.plusDays(6)),
+            getBooking(from.plusDays(6), from.plusDays(7)),
+            getBooking(from.plusDays(20), from.plusDays(21))));
+
+    var result = itemService.getAvailability(item.getId(), from, from.plusDays(10));
+    var cached = itemService.getAvailability(item.getId(), from.plusDays(2), from.plusDays(3));
+
+    assertThat(result)
+        .extracting(AvailabilityWindowDTO::getStart, AvailabilityWindowDTO::getEnd)
+        .containsExactly(
+            tuple(from.plusDays(1), from.plusDays(3)),
+            tuple(from.plusDays(7), from.plusDays(10)));
+    assertThat(cached)
+        .extracting(AvailabilityWindowDTO::getStart, AvailabilityWindowDTO::getEnd)
+        .containsExactly(tuple(from.plusDays(2), from.plusDays(3)));
+    verify(bookingRepository, times(1))
+        .findAllByItem_IdAndStatusInOrderByStartAsc(eq(item.getId()), any());
+
+    Booking booking = getBooking(from.plusDays(1), from.plusDays(2));
+    booking.setItem(item);
+    eventPublisher.publishEvent(new BookingChangedEvent(booking));
+    itemService.getAvailability(item.getId(), from, from.plusDays(10));
+
+    verify(bookingRepository, times(2))
+        .findAllByItem_IdAndStatusInOrderByStartAsc(eq(item.getId()), any());
+  }
+
+  @Test
+  void getAvailabilityValidatesPeriod() {
+    LocalDateTime from = LocalDateTime.parse("2030-01-01T00:00:00");
+
+    assertThrows(ValidateException.class, () -> itemService.getAvailability(1L, from, from));
+  }
+
+  @Test
+  void suggest() {
+    Item item = getDefaultItem();
+    item.setId(3L);
+    item.setName("Суперклей");
+    when(userRepository.findById(anyLong()))
+        .thenReturn(Optional.of(getDefaultUser()));
+    when(itemRepository.save(any()))
+        .thenReturn(item);
+    itemService.add(1L, getDefaultItemDTO());
+
+    assertThat(itemService.suggest("супер", 10)).containsExactly("Суперклей");
+
+    when(itemRepository.getById(anyLong()))
+        .thenReturn(item);
+    itemService.edit(1L, 3L, ItemDTO.builder().available(false).build());
+
+    assertThat(itemService.suggest("супер", 10)).isEmpty();
   }
 
   @Test
@@ -338,6 +464,23 @@ public class ItemServiceTest {
         .build();
   }
 
+  private ItemBookingFlags getItemBookingFlags(boolean bookedMoreThanOnce,
+      boolean bookedByUser) {
+    return ItemBookingFlags.builder()
+        .itemId(1L)
+        .bookedMoreThanOnce(bookedMoreThanOnce)
+        .bookedByUser(bookedByUser)
+        .build();
+  }
+
+  private Booking getBooking(LocalDateTime start, LocalDateTime end) {
+    return Booking.builder()
+        .start(start)
+        .end(end)
+        .status(BookingStatus.WAITING.name())
+        .build();
+  }
+
   private Booking getDefaultBooking() {
     return Booking.builder()
         .id(1L)